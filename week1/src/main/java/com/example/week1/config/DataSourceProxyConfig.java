@@ -0,0 +1,40 @@
+package com.example.week1.config;
+
+import java.util.concurrent.TimeUnit;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import net.ttddyy.dsproxy.listener.logging.SLF4JLogLevel;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+
+@Configuration
+public class DataSourceProxyConfig {
+
+    public static final String DATA_SOURCE_NAME = "week1";
+
+    // Wraps the pool so every statement is counted per thread and slow ones are logged with their bound parameters
+    @Bean
+    public static BeanPostProcessor dataSourceProxyPostProcessor(Environment environment) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof DataSource dataSource) || bean instanceof ProxyDataSource) {
+                    return bean;
+                }
+                long thresholdMs = environment.getProperty("week1.slow-query.threshold-ms", Long.class, 200L);
+                return ProxyDataSourceBuilder.create(dataSource)
+                        .name(DATA_SOURCE_NAME)
+                        .countQuery()
+                        .logSlowQueryBySlf4j(thresholdMs, TimeUnit.MILLISECONDS, SLF4JLogLevel.WARN,
+                                "week1.slow-query")
+                        .build();
+            }
+        };
+    }
+}
@@ -0,0 +1,82 @@
+package com.example.week1.config;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.QueryStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.stereotype.Component;
+
+import jakarta.persistence.EntityManagerFactory;
+
+// GET /actuator/hibernate for counters and the most expensive queries, POST to reset them
+@Component
+@Endpoint(id = "hibernate")
+public class HibernateStatisticsEndpoint {
+    private static final int TOP_QUERIES = 10;
+
+    private final Statistics statistics;
+
+    public HibernateStatisticsEndpoint(EntityManagerFactory entityManagerFactory) {
+        this.statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @ReadOperation
+    public Map<String, Object> statistics() {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("enabled", statistics.isStatisticsEnabled());
+        result.put("since", statistics.getStart());
+        result.put("prepareStatementCount", statistics.getPrepareStatementCount());
+        result.put("queryExecutionCount", statistics.getQueryExecutionCount());
+        result.put("queryExecutionMaxTimeMs", statistics.getQueryExecutionMaxTime());
+        result.put("queryExecutionMaxTimeQuery", statistics.getQueryExecutionMaxTimeQueryString());
+        result.put("entityLoadCount", statistics.getEntityLoadCount());
+        result.put("entityFetchCount", statistics.getEntityFetchCount());
+        result.put("entityInsertCount", statistics.getEntityInsertCount());
+        result.put("entityUpdateCount", statistics.getEntityUpdateCount());
+        result.put("entityDeleteCount", statistics.getEntityDeleteCount());
+        result.put("collectionFetchCount", statistics.getCollectionFetchCount());
+        result.put("flushCount", statistics.getFlushCount());
+        result.put("transactionCount", statistics.getTransactionCount());
+        result.put("secondLevelCacheHitCount", statistics.getSecondLevelCacheHitCount());
+        result.put("secondLevelCacheMissCount", statistics.getSecondLevelCacheMissCount());
+        result.put("secondLevelCachePutCount", statistics.getSecondLevelCachePutCount());
+        result.put("queryCacheHitCount", statistics.getQueryCacheHitCount());
+        result.put("queryCacheMissCount", statistics.getQueryCacheMissCount());
+        result.put("topQueriesByTotalTime", topQueries());
+        return result;
+    }
+
+    @WriteOperation
+    public void reset() {
+        statistics.clear();
+    }
+
+    private List<Map<String, Object>> topQueries() {
+        return Arrays.stream(statistics.getQueries())
+                .map(query -> Map.entry(query, statistics.getQueryStatistics(query)))
+                .sorted(Comparator.comparingLong(
+                        (Map.Entry<String, QueryStatistics> entry) -> entry.getValue().getExecutionTotalTime())
+                        .reversed())
+                .limit(TOP_QUERIES)
+                .map(entry -> {
+                    QueryStatistics query = entry.getValue();
+                    Map<String, Object> row = new LinkedHashMap<>();
+                    row.put("query", entry.getKey());
+                    row.put("executions", query.getExecutionCount());
+                    row.put("totalTimeMs", query.getExecutionTotalTime());
+                    row.put("avgTimeMs", query.getExecutionAvgTime());
+                    row.put("maxTimeMs", query.getExecutionMaxTime());
+                    row.put("rows", query.getExecutionRowCount());
+                    return row;
+                })
+                .toList();
+    }
+}
@@ -3,11 +3,17 @@ package com.example.week1.controller;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.example.week1.dto.ActorKeysetPage;
+import com.example.week1.dto.ActorSummary;
 import com.example.week1.model.Actor;
 import com.example.week1.service.ActorService;
 
 import java.util.List;
 
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.web.PageableDefault;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -15,6 +21,7 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 
 @RestController
 @RequestMapping("/api/actors")
@@ -30,6 +37,22 @@ public class ActorController {
         return actorService.getAllActors();
     }
 
+    @GetMapping("/page")
+    public Page<ActorSummary> getActorPage(@PageableDefault(size = 20, sort = "actorId") Pageable pageable) {
+        return actorService.getActorPage(pageable);
+    }
+
+    @GetMapping("/slice")
+    public Slice<ActorSummary> getActorSlice(@PageableDefault(size = 20, sort = "actorId") Pageable pageable) {
+        return actorService.getActorSlice(pageable);
+    }
+
+    @GetMapping("/keyset")
+    public ActorKeysetPage getActorsAfter(@RequestParam(required = false) Short afterId,
+            @RequestParam(defaultValue = "20") int size) {
+        return actorService.getActorsAfter(afterId, size);
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<Actor> getActorById(@PathVariable Short id) {
         return actorService.getActorById(id).map(actor -> ResponseEntity.ok(actor))
@@ -41,6 +64,14 @@ public class ActorController {
         return actorService.createActor(actor);
     }
 
+    @PostMapping("/bulk")
+    public ResponseEntity<List<Actor>> createActors(@RequestBody List<Actor> actors) {
+        if (actors.size() > ActorService.MAX_BULK_SIZE) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(actorService.createActors(actors));
+    }
+
     @PutMapping("/{id}")
     public ResponseEntity<Actor> updateActor(@PathVariable Short id, @RequestBody Actor actorDetails) {
         return actorService.updateActor(id, actorDetails).map(updateActor -> ResponseEntity.ok(updateActor))
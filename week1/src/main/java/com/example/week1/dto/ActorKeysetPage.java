@@ -0,0 +1,7 @@
+package com.example.week1.dto;
+
+import java.util.List;
+
+// nextCursor is the afterId for the following page, null on the last page
+public record ActorKeysetPage(List<ActorSummary> actors, Short nextCursor) {
+}
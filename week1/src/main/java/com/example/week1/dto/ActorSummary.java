@@ -0,0 +1,7 @@
+package com.example.week1.dto;
+
+import java.sql.Timestamp;
+
+// Actor columns selected with a JPQL constructor expression, never a managed entity
+public record ActorSummary(Short actorId, String firstName, String lastName, Timestamp lastUpdate) {
+}
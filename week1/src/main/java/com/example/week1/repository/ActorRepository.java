@@ -1,10 +1,46 @@
 package com.example.week1.repository;
 
+import java.sql.Timestamp;
+import java.util.List;
+
+import com.example.week1.dto.ActorSummary;
 import com.example.week1.model.Actor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 @Repository
 public interface ActorRepository extends JpaRepository<Actor, Short> {
 
+    @Query(value = "SELECT new com.example.week1.dto.ActorSummary(a.actorId, a.firstName, a.lastName, a.lastUpdate) "
+            + "FROM Actor a",
+            countQuery = "SELECT COUNT(a) FROM Actor a")
+    Page<ActorSummary> findSummaryPage(Pageable pageable);
+
+    // A Slice fetches size + 1 rows to know whether there is a next page and skips the COUNT
+    @Query("SELECT new com.example.week1.dto.ActorSummary(a.actorId, a.firstName, a.lastName, a.lastUpdate) "
+            + "FROM Actor a")
+    Slice<ActorSummary> findSummarySlice(Pageable pageable);
+
+    // Keyset page: WHERE actor_id > cursor ORDER BY actor_id, limited by the pageable size
+    @Query("SELECT new com.example.week1.dto.ActorSummary(a.actorId, a.firstName, a.lastName, a.lastUpdate) "
+            + "FROM Actor a WHERE a.actorId > :afterId ORDER BY a.actorId")
+    List<ActorSummary> findSummariesAfter(@Param("afterId") Short afterId, Pageable pageable);
+
+    // Single UPDATE statement, returns the number of rows changed (0 when the id does not exist)
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Actor a SET a.firstName = :firstName, a.lastName = :lastName, a.lastUpdate = :lastUpdate "
+            + "WHERE a.actorId = :id")
+    int updateNames(@Param("id") Short id, @Param("firstName") String firstName,
+            @Param("lastName") String lastName, @Param("lastUpdate") Timestamp lastUpdate);
+
+    // Single DELETE statement, returns the number of rows removed
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM Actor a WHERE a.actorId = :id")
+    int deleteActorById(@Param("id") Short id);
 }
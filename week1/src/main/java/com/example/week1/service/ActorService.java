@@ -1,24 +1,68 @@
 package com.example.week1.service;
 
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import com.example.week1.dto.ActorKeysetPage;
+import com.example.week1.dto.ActorSummary;
 import com.example.week1.model.Actor;
 import com.example.week1.repository.ActorRepository;
 
+import jakarta.persistence.EntityManager;
+
 @Service
 public class ActorService {
+    public static final int MAX_PAGE_SIZE = 500;
+
+    public static final int MAX_BULK_SIZE = 10_000;
+
+    // Matches hibernate.jdbc.batch_size
+    private static final int BATCH_SIZE = 100;
+
     private final ActorRepository actorRepository;
 
-    public ActorService(ActorRepository actorRepository) {
+    private final EntityManager entityManager;
+
+    public ActorService(ActorRepository actorRepository, EntityManager entityManager) {
         this.actorRepository = actorRepository;
+        this.entityManager = entityManager;
     }
 
+    // Read-only: Hibernate keeps no dirty-checking snapshots for the loaded entities
+    @Transactional(readOnly = true)
     public List<Actor> getAllActors() {
         return actorRepository.findAll();
     }
 
+    @Transactional(readOnly = true)
+    public Page<ActorSummary> getActorPage(Pageable pageable) {
+        return actorRepository.findSummaryPage(pageable);
+    }
+
+    @Transactional(readOnly = true)
+    public Slice<ActorSummary> getActorSlice(Pageable pageable) {
+        return actorRepository.findSummarySlice(pageable);
+    }
+
+    @Transactional(readOnly = true)
+    public ActorKeysetPage getActorsAfter(Short afterId, int size) {
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        List<ActorSummary> actors = actorRepository.findSummariesAfter(afterId == null ? 0 : afterId,
+                PageRequest.of(0, pageSize));
+        Short nextCursor = actors.size() < pageSize ? null : actors.get(actors.size() - 1).actorId();
+        return new ActorKeysetPage(actors, nextCursor);
+    }
+
     public Optional<Actor> getActorById(Short id) {
         return actorRepository.findById(id);
     }
@@ -27,18 +71,43 @@ public class ActorService {
         return actorRepository.save(actor);
     }
 
+    @Transactional
+    public List<Actor> createActors(List<Actor> actors) {
+        List<Actor> created = new ArrayList<>(actors.size());
+        for (int from = 0; from < actors.size(); from += BATCH_SIZE) {
+            for (Actor actor : actors.subList(from, Math.min(from + BATCH_SIZE, actors.size()))) {
+                actor.setActorId(null);
+                entityManager.persist(actor);
+                created.add(actor);
+            }
+            // One JDBC batch per chunk, then detach so the persistence context stays small
+            entityManager.flush();
+            entityManager.clear();
+        }
+        return created;
+    }
+
+    @Transactional
     public Optional<Actor> updateActor(Short id, Actor actorDetails) {
-        return actorRepository.findById(id).map(existingActor -> {
-            existingActor.setFirstName(actorDetails.getFirstName());
-            existingActor.setLastName(actorDetails.getLastName());
-            return actorRepository.save(existingActor);
-        });
+        // One UPDATE instead of SELECT + merge UPDATE; last_update (a whole-second TIMESTAMP column)
+        // is set here so the response needs no re-read
+        Timestamp lastUpdate = Timestamp.from(Instant.now().truncatedTo(ChronoUnit.SECONDS));
+        if (actorRepository.updateNames(id, actorDetails.getFirstName(), actorDetails.getLastName(),
+                lastUpdate) == 0) {
+            return Optional.empty();
+        }
+
+        Actor updated = new Actor();
+        updated.setActorId(id);
+        updated.setFirstName(actorDetails.getFirstName());
+        updated.setLastName(actorDetails.getLastName());
+        updated.setLastUpdate(lastUpdate);
+        return Optional.of(updated);
     }
 
+    @Transactional
     public boolean deleteActor(Short id) {
-        return actorRepository.findById(id).map(actor -> {
-            actorRepository.delete(actor);
-            return true;
-        }).orElse(false);
+        // One DELETE instead of SELECT + DELETE
+        return actorRepository.deleteActorById(id) > 0;
     }
 }
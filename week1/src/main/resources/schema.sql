@@ -0,0 +1,10 @@
+-- Id pools for @TableGenerator. With the pooled optimizer next_val is the upper end of the
+-- next pool, so seeding it at MAX(actor_id) + 50 (the allocationSize) hands out ids from
+-- MAX(actor_id) + 1 upwards.
+CREATE TABLE IF NOT EXISTS id_generator (
+    gen_name VARCHAR(64) NOT NULL PRIMARY KEY,
+    next_val BIGINT NOT NULL
+);
+
+INSERT IGNORE INTO id_generator (gen_name, next_val)
+SELECT 'actor', COALESCE(MAX(actor_id), 0) + 50 FROM actor;
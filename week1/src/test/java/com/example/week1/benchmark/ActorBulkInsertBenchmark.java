@@ -0,0 +1,139 @@
+package com.example.week1.benchmark;
+
+import java.sql.PreparedStatement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.week1.Week1Application;
+import com.example.week1.model.Actor;
+import com.example.week1.service.ActorService;
+
+/**
+ * Inserts/sec for 100k actors: 10 measured rounds of 10k rows each.
+ * <ul>
+ *   <li>identityPerRow: the baseline, what N POST /api/actors calls cost with the old IDENTITY
+ *   id. The Actor entity no longer has that mapping, so this issues the SQL Hibernate sent for
+ *   it: one transaction per row, an immediate single-row INSERT and a generated-key read.</li>
+ *   <li>perRowCreate: the same N calls through createActor on the pooled table generator.</li>
+ *   <li>bulkCreate: one createActors call, flushed as 100-row JDBC batches.</li>
+ * </ul>
+ * actor_id is a SMALLINT, so the table cannot hold 100k extra rows at once: every round starts
+ * by deleting the previous round's rows and rewinding AUTO_INCREMENT and the id generator
+ * (outside the measurement). Inserts/sec = 10000 / score; the rate is also printed after each
+ * round.
+ *
+ * mvn -q test-compile exec:exec -Dexec.executable=java -Dexec.classpathScope=test \
+ *     -Dexec.args="-cp %classpath org.openjdk.jmh.Main ActorBulkInsertBenchmark"
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 2)
+@Measurement(iterations = 10)
+@Fork(1)
+public class ActorBulkInsertBenchmark {
+
+    private static final int ROUND_SIZE = 10_000;
+
+    private static final String BENCH_NAME = "BULK";
+
+    private static final String IDENTITY_INSERT = "INSERT INTO actor (first_name, last_name) VALUES (?, ?)";
+
+    private ConfigurableApplicationContext context;
+    private ActorService actorService;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate transactionTemplate;
+    private long roundStart;
+
+    @Setup(Level.Trial)
+    public void start() {
+        context = new SpringApplicationBuilder(Week1Application.class)
+                .properties("spring.main.web-application-type=none", "logging.level.root=WARN")
+                .run();
+        actorService = context.getBean(ActorService.class);
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+        transactionTemplate = context.getBean(TransactionTemplate.class);
+    }
+
+    @Setup(Level.Iteration)
+    public void resetTable() {
+        // Rounds are multiples of the allocation size, so Hibernate holds no unused ids here
+        jdbcTemplate.update("DELETE FROM actor WHERE first_name = ?", BENCH_NAME);
+        Integer maxId = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(actor_id), 0) FROM actor", Integer.class);
+        jdbcTemplate.execute("ALTER TABLE actor AUTO_INCREMENT = " + (maxId + 1));
+        jdbcTemplate.update("UPDATE id_generator SET next_val = "
+                + "(SELECT COALESCE(MAX(actor_id), 0) + 50 FROM actor) WHERE gen_name = 'actor'");
+        roundStart = System.nanoTime();
+    }
+
+    @TearDown(Level.Iteration)
+    public void printRate() {
+        double seconds = (System.nanoTime() - roundStart) / 1_000_000_000.0;
+        System.out.printf("%n%.0f inserts/s%n", ROUND_SIZE / seconds);
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        jdbcTemplate.update("DELETE FROM actor WHERE first_name = ?", BENCH_NAME);
+        context.close();
+    }
+
+    @Benchmark
+    public int identityPerRow() {
+        for (Actor actor : newActors()) {
+            KeyHolder keyHolder = new GeneratedKeyHolder();
+            transactionTemplate.executeWithoutResult(status -> jdbcTemplate.update(connection -> {
+                PreparedStatement insert = connection.prepareStatement(IDENTITY_INSERT, new String[] {"actor_id"});
+                insert.setString(1, actor.getFirstName());
+                insert.setString(2, actor.getLastName());
+                return insert;
+            }, keyHolder));
+            actor.setActorId(keyHolder.getKey().shortValue());
+        }
+        return ROUND_SIZE;
+    }
+
+    @Benchmark
+    public int perRowCreate() {
+        for (Actor actor : newActors()) {
+            actorService.createActor(actor);
+        }
+        return ROUND_SIZE;
+    }
+
+    @Benchmark
+    public int bulkCreate() {
+        return actorService.createActors(newActors()).size();
+    }
+
+    private static List<Actor> newActors() {
+        List<Actor> actors = new ArrayList<>(ROUND_SIZE);
+        for (int i = 0; i < ROUND_SIZE; i++) {
+            Actor actor = new Actor();
+            actor.setFirstName(BENCH_NAME);
+            actor.setLastName("ACTOR" + i);
+            actors.add(actor);
+        }
+        return actors;
+    }
+}
@@ -0,0 +1,171 @@
+package com.example.week1.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.example.week1.Week1Application;
+import com.example.week1.model.Actor;
+import com.example.week1.repository.ActorRepository;
+import com.example.week1.service.ActorService;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * PUT/DELETE latency with 8 concurrent writers against the MySQL database from docker-compose,
+ * comparing the single-statement service methods with the previous findById + save/delete
+ * path. Each thread owns one BENCH row, which is recreated with the same id before every
+ * delete (outside the measurement) so the SMALLINT id space is never used up. The JDBC
+ * statements prepared per operation, from Hibernate statistics, are printed after each iteration.
+ *
+ * mvn -q test-compile exec:exec -Dexec.executable=java -Dexec.classpathScope=test \
+ *     -Dexec.args="-cp %classpath org.openjdk.jmh.Main ActorWriteBenchmark"
+ */
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(8)
+@Fork(1)
+public class ActorWriteBenchmark {
+
+    private static final String BENCH_NAME = "BENCH";
+
+    @State(Scope.Benchmark)
+    public static class Shared {
+
+        ConfigurableApplicationContext context;
+        ActorService actorService;
+        ActorRepository actorRepository;
+        JdbcTemplate jdbcTemplate;
+        Statistics statistics;
+        List<Short> ids;
+        final AtomicInteger nextRow = new AtomicInteger();
+        final AtomicLong operations = new AtomicLong();
+
+        @Setup(Level.Trial)
+        public void start() {
+            context = new SpringApplicationBuilder(Week1Application.class)
+                    .properties("spring.main.web-application-type=none",
+                            "spring.jpa.properties.hibernate.generate_statistics=true",
+                            "logging.level.root=WARN")
+                    .run();
+            actorService = context.getBean(ActorService.class);
+            actorRepository = context.getBean(ActorRepository.class);
+            jdbcTemplate = context.getBean(JdbcTemplate.class);
+            statistics = context.getBean(EntityManagerFactory.class).unwrap(SessionFactory.class).getStatistics();
+
+            for (int i = 0; i < 64; i++) {
+                jdbcTemplate.update("INSERT INTO actor (first_name, last_name) VALUES (?, ?)", BENCH_NAME, BENCH_NAME);
+            }
+            ids = jdbcTemplate.queryForList("SELECT actor_id FROM actor WHERE first_name = ? ORDER BY actor_id",
+                    Short.class, BENCH_NAME);
+        }
+
+        @Setup(Level.Iteration)
+        public void resetStatistics() {
+            statistics.clear();
+            operations.set(0);
+        }
+
+        @TearDown(Level.Iteration)
+        public void printStatements() {
+            long ops = operations.get();
+            if (ops > 0) {
+                System.out.printf("%n%d ops, %.2f statements/op%n", ops,
+                        (double) statistics.getPrepareStatementCount() / ops);
+            }
+        }
+
+        @TearDown(Level.Trial)
+        public void stop() {
+            jdbcTemplate.update("DELETE FROM actor WHERE first_name = ?", BENCH_NAME);
+            context.close();
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Row {
+
+        Short id;
+        int version;
+
+        // Alternates so every update really changes the row and the merge path cannot skip its UPDATE
+        String nextLastName() {
+            return (version++ & 1) == 0 ? "BENCH-A" : "BENCH-B";
+        }
+
+        @Setup(Level.Trial)
+        public void claim(Shared shared) {
+            id = shared.ids.get(shared.nextRow.getAndIncrement());
+        }
+
+        @Setup(Level.Invocation)
+        public void recreate(Shared shared) {
+            // No-op for the update benchmarks, restores the row after a delete
+            shared.jdbcTemplate.update("INSERT IGNORE INTO actor (actor_id, first_name, last_name) VALUES (?, ?, ?)",
+                    id, BENCH_NAME, BENCH_NAME);
+        }
+    }
+
+    @Benchmark
+    public Object update(Shared shared, Row row) {
+        shared.operations.incrementAndGet();
+        return shared.actorService.updateActor(row.id, details(row.nextLastName()));
+    }
+
+    @Benchmark
+    public Object legacyUpdate(Shared shared, Row row) {
+        shared.operations.incrementAndGet();
+        ActorRepository repository = shared.actorRepository;
+        String lastName = row.nextLastName();
+        return repository.findById(row.id).map(existing -> {
+            existing.setFirstName(BENCH_NAME);
+            existing.setLastName(lastName);
+            return repository.save(existing);
+        });
+    }
+
+    @Benchmark
+    public boolean delete(Shared shared, Row row) {
+        shared.operations.incrementAndGet();
+        return shared.actorService.deleteActor(row.id);
+    }
+
+    @Benchmark
+    public boolean legacyDelete(Shared shared, Row row) {
+        shared.operations.incrementAndGet();
+        ActorRepository repository = shared.actorRepository;
+        return repository.findById(row.id).map(actor -> {
+            repository.delete(actor);
+            return true;
+        }).orElse(false);
+    }
+
+    private static Actor details(String lastName) {
+        Actor actor = new Actor();
+        actor.setFirstName(BENCH_NAME);
+        actor.setLastName(lastName);
+        return actor;
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.week1.controller;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static com.example.week1.support.StatementCountAssertions.assertMaxStatements;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Statement counts do not depend on the database, so this runs on embedded H2 instead of MySQL
+@SpringBootTest
+@ActiveProfiles("h2")
+@AutoConfigureMockMvc
+class ActorControllerStatementCountTest {
+
+    // Above the SMALLINT ids the sample data uses, so these requests change nothing
+    private static final String MISSING_ID = "32000";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void keysetPageIsOneQuery() throws Throwable {
+        assertMaxStatements(1, () -> mockMvc.perform(get("/api/actors/keyset").param("size", "50"))
+                .andExpect(status().isOk()));
+    }
+
+    @Test
+    void pageIsRowsPlusCount() throws Throwable {
+        assertMaxStatements(2, () -> mockMvc.perform(get("/api/actors/page").param("size", "50"))
+                .andExpect(status().isOk()));
+    }
+
+    @Test
+    void updateIsOneStatement() throws Throwable {
+        assertMaxStatements(1, () -> mockMvc.perform(put("/api/actors/" + MISSING_ID)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"firstName\":\"Jane\",\"lastName\":\"Smith\"}"))
+                .andExpect(status().isNotFound()));
+    }
+
+    @Test
+    void deleteIsOneStatement() throws Throwable {
+        assertMaxStatements(1, () -> mockMvc.perform(delete("/api/actors/" + MISSING_ID))
+                .andExpect(status().isNotFound()));
+    }
+}
@@ -0,0 +1,29 @@
+package com.example.week1.support;
+
+import org.junit.jupiter.api.function.Executable;
+
+import com.example.week1.config.DataSourceProxyConfig;
+
+import net.ttddyy.dsproxy.QueryCount;
+import net.ttddyy.dsproxy.QueryCountHolder;
+
+import static org.junit.jupiter.api.Assertions.fail;
+
+// Counts JDBC statements issued on the calling thread (MockMvc runs the request on it)
+public final class StatementCountAssertions {
+
+    private StatementCountAssertions() {
+    }
+
+    public static void assertMaxStatements(long max, Executable action) throws Throwable {
+        QueryCountHolder.clear();
+        action.execute();
+        QueryCount count = QueryCountHolder.get(DataSourceProxyConfig.DATA_SOURCE_NAME);
+        long total = count == null ? 0 : count.getTotal();
+        if (total > max) {
+            fail(String.format("Expected at most %d statements but %d were issued "
+                    + "(select=%d, insert=%d, update=%d, delete=%d, other=%d)", max, total, count.getSelect(),
+                    count.getInsert(), count.getUpdate(), count.getDelete(), count.getOther()));
+        }
+    }
+}
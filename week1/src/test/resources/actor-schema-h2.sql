@@ -0,0 +1,12 @@
+-- The sakila actor table for H2 in MySQL mode, seeded with 200 rows like the sample data.
+-- Runs before schema.sql, which seeds id_generator from MAX(actor_id).
+DROP TABLE IF EXISTS actor;
+CREATE TABLE actor (
+    actor_id SMALLINT NOT NULL AUTO_INCREMENT PRIMARY KEY,
+    first_name VARCHAR(45) NOT NULL,
+    last_name VARCHAR(45) NOT NULL,
+    last_update TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP
+);
+
+INSERT INTO actor (first_name, last_name)
+SELECT 'FIRST' || X, 'LAST' || X FROM SYSTEM_RANGE(1, 200);
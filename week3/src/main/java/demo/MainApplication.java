@@ -2,9 +2,12 @@ package demo;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.r2dbc.R2dbcAutoConfiguration;
 import org.springframework.context.annotation.ComponentScan;
 
-@SpringBootApplication
+// R2DBC belongs to the reactive stack (demo.reactive.ReactiveApplication); a ConnectionFactory
+// here would switch off the JDBC DataSource this application runs on
+@SpringBootApplication(exclude = R2dbcAutoConfiguration.class)
 @ComponentScan(basePackages = "demo")
 public class MainApplication {
 
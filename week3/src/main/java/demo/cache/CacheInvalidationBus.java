@@ -0,0 +1,12 @@
+package demo.cache;
+
+/**
+ * Evicts an entry from the local cache and from the same cache on every other node.
+ */
+public interface CacheInvalidationBus {
+
+    String FILMS = "films";
+    String ACTORS = "actors";
+
+    void invalidate(String cacheName, int id);
+}
@@ -0,0 +1,29 @@
+package demo.cache;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import demo.event.CatalogEvent;
+
+/**
+ * Turns catalog events into invalidations once the change is committed. Outside a transaction
+ * the event is handled right away.
+ */
+@Component
+public class CacheInvalidationListener {
+
+    private final CacheInvalidationBus bus;
+
+    public CacheInvalidationListener(CacheInvalidationBus bus) {
+        this.bus = bus;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onCatalogEvent(CatalogEvent event) {
+        String cacheName = event.getEntity() == CatalogEvent.Entity.FILM
+                ? CacheInvalidationBus.FILMS
+                : CacheInvalidationBus.ACTORS;
+        bus.invalidate(cacheName, event.getId());
+    }
+}
@@ -0,0 +1,24 @@
+package demo.cache;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+
+/**
+ * Single-node bus: evicts from this JVM's caches only. Used by default and in tests.
+ */
+public class LoopbackInvalidationBus implements CacheInvalidationBus {
+
+    private final CacheManager cacheManager;
+
+    public LoopbackInvalidationBus(CacheManager cacheManager) {
+        this.cacheManager = cacheManager;
+    }
+
+    @Override
+    public void invalidate(String cacheName, int id) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache != null) {
+            cache.evict(id);
+        }
+    }
+}
@@ -0,0 +1,171 @@
+package demo.cache;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+
+import java.io.IOException;
+import java.net.DatagramPacket;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.MulticastSocket;
+import java.net.SocketException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cluster bus over UDP multicast. Local entries are evicted right away; remote nodes are told
+ * every {@code coalesce-ms} with one datagram per ~1400 bytes of keys, so a burst of writes to
+ * the same rows turns into a single message per key.
+ *
+ * Delivery is best effort (UDP may drop a datagram), which is why the caches also expire
+ * entries after a short TTL.
+ */
+public class MulticastInvalidationBus implements CacheInvalidationBus {
+
+    private static final Logger logger = LoggerFactory.getLogger(MulticastInvalidationBus.class);
+
+    // Stays under a typical 1500 byte MTU once IP/UDP headers are added
+    static final int MAX_PAYLOAD = 1400;
+
+    private final CacheManager cacheManager;
+    private final InetAddress group;
+    private final int port;
+    private final int ttl;
+    private final long coalesceMs;
+    private final String nodeId = UUID.randomUUID().toString();
+    private final Set<String> pending = ConcurrentHashMap.newKeySet();
+
+    private MulticastSocket socket;
+    private Thread receiver;
+    private ScheduledExecutorService flusher;
+    private volatile boolean running;
+
+    public MulticastInvalidationBus(CacheManager cacheManager, InetAddress group, int port, int ttl, long coalesceMs) {
+        this.cacheManager = cacheManager;
+        this.group = group;
+        this.port = port;
+        this.ttl = ttl;
+        this.coalesceMs = coalesceMs;
+    }
+
+    @PostConstruct
+    public void start() throws IOException {
+        socket = new MulticastSocket(port);
+        socket.setTimeToLive(ttl);
+        socket.joinGroup(new InetSocketAddress(group, port), null);
+        running = true;
+        receiver = Thread.ofPlatform()
+                .name("cache-invalidation-receiver")
+                .daemon(true)
+                .start(this::receiveLoop);
+        flusher = Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform()
+                .name("cache-invalidation-flusher")
+                .daemon(true)
+                .factory());
+        flusher.scheduleWithFixedDelay(this::flush, coalesceMs, coalesceMs, TimeUnit.MILLISECONDS);
+        logger.info("Cache invalidation bus joined {}:{} as node {}", group.getHostAddress(), port, nodeId);
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        flusher.shutdown();
+        flush();
+        socket.close();
+    }
+
+    @Override
+    public void invalidate(String cacheName, int id) {
+        evictLocally(cacheName, id);
+        pending.add(cacheName + ":" + id);
+    }
+
+    void flush() {
+        for (byte[] payload : drainPending()) {
+            try {
+                socket.send(new DatagramPacket(payload, payload.length, group, port));
+            } catch (IOException e) {
+                logger.warn("Failed to send cache invalidation datagram: {}", e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Removes the pending keys and packs them into datagram payloads: the sender's node id on the
+     * first line, then one {@code cache:id} per line.
+     */
+    List<byte[]> drainPending() {
+        List<byte[]> payloads = new ArrayList<>();
+        StringBuilder current = null;
+        Iterator<String> it = pending.iterator();
+        while (it.hasNext()) {
+            String key = it.next();
+            it.remove();
+            if (current == null || current.length() + key.length() + 1 > MAX_PAYLOAD) {
+                if (current != null) {
+                    payloads.add(current.toString().getBytes(StandardCharsets.UTF_8));
+                }
+                current = new StringBuilder(MAX_PAYLOAD).append(nodeId).append('\n');
+            }
+            current.append(key).append('\n');
+        }
+        if (current != null) {
+            payloads.add(current.toString().getBytes(StandardCharsets.UTF_8));
+        }
+        return payloads;
+    }
+
+    void apply(String message) {
+        String[] lines = message.split("\n");
+        if (lines.length == 0 || nodeId.equals(lines[0])) {
+            return; // our own datagram looped back, already evicted locally
+        }
+        for (int i = 1; i < lines.length; i++) {
+            int sep = lines[i].indexOf(':');
+            if (sep > 0) {
+                try {
+                    evictLocally(lines[i].substring(0, sep), Integer.parseInt(lines[i].substring(sep + 1)));
+                } catch (NumberFormatException e) {
+                    logger.debug("Ignoring malformed invalidation '{}'", lines[i]);
+                }
+            }
+        }
+    }
+
+    private void receiveLoop() {
+        byte[] buffer = new byte[MAX_PAYLOAD + 64];
+        while (running) {
+            DatagramPacket packet = new DatagramPacket(buffer, buffer.length);
+            try {
+                socket.receive(packet);
+                apply(new String(packet.getData(), packet.getOffset(), packet.getLength(), StandardCharsets.UTF_8));
+            } catch (SocketException e) {
+                if (running) {
+                    logger.warn("Cache invalidation receiver stopped: {}", e.getMessage());
+                }
+                return;
+            } catch (IOException e) {
+                logger.warn("Failed to receive cache invalidation datagram: {}", e.getMessage());
+            }
+        }
+    }
+
+    private void evictLocally(String cacheName, int id) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache != null) {
+            cache.evict(id);
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package demo.config;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import demo.cache.CacheInvalidationBus;
+import demo.cache.LoopbackInvalidationBus;
+import demo.cache.MulticastInvalidationBus;
+
+/**
+ * Read caches for films/actors by id (Caffeine, see spring.cache.* properties) and the bus
+ * that keeps them consistent across nodes.
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "cache.invalidation.transport", havingValue = "loopback", matchIfMissing = true)
+    public CacheInvalidationBus loopbackInvalidationBus(CacheManager cacheManager) {
+        return new LoopbackInvalidationBus(cacheManager);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "cache.invalidation.transport", havingValue = "multicast")
+    public CacheInvalidationBus multicastInvalidationBus(
+            CacheManager cacheManager,
+            @Value("${cache.invalidation.multicast.group:239.1.2.3}") String group,
+            @Value("${cache.invalidation.multicast.port:4446}") int port,
+            @Value("${cache.invalidation.multicast.ttl:1}") int ttl,
+            @Value("${cache.invalidation.coalesce-ms:50}") long coalesceMs) throws UnknownHostException {
+        return new MulticastInvalidationBus(cacheManager, InetAddress.getByName(group), port, ttl, coalesceMs);
+    }
+}
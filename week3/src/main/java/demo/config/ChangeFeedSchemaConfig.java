@@ -0,0 +1,65 @@
+package demo.config;
+
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+
+/**
+ * Creates the tombstone table and the (last_update, id) indexes the change feed pages over.
+ * Index creation is checked through JDBC metadata because MySQL has no CREATE INDEX IF NOT EXISTS.
+ */
+@Configuration
+public class ChangeFeedSchemaConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(ChangeFeedSchemaConfig.class);
+
+    private final JdbcTemplate jdbc;
+
+    public ChangeFeedSchemaConfig(JdbcTemplate jdbc) {
+        this.jdbc = jdbc;
+    }
+
+    @PostConstruct
+    public void createChangeFeedSchema() {
+        jdbc.execute("""
+            CREATE TABLE IF NOT EXISTS deleted_entity (
+                entity_type VARCHAR(16)  NOT NULL,
+                entity_id   INT          NOT NULL,
+                deleted_at  TIMESTAMP(6) NOT NULL,
+                PRIMARY KEY (entity_type, deleted_at, entity_id)
+            )
+            """);
+        createIndexIfMissing("actor", "idx_actor_last_update", "last_update, actor_id");
+        createIndexIfMissing("film", "idx_film_last_update", "last_update, film_id");
+    }
+
+    private void createIndexIfMissing(String table, String index, String columns) {
+        Boolean missing = jdbc.execute((ConnectionCallback<Boolean>) con -> {
+            DatabaseMetaData meta = con.getMetaData();
+            String name = meta.storesUpperCaseIdentifiers() ? table.toUpperCase() : table;
+            try (ResultSet tables = meta.getTables(con.getCatalog(), null, name, new String[]{"TABLE"})) {
+                if (!tables.next()) {
+                    return false; // table not there (e.g. an empty test database)
+                }
+            }
+            try (ResultSet indexes = meta.getIndexInfo(con.getCatalog(), null, name, false, true)) {
+                while (indexes.next()) {
+                    if (index.equalsIgnoreCase(indexes.getString("INDEX_NAME"))) {
+                        return false;
+                    }
+                }
+            }
+            return true;
+        });
+        if (Boolean.TRUE.equals(missing)) {
+            jdbc.execute("CREATE INDEX " + index + " ON " + table + " (" + columns + ")");
+            logger.info("Created index {} on {}({})", index, table, columns);
+        }
+    }
+}
@@ -6,6 +6,7 @@ import java.util.Optional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -13,13 +14,23 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import demo.dto.ActorRequest;
 import demo.dto.ActorResponse;
+import demo.dto.ActorPatchRequest;
 import demo.dto.ActorUpdateRequest;
+import demo.dto.BulkDeleteRequest;
+import demo.dto.BulkOperationResponse;
+import demo.dto.BulkPatchRequest;
+import demo.dto.ChangeFeedResponse;
+import demo.exception.PreconditionFailedException;
 import demo.service.ActorService;
+import demo.service.BulkOperationService;
+import demo.service.ChangeFeedService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -35,11 +46,16 @@ import jakarta.validation.Valid;
 public class ActorController {
 
     private final ActorService actorService;
+    private final ChangeFeedService changeFeedService;
+    private final BulkOperationService bulkOperationService;
     private final Logger logger = LoggerFactory.getLogger(ActorController.class);
 
     @Autowired
-    public ActorController(ActorService actorService) {
+    public ActorController(ActorService actorService, ChangeFeedService changeFeedService,
+                           BulkOperationService bulkOperationService) {
         this.actorService = actorService;
+        this.changeFeedService = changeFeedService;
+        this.bulkOperationService = bulkOperationService;
     }
 
     @Operation(
@@ -65,6 +81,36 @@ public class ActorController {
         }
     }
 
+    @Operation(
+            summary = "Get actor changes",
+            description = "Returns actors created, updated or deleted after the 'since' cursor, oldest change first. "
+                    + "Start without 'since' (or with an ISO date-time), then pass back nextCursor until hasMore is false",
+            responses = {
+                    @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200",
+                            description = "Successfully retrieved actor changes",
+                            content = @Content(schema = @Schema(implementation = demo.dto.ApiResponse.class))),
+                    @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400",
+                            description = "Invalid cursor or limit")
+            }
+    )
+    @GetMapping("/changes")
+    public ResponseEntity<demo.dto.ApiResponse<ChangeFeedResponse<ActorResponse>>> getActorChanges(
+            @Parameter(description = "Cursor from a previous call, or an ISO date-time", example = "2024-01-31T00:00:00")
+            @RequestParam(required = false) String since,
+            @Parameter(description = "Maximum number of changes to return", example = "500")
+            @RequestParam(required = false) Integer limit) {
+        logger.info("GET /api/actors/changes - Request: since={}, limit={}", since, limit);
+        try {
+            ChangeFeedResponse<ActorResponse> changes = changeFeedService.getActorChanges(since, limit);
+            logger.info("GET /api/actors/changes - Response: {} changed, {} deleted, hasMore={}",
+                    changes.getChanged().size(), changes.getDeleted().size(), changes.isHasMore());
+            return ResponseEntity.ok(demo.dto.ApiResponse.success("Successfully retrieved actor changes", changes));
+        } catch (IllegalArgumentException e) {
+            logger.warn("GET /api/actors/changes - Response: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(demo.dto.ApiResponse.error(e.getMessage()));
+        }
+    }
+
     @Operation(
             summary = "Get actor by ID",
             description = "Returns a single actor by their ID",
@@ -87,7 +133,7 @@ public class ActorController {
             if (actor.isPresent()) {
                 demo.dto.ApiResponse<ActorResponse> response = demo.dto.ApiResponse.success("Actor found successfully", actor.get());
                 logger.info("GET /api/actors/{} - Response: Actor found - {}", id, actor.get());
-                return ResponseEntity.ok(response);
+                return ResponseEntity.ok().eTag(ETags.of(actor.get().getLastUpdate())).body(response);
             } else {
                 logger.warn("GET /api/actors/{} - Response: Actor not found", id);
                 return ResponseEntity.status(HttpStatus.NOT_FOUND)
@@ -144,7 +190,8 @@ public class ActorController {
 
     @Operation(
             summary = "Update actor (partial)",
-            description = "Updates actor information using PATCH method",
+            description = "Updates actor information using PATCH method. Send the ETag from GET /api/actors/{id} "
+                    + "as If-Match to update only if nobody else changed the actor in the meantime",
             requestBody = @RequestBody(
                     required = true,
                     description = "Actor information to update",
@@ -167,25 +214,32 @@ public class ActorController {
                             description = "Actor updated successfully",
                             content = @Content(schema = @Schema(implementation = demo.dto.ApiResponse.class))),
                     @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "404", 
-                            description = "Actor not found")
+                            description = "Actor not found"),
+                    @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "412",
+                            description = "Actor was modified since the If-Match version")
             }
     )
     @PatchMapping
     public ResponseEntity<demo.dto.ApiResponse<ActorResponse>> updateActor(
+            @Parameter(description = "ETag of the version being changed", example = "\"2024-01-31T10:30\"")
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
             @Valid @org.springframework.web.bind.annotation.RequestBody ActorUpdateRequest request) {
-        logger.info("PATCH /api/actors - Request: {}", request);
+        logger.info("PATCH /api/actors - Request: {} (If-Match: {})", request, ifMatch);
         try {
-            Optional<ActorResponse> updatedActor = actorService.updateActor(request);
+            Optional<ActorResponse> updatedActor = actorService.updateActor(request, ETags.parseIfMatch(ifMatch));
             
             if (updatedActor.isPresent()) {
                 demo.dto.ApiResponse<ActorResponse> response = demo.dto.ApiResponse.success("Actor updated successfully", updatedActor.get());
                 logger.info("PATCH /api/actors - Response: Actor updated successfully - {}", updatedActor.get());
-                return ResponseEntity.ok(response);
+                return ResponseEntity.ok().eTag(ETags.of(updatedActor.get().getLastUpdate())).body(response);
             } else {
                 logger.warn("PATCH /api/actors - Response: Actor not found with ID {}", request.getActorId());
                 return ResponseEntity.status(HttpStatus.NOT_FOUND)
                         .body(demo.dto.ApiResponse.error("Actor not found with id: " + request.getActorId()));
             }
+        } catch (PreconditionFailedException e) {
+            logger.warn("PATCH /api/actors - Response: {}", e.getMessage());
+            throw e;
         } catch (Exception e) {
             logger.error("PATCH /api/actors - Error updating actor with request: {}", request, e);
             throw e;
@@ -224,4 +278,80 @@ public class ActorController {
             throw e;
         }
     }
+
+    @Operation(
+            summary = "Delete actors in bulk",
+            description = "Deletes many actors in chunked, batched transactions and returns one outcome per ID "
+                    + "(DELETED, NOT_FOUND, CONFLICT when still referenced, DUPLICATE)",
+            requestBody = @RequestBody(
+                    required = true,
+                    content = @Content(
+                            schema = @Schema(implementation = BulkDeleteRequest.class),
+                            examples = @ExampleObject(name = "BulkDelete", value = "{ \"ids\": [201, 202, 203] }")
+                    )
+            ),
+            responses = {
+                    @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200",
+                            description = "Per-ID outcomes",
+                            content = @Content(schema = @Schema(implementation = demo.dto.ApiResponse.class))),
+                    @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400",
+                            description = "Empty or too large request")
+            }
+    )
+    @PostMapping("/bulk-delete")
+    public ResponseEntity<demo.dto.ApiResponse<BulkOperationResponse>> deleteActors(
+            @Valid @org.springframework.web.bind.annotation.RequestBody BulkDeleteRequest request) {
+        logger.info("POST /api/actors/bulk-delete - Request: {} IDs", request.getIds().size());
+        try {
+            BulkOperationResponse result = bulkOperationService.deleteActors(request.getIds());
+            logger.info("POST /api/actors/bulk-delete - Response: {} of {} deleted", result.getSucceeded(), result.getRequested());
+            return ResponseEntity.ok(demo.dto.ApiResponse.success("Bulk delete completed", result));
+        } catch (IllegalArgumentException e) {
+            logger.warn("POST /api/actors/bulk-delete - Response: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(demo.dto.ApiResponse.error(e.getMessage()));
+        }
+    }
+
+    @Operation(
+            summary = "Update actors in bulk (partial)",
+            description = "Applies partial updates to many actors in chunked, batched transactions; null fields "
+                    + "are left unchanged. Returns one outcome per ID (UPDATED, NOT_FOUND, CONFLICT, DUPLICATE)",
+            requestBody = @RequestBody(
+                    required = true,
+                    content = @Content(
+                            schema = @Schema(implementation = BulkPatchRequest.class),
+                            examples = @ExampleObject(
+                                    name = "BulkPatch",
+                                    value = """
+                            {
+                              "items": [
+                                { "actorId": 1, "firstName": "Penelope" },
+                                { "actorId": 2, "lastName": "Wahlberg" }
+                              ]
+                            }
+                            """
+                            )
+                    )
+            ),
+            responses = {
+                    @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200",
+                            description = "Per-ID outcomes",
+                            content = @Content(schema = @Schema(implementation = demo.dto.ApiResponse.class))),
+                    @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400",
+                            description = "Invalid, empty or too large request")
+            }
+    )
+    @PatchMapping("/bulk")
+    public ResponseEntity<demo.dto.ApiResponse<BulkOperationResponse>> patchActors(
+            @Valid @org.springframework.web.bind.annotation.RequestBody BulkPatchRequest<ActorPatchRequest> request) {
+        logger.info("PATCH /api/actors/bulk - Request: {} items", request.getItems().size());
+        try {
+            BulkOperationResponse result = bulkOperationService.patchActors(request.getItems());
+            logger.info("PATCH /api/actors/bulk - Response: {} of {} updated", result.getSucceeded(), result.getRequested());
+            return ResponseEntity.ok(demo.dto.ApiResponse.success("Bulk update completed", result));
+        } catch (IllegalArgumentException e) {
+            logger.warn("PATCH /api/actors/bulk - Response: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(demo.dto.ApiResponse.error(e.getMessage()));
+        }
+    }
 }
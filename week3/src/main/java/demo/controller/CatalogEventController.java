@@ -0,0 +1,65 @@
+package demo.controller;
+
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import demo.event.CatalogEvent;
+import demo.event.CatalogEventBroadcaster;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+
+@Tag(name = "Events", description = "Live stream of film and actor changes")
+@RestController
+@RequestMapping("/api/events")
+public class CatalogEventController {
+
+    private final CatalogEventBroadcaster broadcaster;
+    private final Logger logger = LoggerFactory.getLogger(CatalogEventController.class);
+
+    @Autowired
+    public CatalogEventController(CatalogEventBroadcaster broadcaster) {
+        this.broadcaster = broadcaster;
+    }
+
+    @Operation(
+            summary = "Subscribe to catalog changes",
+            description = "Server-Sent Events stream with one 'created', 'updated' or 'deleted' event per change "
+                    + "and a heartbeat comment every few seconds. A 'resync' event means events were dropped "
+                    + "because the client fell behind; catch up with GET /api/films/changes or /api/actors/changes",
+            responses = {
+                    @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200",
+                            description = "Event stream opened"),
+                    @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "503",
+                            description = "Too many subscribers")
+            }
+    )
+    @GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> subscribe(
+            @Parameter(description = "Entities to receive (default: all)", example = "FILM")
+            @RequestParam(required = false) List<CatalogEvent.Entity> entity) {
+        Set<CatalogEvent.Entity> entities = entity == null || entity.isEmpty()
+                ? EnumSet.allOf(CatalogEvent.Entity.class)
+                : EnumSet.copyOf(entity);
+        SseEmitter emitter = broadcaster.subscribe(entities);
+        if (emitter == null) {
+            logger.warn("GET /api/events - Response: Subscriber limit reached");
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+        logger.debug("GET /api/events - Response: Subscribed to {}", entities);
+        return ResponseEntity.ok(emitter);
+    }
+}
@@ -0,0 +1,39 @@
+package demo.controller;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+
+import demo.exception.PreconditionFailedException;
+
+/**
+ * Strong ETags derived from a row's last_update, which the services bump on every write.
+ */
+public final class ETags {
+
+    private ETags() {
+    }
+
+    public static String of(LocalDateTime lastUpdate) {
+        return lastUpdate == null ? null : "\"" + lastUpdate + "\"";
+    }
+
+    /**
+     * @return the version the client expects, or {@code null} when there is no precondition
+     *         (header missing or {@code *})
+     * @throws PreconditionFailedException if the header is not a single strong ETag issued by us
+     */
+    public static LocalDateTime parseIfMatch(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        String tag = ifMatch.trim();
+        if (tag.length() < 2 || !tag.startsWith("\"") || !tag.endsWith("\"")) {
+            throw new PreconditionFailedException("If-Match must be a single strong ETag", null);
+        }
+        try {
+            return LocalDateTime.parse(tag.substring(1, tag.length() - 1));
+        } catch (DateTimeParseException e) {
+            throw new PreconditionFailedException("If-Match does not match the current version", null);
+        }
+    }
+}
@@ -6,19 +6,31 @@ import java.util.Optional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import demo.dto.ApiResponse;
+import demo.dto.BulkDeleteRequest;
+import demo.dto.BulkOperationResponse;
+import demo.dto.BulkPatchRequest;
+import demo.dto.ChangeFeedResponse;
+import demo.dto.FilmPatchRequest;
 import demo.dto.FilmRequest;
 import demo.dto.FilmResponse;
+import demo.exception.PreconditionFailedException;
+import demo.service.BulkOperationService;
+import demo.service.ChangeFeedService;
 import demo.service.FilmService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -35,11 +47,16 @@ import jakarta.validation.Valid;
 public class FilmController {
 
     private final FilmService filmService;
+    private final ChangeFeedService changeFeedService;
+    private final BulkOperationService bulkOperationService;
     private final Logger logger = LoggerFactory.getLogger(FilmController.class);
 
     @Autowired
-    public FilmController(FilmService filmService) {
+    public FilmController(FilmService filmService, ChangeFeedService changeFeedService,
+                          BulkOperationService bulkOperationService) {
         this.filmService = filmService;
+        this.changeFeedService = changeFeedService;
+        this.bulkOperationService = bulkOperationService;
     }
 
     @Operation(
@@ -67,6 +84,40 @@ public class FilmController {
         }
     }
 
+    @Operation(
+            summary = "Get film changes",
+            description = "Returns films created, updated or deleted after the 'since' cursor, oldest change first. "
+                    + "Start without 'since' (or with an ISO date-time), then pass back nextCursor until hasMore is false",
+            responses = {
+                    @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                            responseCode = "200",
+                            description = "Successfully retrieved film changes",
+                            content = @Content(schema = @Schema(implementation = ApiResponse.class))
+                    ),
+                    @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                            responseCode = "400",
+                            description = "Invalid cursor or limit"
+                    )
+            }
+    )
+    @GetMapping("/changes")
+    public ResponseEntity<ApiResponse<ChangeFeedResponse<FilmResponse>>> getFilmChanges(
+            @Parameter(description = "Cursor from a previous call, or an ISO date-time", example = "2024-01-31T00:00:00")
+            @RequestParam(required = false) String since,
+            @Parameter(description = "Maximum number of changes to return", example = "500")
+            @RequestParam(required = false) Integer limit) {
+        logger.info("GET /api/films/changes - Request: since={}, limit={}", since, limit);
+        try {
+            ChangeFeedResponse<FilmResponse> changes = changeFeedService.getFilmChanges(since, limit);
+            logger.info("GET /api/films/changes - Response: {} changed, {} deleted, hasMore={}",
+                    changes.getChanged().size(), changes.getDeleted().size(), changes.isHasMore());
+            return ResponseEntity.ok(ApiResponse.success("Successfully retrieved film changes", changes));
+        } catch (IllegalArgumentException e) {
+            logger.warn("GET /api/films/changes - Response: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(ApiResponse.error(e.getMessage()));
+        }
+    }
+
     @Operation(
             summary = "Get film by ID",
             description = "Returns a single film by its ID",
@@ -91,7 +142,7 @@ public class FilmController {
             if (film.isPresent()) {
                 ApiResponse<FilmResponse> response = ApiResponse.success("Film found successfully", film.get());
                 logger.info("GET /api/films/{} - Response: Film found - {}", id, film.get().getTitle());
-                return ResponseEntity.ok(response);
+                return ResponseEntity.ok().eTag(ETags.of(film.get().getLastUpdate())).body(response);
             } else {
                 logger.warn("GET /api/films/{} - Response: Film not found", id);
                 return ResponseEntity.status(HttpStatus.NOT_FOUND)
@@ -161,7 +212,8 @@ public class FilmController {
 
     @Operation(
             summary = "Update film",
-            description = "Updates film information by ID (full or partial, depending on service logic)",
+            description = "Updates film information by ID. Send the ETag from GET /api/films/{id} as If-Match "
+                    + "to update only if nobody else changed the film in the meantime",
             requestBody = @RequestBody(
                     required = true,
                     description = "Film information to update",
@@ -196,25 +248,34 @@ public class FilmController {
                     @io.swagger.v3.oas.annotations.responses.ApiResponse(
                             responseCode = "404",
                             description = "Film not found"
+                    ),
+                    @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                            responseCode = "412",
+                            description = "Film was modified since the If-Match version"
                     )
             }
     )
     @PutMapping("/{id}")
     public ResponseEntity<ApiResponse<FilmResponse>> updateFilm(
             @Parameter(description = "Film ID", example = "1001") @PathVariable int id,
+            @Parameter(description = "ETag of the version being replaced", example = "\"2024-01-31T10:30\"")
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
             @Valid @org.springframework.web.bind.annotation.RequestBody FilmRequest request) {
-        logger.info("PUT /api/films/{} - Request: {}", id, request);
+        logger.info("PUT /api/films/{} - Request: {} (If-Match: {})", id, request, ifMatch);
         try {
-            Optional<FilmResponse> updated = filmService.updateFilm(id, request);
+            Optional<FilmResponse> updated = filmService.updateFilm(id, request, ETags.parseIfMatch(ifMatch));
             if (updated.isPresent()) {
                 ApiResponse<FilmResponse> response = ApiResponse.success("Film updated successfully", updated.get());
                 logger.info("PUT /api/films/{} - Response: Film updated successfully - {}", id, updated.get().getTitle());
-                return ResponseEntity.ok(response);
+                return ResponseEntity.ok().eTag(ETags.of(updated.get().getLastUpdate())).body(response);
             } else {
                 logger.warn("PUT /api/films/{} - Response: Film not found", id);
                 return ResponseEntity.status(HttpStatus.NOT_FOUND)
                         .body(ApiResponse.error("Film not found with id: " + id));
             }
+        } catch (PreconditionFailedException e) {
+            logger.warn("PUT /api/films/{} - Response: {}", id, e.getMessage());
+            throw e;
         } catch (Exception e) {
             logger.error("PUT /api/films/{} - Error updating film with request: {}", id, request, e);
             throw e;
@@ -255,4 +316,88 @@ public class FilmController {
             throw e;
         }
     }
+
+    @Operation(
+            summary = "Delete films in bulk",
+            description = "Deletes many films in chunked, batched transactions and returns one outcome per ID "
+                    + "(DELETED, NOT_FOUND, CONFLICT when still referenced, DUPLICATE)",
+            requestBody = @RequestBody(
+                    required = true,
+                    content = @Content(
+                            schema = @Schema(implementation = BulkDeleteRequest.class),
+                            examples = @ExampleObject(name = "BulkDelete", value = "{ \"ids\": [1001, 1002, 1003] }")
+                    )
+            ),
+            responses = {
+                    @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                            responseCode = "200",
+                            description = "Per-ID outcomes",
+                            content = @Content(schema = @Schema(implementation = ApiResponse.class))
+                    ),
+                    @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                            responseCode = "400",
+                            description = "Empty or too large request"
+                    )
+            }
+    )
+    @PostMapping("/bulk-delete")
+    public ResponseEntity<ApiResponse<BulkOperationResponse>> deleteFilms(
+            @Valid @org.springframework.web.bind.annotation.RequestBody BulkDeleteRequest request) {
+        logger.info("POST /api/films/bulk-delete - Request: {} IDs", request.getIds().size());
+        try {
+            BulkOperationResponse result = bulkOperationService.deleteFilms(request.getIds());
+            logger.info("POST /api/films/bulk-delete - Response: {} of {} deleted", result.getSucceeded(), result.getRequested());
+            return ResponseEntity.ok(ApiResponse.success("Bulk delete completed", result));
+        } catch (IllegalArgumentException e) {
+            logger.warn("POST /api/films/bulk-delete - Response: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(ApiResponse.error(e.getMessage()));
+        }
+    }
+
+    @Operation(
+            summary = "Update films in bulk (partial)",
+            description = "Applies partial updates to many films in chunked, batched transactions; null fields "
+                    + "are left unchanged. Returns one outcome per ID (UPDATED, NOT_FOUND, CONFLICT, DUPLICATE)",
+            requestBody = @RequestBody(
+                    required = true,
+                    content = @Content(
+                            schema = @Schema(implementation = BulkPatchRequest.class),
+                            examples = @ExampleObject(
+                                    name = "BulkPatch",
+                                    value = """
+                                    {
+                                      "items": [
+                                        { "filmId": 1001, "rentalRate": 2.99 },
+                                        { "filmId": 1002, "rating": "PG_13", "length": 95 }
+                                      ]
+                                    }
+                                    """
+                            )
+                    )
+            ),
+            responses = {
+                    @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                            responseCode = "200",
+                            description = "Per-ID outcomes",
+                            content = @Content(schema = @Schema(implementation = ApiResponse.class))
+                    ),
+                    @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                            responseCode = "400",
+                            description = "Invalid, empty or too large request"
+                    )
+            }
+    )
+    @PatchMapping("/bulk")
+    public ResponseEntity<ApiResponse<BulkOperationResponse>> patchFilms(
+            @Valid @org.springframework.web.bind.annotation.RequestBody BulkPatchRequest<FilmPatchRequest> request) {
+        logger.info("PATCH /api/films/bulk - Request: {} items", request.getItems().size());
+        try {
+            BulkOperationResponse result = bulkOperationService.patchFilms(request.getItems());
+            logger.info("PATCH /api/films/bulk - Response: {} of {} updated", result.getSucceeded(), result.getRequested());
+            return ResponseEntity.ok(ApiResponse.success("Bulk update completed", result));
+        } catch (IllegalArgumentException e) {
+            logger.warn("PATCH /api/films/bulk - Response: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(ApiResponse.error(e.getMessage()));
+        }
+    }
 }
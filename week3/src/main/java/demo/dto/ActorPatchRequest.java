@@ -0,0 +1,27 @@
+package demo.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.Size;
+import lombok.*;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@ToString
+@Schema(description = "Partial actor update; null fields are left unchanged")
+public class ActorPatchRequest {
+
+    @Positive(message = "Actor ID must be positive")
+    @Schema(description = "Actor ID", example = "1", required = true)
+    private int actorId;
+
+    @Size(max = 45, message = "First name cannot exceed 45 characters")
+    @Schema(description = "Actor's first name", example = "Thomas")
+    private String firstName;
+
+    @Size(max = 45, message = "Last name cannot exceed 45 characters")
+    @Schema(description = "Actor's last name", example = "Cruise")
+    private String lastName;
+}
@@ -0,0 +1,21 @@
+package demo.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import lombok.*;
+
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@ToString
+@Schema(description = "IDs to delete in one bulk request")
+public class BulkDeleteRequest {
+
+    @NotEmpty(message = "ids must not be empty")
+    @Schema(description = "IDs to delete", example = "[1001, 1002, 1003]", required = true)
+    private List<@NotNull Integer> ids;
+}
@@ -0,0 +1,24 @@
+package demo.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@ToString
+@Schema(description = "Outcome for one ID of a bulk request")
+public class BulkItemResult {
+
+    public enum Status { DELETED, UPDATED, NOT_FOUND, CONFLICT, DUPLICATE }
+
+    @Schema(description = "ID the outcome belongs to", example = "1001")
+    private int id;
+
+    @Schema(description = "Outcome", example = "DELETED")
+    private Status status;
+
+    @Schema(description = "Why the ID was not processed", example = "Film is still referenced by inventory or actors")
+    private String message;
+}
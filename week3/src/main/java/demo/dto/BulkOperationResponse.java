@@ -0,0 +1,24 @@
+package demo.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@ToString
+@Schema(description = "Per-ID outcomes of a bulk request, in request order")
+public class BulkOperationResponse {
+
+    @Schema(description = "Number of IDs in the request", example = "3")
+    private int requested;
+
+    @Schema(description = "Number of IDs deleted or updated", example = "2")
+    private int succeeded;
+
+    @Schema(description = "Per-ID outcomes")
+    private List<BulkItemResult> results;
+}
@@ -0,0 +1,22 @@
+package demo.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import lombok.*;
+
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@ToString
+@Schema(description = "Partial updates to apply in one bulk request")
+public class BulkPatchRequest<T> {
+
+    @NotEmpty(message = "items must not be empty")
+    @Schema(description = "One partial update per ID", required = true)
+    private List<@Valid @NotNull T> items;
+}
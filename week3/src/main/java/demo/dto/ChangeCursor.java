@@ -0,0 +1,56 @@
+package demo.dto;
+
+import lombok.*;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Position in a change feed: the (timestamp, id) of the last change a consumer has seen.
+ * Changes are ordered by timestamp and then id, so the cursor only ever moves forward.
+ */
+@Getter
+@AllArgsConstructor
+@EqualsAndHashCode
+@ToString
+public class ChangeCursor {
+
+    public static final ChangeCursor START = new ChangeCursor(LocalDateTime.of(1970, 1, 1, 0, 0), 0);
+
+    private final LocalDateTime timestamp;
+    private final int id;
+
+    public boolean isBefore(LocalDateTime otherTimestamp, int otherId) {
+        int cmp = timestamp.compareTo(otherTimestamp);
+        return cmp < 0 || (cmp == 0 && id < otherId);
+    }
+
+    public String encode() {
+        String raw = timestamp + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Accepts either a cursor returned by a previous call or an ISO-8601 local date-time
+     * (e.g. {@code 2024-01-31T00:00:00}) for the first sync. A missing value starts from the beginning.
+     */
+    public static ChangeCursor parse(String since) {
+        if (since == null || since.isBlank()) {
+            return START;
+        }
+        try {
+            return new ChangeCursor(LocalDateTime.parse(since), 0);
+        } catch (DateTimeParseException notATimestamp) {
+            // fall through to the opaque cursor format
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(since), StandardCharsets.UTF_8);
+            int sep = raw.lastIndexOf('|');
+            return new ChangeCursor(LocalDateTime.parse(raw.substring(0, sep)), Integer.parseInt(raw.substring(sep + 1)));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid change cursor: " + since);
+        }
+    }
+}
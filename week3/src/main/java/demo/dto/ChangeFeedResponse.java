@@ -0,0 +1,27 @@
+package demo.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@ToString
+@Schema(description = "One page of changes since a cursor")
+public class ChangeFeedResponse<T> {
+
+    @Schema(description = "Rows created or updated since the cursor, in change order")
+    private List<T> changed;
+
+    @Schema(description = "IDs deleted since the cursor", example = "[17, 42]")
+    private List<Integer> deleted;
+
+    @Schema(description = "Cursor to pass as 'since' on the next call", example = "MjAyNC0wMS0zMVQxMDozMDowMHw0Mg")
+    private String nextCursor;
+
+    @Schema(description = "True when more changes are waiting; call again with nextCursor right away")
+    private boolean hasMore;
+}
@@ -0,0 +1,59 @@
+package demo.dto;
+
+import demo.model.Film;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.*;
+import lombok.*;
+
+import java.util.Set;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@ToString
+@Schema(description = "Partial film update; null fields are left unchanged")
+public class FilmPatchRequest {
+
+    @Positive(message = "Film ID must be positive")
+    @Schema(description = "Film ID", example = "1001", required = true)
+    private int filmId;
+
+    @Size(min = 1, max = 255, message = "Title must be 1-255 characters")
+    @Schema(description = "Title of the film", example = "The Matrix")
+    private String title;
+
+    @Schema(description = "Description or summary of the film")
+    private String description;
+
+    @Min(value = 1900, message = "Release year must be >= 1900")
+    @Max(value = 2100, message = "Release year must be <= 2100")
+    @Schema(description = "Release year of the film", example = "1999")
+    private Short releaseYear;
+
+    @Positive(message = "Language ID must be positive")
+    @Schema(description = "Language ID of the film (foreign key)", example = "1")
+    private Short languageId;
+
+    @Positive(message = "Rental duration must be positive")
+    @Schema(description = "Rental duration in days", example = "3")
+    private Short rentalDuration;
+
+    @DecimalMin(value = "0.00", message = "Rental rate must be non-negative")
+    @Schema(description = "Rental rate price", example = "4.99")
+    private Double rentalRate;
+
+    @Positive
+    @Schema(description = "Film length in minutes", example = "120")
+    private Integer length;
+
+    @DecimalMin(value = "0.00", message = "Replacement cost must be non-negative")
+    @Schema(description = "Replacement cost for lost or damaged film", example = "19.99")
+    private Double replacementCost;
+
+    @Schema(description = "Film rating (G, PG, PG_13, R, NC_17)", example = "PG_13")
+    private Film.Rating rating;
+
+    @Schema(description = "Special features available", example = "[\"TRAILERS\"]")
+    private Set<Film.SpecialFeature> specialFeatures;
+}
@@ -0,0 +1,29 @@
+package demo.event;
+
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * A film or actor was created, updated or deleted. Published by the services through
+ * Spring's {@link org.springframework.context.ApplicationEventPublisher}.
+ */
+@Getter
+@AllArgsConstructor
+@ToString
+public class CatalogEvent {
+
+    public enum Entity { FILM, ACTOR }
+
+    public enum Action { CREATED, UPDATED, DELETED }
+
+    private final Entity entity;
+    private final Action action;
+    private final int id;
+    private final Object data; // FilmResponse / ActorResponse, null for deletes
+    private final LocalDateTime occurredAt;
+
+    public static CatalogEvent of(Entity entity, Action action, int id, Object data) {
+        return new CatalogEvent(entity, action, id, data, LocalDateTime.now());
+    }
+}
@@ -0,0 +1,246 @@
+package demo.event;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Fans catalog events out to Server-Sent Events subscribers.
+ *
+ * Idle subscribers cost an async servlet request and a small queue, not a thread: frames are
+ * written by short-lived drain tasks on virtual threads, at most one per subscriber at a time.
+ * Each subscriber's queue is bounded; when a slow client falls behind the oldest frames are
+ * dropped and the client gets a "resync" event telling it to catch up through the change feed.
+ */
+@Component
+public class CatalogEventBroadcaster {
+
+    private static final Logger logger = LoggerFactory.getLogger(CatalogEventBroadcaster.class);
+
+    private final ObjectMapper objectMapper;
+    private final int queueCapacity;
+    private final long heartbeatMs;
+    private final int maxSubscribers;
+
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final AtomicLong sequence = new AtomicLong();
+
+    private ExecutorService dispatcher;
+    private ScheduledExecutorService heartbeats;
+
+    public CatalogEventBroadcaster(ObjectMapper objectMapper,
+                                   @Value("${catalog-events.queue-capacity:256}") int queueCapacity,
+                                   @Value("${catalog-events.heartbeat-ms:15000}") long heartbeatMs,
+                                   @Value("${catalog-events.max-subscribers:20000}") int maxSubscribers) {
+        this.objectMapper = objectMapper;
+        this.queueCapacity = queueCapacity;
+        this.heartbeatMs = heartbeatMs;
+        this.maxSubscribers = maxSubscribers;
+    }
+
+    @PostConstruct
+    public void start() {
+        dispatcher = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("catalog-events-", 0).factory());
+        heartbeats = Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform()
+                .name("catalog-events-heartbeat")
+                .daemon(true)
+                .factory());
+        heartbeats.scheduleAtFixedRate(this::heartbeat, heartbeatMs, heartbeatMs, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        heartbeats.shutdownNow();
+        for (Subscriber subscriber : subscribers) {
+            subscriber.emitter.complete();
+        }
+        subscribers.clear();
+        dispatcher.shutdown();
+    }
+
+    /**
+     * @return the emitter to hand back to Spring MVC, or {@code null} when the subscriber limit is reached
+     */
+    public SseEmitter subscribe(Set<CatalogEvent.Entity> entities) {
+        if (subscribers.size() >= maxSubscribers) {
+            return null;
+        }
+
+        SseEmitter emitter = newEmitter();
+        Subscriber subscriber = new Subscriber(emitter, entities, queueCapacity);
+        subscribers.add(subscriber);
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(() -> subscribers.remove(subscriber));
+        emitter.onError(e -> subscribers.remove(subscriber));
+
+        // First frame commits the response headers so the client sees the stream as open
+        subscriber.requestHeartbeat();
+        schedule(subscriber);
+        logger.debug("CatalogEventBroadcaster.subscribe() - {} subscribers", subscribers.size());
+        return emitter;
+    }
+
+    /**
+     * Overridden by tests to capture what is written to a subscriber.
+     */
+    SseEmitter newEmitter() {
+        // No async timeout: dead connections are found by the heartbeat write failing
+        return new SseEmitter(0L);
+    }
+
+    public int getSubscriberCount() {
+        return subscribers.size();
+    }
+
+    @EventListener
+    public void onCatalogEvent(CatalogEvent event) {
+        if (subscribers.isEmpty()) {
+            return;
+        }
+
+        // Serialize once, not once per subscriber
+        String json;
+        try {
+            json = objectMapper.writeValueAsString(event);
+        } catch (JsonProcessingException e) {
+            logger.warn("CatalogEventBroadcaster.onCatalogEvent() - Could not serialize {}", event, e);
+            return;
+        }
+        Frame frame = new Frame(sequence.incrementAndGet(), event.getAction().name().toLowerCase(), json);
+
+        for (Subscriber subscriber : subscribers) {
+            if (subscriber.entities.contains(event.getEntity())) {
+                subscriber.offer(frame);
+                schedule(subscriber);
+            }
+        }
+    }
+
+    private void heartbeat() {
+        for (Subscriber subscriber : subscribers) {
+            subscriber.requestHeartbeat();
+            schedule(subscriber);
+        }
+    }
+
+    private void schedule(Subscriber subscriber) {
+        if (subscriber.draining.compareAndSet(false, true)) {
+            dispatcher.execute(() -> drain(subscriber));
+        }
+    }
+
+    private void drain(Subscriber subscriber) {
+        try {
+            Batch batch;
+            while ((batch = subscriber.take()) != null) {
+                if (batch.dropped > 0) {
+                    subscriber.emitter.send(SseEmitter.event()
+                            .name("resync")
+                            .data("{\"dropped\":" + batch.dropped + "}"));
+                }
+                for (Frame frame : batch.frames) {
+                    subscriber.emitter.send(SseEmitter.event()
+                            .id(Long.toString(frame.id))
+                            .name(frame.name)
+                            .data(frame.json));
+                }
+                if (batch.frames.isEmpty() && batch.dropped == 0) {
+                    subscriber.emitter.send(SseEmitter.event().comment("heartbeat"));
+                }
+            }
+            queueDrained();
+        } catch (IOException | IllegalStateException e) {
+            // Client went away (or the emitter was already completed)
+            subscribers.remove(subscriber);
+            logger.debug("CatalogEventBroadcaster.drain() - Dropping subscriber: {}", e.getMessage());
+            return;
+        } finally {
+            subscriber.draining.set(false);
+        }
+
+        // An offer may have raced with the end of the loop above
+        if (subscriber.hasPending()) {
+            schedule(subscriber);
+        }
+    }
+
+    /**
+     * Called on the drain thread once the queue is empty, before the subscriber is released
+     * for the next drain. Overridden by tests to offer a frame inside that window.
+     */
+    void queueDrained() {
+    }
+
+    private record Frame(long id, String name, String json) {
+    }
+
+    private record Batch(List<Frame> frames, int dropped) {
+    }
+
+    private static final class Subscriber {
+        private final SseEmitter emitter;
+        private final Set<CatalogEvent.Entity> entities;
+        private final int capacity;
+        private final ArrayDeque<Frame> queue = new ArrayDeque<>();
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private int dropped;
+        private boolean heartbeatDue;
+
+        private Subscriber(SseEmitter emitter, Set<CatalogEvent.Entity> entities, int capacity) {
+            this.emitter = emitter;
+            this.entities = entities;
+            this.capacity = capacity;
+        }
+
+        synchronized void offer(Frame frame) {
+            if (queue.size() == capacity) {
+                queue.pollFirst();
+                dropped++;
+            }
+            queue.addLast(frame);
+        }
+
+        synchronized void requestHeartbeat() {
+            heartbeatDue = true;
+        }
+
+        synchronized boolean hasPending() {
+            return !queue.isEmpty() || dropped > 0 || heartbeatDue;
+        }
+
+        /**
+         * Everything queued so far, or {@code null} when there is nothing to write.
+         * A heartbeat is only written when no real frame goes out.
+         */
+        synchronized Batch take() {
+            if (queue.isEmpty() && dropped == 0 && !heartbeatDue) {
+                return null;
+            }
+            Batch batch = new Batch(new ArrayList<>(queue), dropped);
+            queue.clear();
+            dropped = 0;
+            heartbeatDue = false;
+            return batch;
+        }
+    }
+}
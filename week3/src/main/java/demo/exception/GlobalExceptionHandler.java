@@ -1,5 +1,6 @@
 package demo.exception;
 
+import demo.controller.ETags;
 import demo.dto.ApiResponse;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -28,6 +29,15 @@ public class GlobalExceptionHandler {
                 .body(ApiResponse.error("Validation failed"));
     }
 
+    @ExceptionHandler(PreconditionFailedException.class)
+    public ResponseEntity<ApiResponse<Void>> handlePreconditionFailed(PreconditionFailedException ex) {
+        ResponseEntity.BodyBuilder builder = ResponseEntity.status(HttpStatus.PRECONDITION_FAILED);
+        if (ex.getCurrentLastUpdate() != null) {
+            builder.eTag(ETags.of(ex.getCurrentLastUpdate()));
+        }
+        return builder.body(ApiResponse.error(ex.getMessage()));
+    }
+
     @ExceptionHandler(RuntimeException.class)
     public ResponseEntity<ApiResponse<Void>> handleRuntimeException(RuntimeException ex) {
         return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
@@ -0,0 +1,23 @@
+package demo.exception;
+
+import java.time.LocalDateTime;
+
+/**
+ * An If-Match precondition did not hold: the row was changed since the client read it.
+ */
+public class PreconditionFailedException extends RuntimeException {
+
+    private final LocalDateTime currentLastUpdate;
+
+    public PreconditionFailedException(String message, LocalDateTime currentLastUpdate) {
+        super(message);
+        this.currentLastUpdate = currentLastUpdate;
+    }
+
+    /**
+     * @return the row's current version, or {@code null} if unknown (e.g. malformed If-Match)
+     */
+    public LocalDateTime getCurrentLastUpdate() {
+        return currentLastUpdate;
+    }
+}
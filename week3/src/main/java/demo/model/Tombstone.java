@@ -0,0 +1,22 @@
+package demo.model;
+
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Marker left behind by a delete so that change feed consumers learn about removed rows.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@ToString
+public class Tombstone {
+    public static final String ACTOR = "actor";
+    public static final String FILM = "film";
+
+    private String entityType;
+    private int entityId;
+    private LocalDateTime deletedAt;
+}
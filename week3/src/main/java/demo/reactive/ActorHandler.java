@@ -0,0 +1,166 @@
+package demo.reactive;
+
+import demo.cache.CacheInvalidationBus;
+import demo.controller.ETags;
+import demo.dto.ActorRequest;
+import demo.dto.ActorResponse;
+import demo.dto.ActorUpdateRequest;
+import demo.dto.ApiResponse;
+import demo.exception.PreconditionFailedException;
+import demo.model.Actor;
+import demo.service.ActorService;
+import demo.service.LastUpdates;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+
+/**
+ * Actor endpoints of the reactive stack, with the same paths, bodies and status codes as
+ * {@link demo.controller.ActorController}.
+ */
+public class ActorHandler {
+
+    private final ReactiveCatalogRepository repository;
+    private final Validator validator;
+    private final CacheInvalidationBus invalidationBus;
+    private final Logger logger = LoggerFactory.getLogger(ActorHandler.class);
+
+    public ActorHandler(ReactiveCatalogRepository repository, Validator validator,
+                        CacheInvalidationBus invalidationBus) {
+        this.repository = repository;
+        this.validator = validator;
+        this.invalidationBus = invalidationBus;
+    }
+
+    // NDJSON streams rows as they are read, see FilmHandler.getAllFilms
+    public Mono<ServerResponse> getAllActors(ServerRequest request) {
+        logger.info("GET /api/actors - Request: Get all actors");
+        if (Responses.wantsNdjson(request)) {
+            return ServerResponse.ok()
+                    .contentType(MediaType.APPLICATION_NDJSON)
+                    .body(repository.findAllActors().map(ActorService::convertToResponse), ActorResponse.class);
+        }
+        return repository.findAllActors()
+                .map(ActorService::convertToResponse)
+                .collectList()
+                .flatMap(actors -> {
+                    logger.info("GET /api/actors - Response: Successfully retrieved {} actors", actors.size());
+                    return ServerResponse.ok().bodyValue(ApiResponse.success("Successfully retrieved all actors", actors));
+                });
+    }
+
+    public Mono<ServerResponse> getActorById(ServerRequest request) {
+        Integer id = Responses.pathId(request);
+        if (id == null) {
+            return Responses.error(HttpStatus.BAD_REQUEST, "Invalid actor id: " + request.pathVariable("id"));
+        }
+        logger.info("GET /api/actors/{} - Request: Get actor by ID", id);
+        return repository.findActorById(id)
+                .map(ActorService::convertToResponse)
+                .flatMap(actor -> ServerResponse.ok()
+                        .eTag(ETags.of(actor.getLastUpdate()))
+                        .bodyValue(ApiResponse.success("Actor found successfully", actor)))
+                .switchIfEmpty(Mono.defer(() -> {
+                    logger.warn("GET /api/actors/{} - Response: Actor not found", id);
+                    return Responses.error(HttpStatus.NOT_FOUND, "Actor not found with id: " + id);
+                }));
+    }
+
+    public Mono<ServerResponse> createActor(ServerRequest request) {
+        logger.info("POST /api/actors - Request: Create actor");
+        return request.bodyToMono(ActorRequest.class)
+                .flatMap(body -> Responses.validate(validator, body))
+                .flatMap(body -> {
+                    Actor actor = new Actor();
+                    actor.setFirstName(body.getFirstName());
+                    actor.setLastName(body.getLastName());
+                    actor.setLastUpdate(LocalDateTime.now());
+                    return repository.insertActor(actor).map(newId -> {
+                        actor.setActorId(newId);
+                        invalidationBus.invalidate(CacheInvalidationBus.ACTORS, newId);
+                        return ActorService.convertToResponse(actor);
+                    });
+                })
+                .flatMap(created -> {
+                    logger.info("POST /api/actors - Response: Actor created with ID {}", created.getActorId());
+                    return ServerResponse.status(HttpStatus.CREATED)
+                            .bodyValue(ApiResponse.success("Actor created successfully", created));
+                })
+                .onErrorResume(Responses.InvalidBodyException.class,
+                        e -> Responses.error(HttpStatus.BAD_REQUEST, e.getMessage()))
+                .onErrorResume(e -> {
+                    logger.error("POST /api/actors - Error creating actor", e);
+                    return Responses.error(HttpStatus.BAD_REQUEST, "Failed to create actor: " + e.getMessage());
+                });
+    }
+
+    public Mono<ServerResponse> updateActor(ServerRequest request) {
+        logger.info("PATCH /api/actors - Request: Update actor");
+        LocalDateTime expected;
+        try {
+            expected = ETags.parseIfMatch(request.headers().firstHeader(HttpHeaders.IF_MATCH));
+        } catch (PreconditionFailedException e) {
+            return Responses.preconditionFailed(e);
+        }
+        return request.bodyToMono(ActorUpdateRequest.class)
+                .flatMap(body -> Responses.validate(validator, body))
+                .flatMap(body -> {
+                    Actor actor = new Actor();
+                    actor.setActorId(body.getActorId());
+                    actor.setFirstName(body.getFirstName());
+                    actor.setLastName(body.getLastName());
+                    actor.setLastUpdate(LastUpdates.next(expected));
+                    return repository.updateActorById(body.getActorId(), actor, expected)
+                            .doOnNext(rows -> invalidateIfWritten(body.getActorId(), rows))
+                            .flatMap(rows -> rows > 0
+                                    ? ServerResponse.ok()
+                                            .eTag(ETags.of(actor.getLastUpdate()))
+                                            .bodyValue(ApiResponse.success("Actor updated successfully",
+                                                    ActorService.convertToResponse(actor)))
+                                    : notUpdated(body.getActorId(), expected));
+                })
+                .onErrorResume(Responses.InvalidBodyException.class,
+                        e -> Responses.error(HttpStatus.BAD_REQUEST, e.getMessage()));
+    }
+
+    public Mono<ServerResponse> deleteActor(ServerRequest request) {
+        Integer id = Responses.pathId(request);
+        if (id == null) {
+            return Responses.error(HttpStatus.BAD_REQUEST, "Invalid actor id: " + request.pathVariable("id"));
+        }
+        logger.info("DELETE /api/actors/{} - Request: Delete actor by ID", id);
+        return repository.deleteActorById(id)
+                .doOnNext(rows -> invalidateIfWritten(id, rows))
+                .flatMap(rows -> rows > 0
+                        ? ServerResponse.noContent().build()
+                        : Responses.error(HttpStatus.NOT_FOUND, "Actor not found with id: " + id));
+    }
+
+    // Evicts the servlet application's cached copy (see ReactiveCatalogConfig for the transport)
+    private void invalidateIfWritten(int id, long rows) {
+        if (rows > 0) {
+            invalidationBus.invalidate(CacheInvalidationBus.ACTORS, id);
+        }
+    }
+
+    // No row matched: 412 if the actor exists at another version, 404 if it is gone
+    private Mono<ServerResponse> notUpdated(int id, LocalDateTime expected) {
+        Mono<ServerResponse> notFound = Mono.defer(() ->
+                Responses.error(HttpStatus.NOT_FOUND, "Actor not found with id: " + id));
+        if (expected == null) {
+            return notFound;
+        }
+        return repository.findActorLastUpdate(id)
+                .flatMap(current -> Responses.preconditionFailed(new PreconditionFailedException(
+                        "Actor " + id + " was modified by another request", current)))
+                .switchIfEmpty(notFound);
+    }
+}
@@ -0,0 +1,166 @@
+package demo.reactive;
+
+import demo.cache.CacheInvalidationBus;
+import demo.controller.ETags;
+import demo.dto.ApiResponse;
+import demo.dto.FilmRequest;
+import demo.dto.FilmResponse;
+import demo.exception.PreconditionFailedException;
+import demo.model.Film;
+import demo.service.FilmService;
+import demo.service.LastUpdates;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+
+/**
+ * Film endpoints of the reactive stack, with the same paths, bodies and status codes as
+ * {@link demo.controller.FilmController}.
+ */
+public class FilmHandler {
+
+    private final ReactiveCatalogRepository repository;
+    private final Validator validator;
+    private final CacheInvalidationBus invalidationBus;
+    private final Logger logger = LoggerFactory.getLogger(FilmHandler.class);
+
+    public FilmHandler(ReactiveCatalogRepository repository, Validator validator,
+                        CacheInvalidationBus invalidationBus) {
+        this.repository = repository;
+        this.validator = validator;
+        this.invalidationBus = invalidationBus;
+    }
+
+    // Streams one JSON object per line for Accept: application/x-ndjson, so the first films are
+    // written while later rows are still being read; otherwise collects the usual ApiResponse
+    public Mono<ServerResponse> getAllFilms(ServerRequest request) {
+        logger.info("GET /api/films - Request: Get all films");
+        if (Responses.wantsNdjson(request)) {
+            return ServerResponse.ok()
+                    .contentType(MediaType.APPLICATION_NDJSON)
+                    .body(repository.findAllFilms().map(FilmService::convertToResponse), FilmResponse.class);
+        }
+        return repository.findAllFilms()
+                .map(FilmService::convertToResponse)
+                .collectList()
+                .flatMap(films -> {
+                    logger.info("GET /api/films - Response: Successfully retrieved {} films", films.size());
+                    return ServerResponse.ok().bodyValue(ApiResponse.success("Successfully retrieved all films", films));
+                });
+    }
+
+    public Mono<ServerResponse> getFilmById(ServerRequest request) {
+        Integer id = Responses.pathId(request);
+        if (id == null) {
+            return Responses.error(HttpStatus.BAD_REQUEST, "Invalid film id: " + request.pathVariable("id"));
+        }
+        logger.info("GET /api/films/{} - Request: Get film by ID", id);
+        return repository.findFilmById(id)
+                .map(FilmService::convertToResponse)
+                .flatMap(film -> ServerResponse.ok()
+                        .eTag(ETags.of(film.getLastUpdate()))
+                        .bodyValue(ApiResponse.success("Film found successfully", film)))
+                .switchIfEmpty(Mono.defer(() -> {
+                    logger.warn("GET /api/films/{} - Response: Film not found", id);
+                    return Responses.error(HttpStatus.NOT_FOUND, "Film not found with id: " + id);
+                }));
+    }
+
+    public Mono<ServerResponse> createFilm(ServerRequest request) {
+        logger.info("POST /api/films - Request: Create film");
+        return request.bodyToMono(FilmRequest.class)
+                .flatMap(body -> Responses.validate(validator, body))
+                .flatMap(body -> {
+                    Film film = FilmService.buildFilmFromRequest(body);
+                    film.setLastUpdate(LocalDateTime.now());
+                    return repository.insertFilm(film).map(newId -> {
+                        film.setFilmId(newId);
+                        invalidationBus.invalidate(CacheInvalidationBus.FILMS, newId);
+                        return FilmService.convertToResponse(film);
+                    });
+                })
+                .flatMap(created -> {
+                    logger.info("POST /api/films - Response: Film created with ID {}", created.getFilmId());
+                    return ServerResponse.status(HttpStatus.CREATED)
+                            .bodyValue(ApiResponse.success("Film created successfully", created));
+                })
+                .onErrorResume(Responses.InvalidBodyException.class,
+                        e -> Responses.error(HttpStatus.BAD_REQUEST, e.getMessage()))
+                .onErrorResume(e -> {
+                    logger.error("POST /api/films - Error creating film", e);
+                    return Responses.error(HttpStatus.BAD_REQUEST, "Failed to create film: " + e.getMessage());
+                });
+    }
+
+    public Mono<ServerResponse> updateFilm(ServerRequest request) {
+        Integer id = Responses.pathId(request);
+        if (id == null) {
+            return Responses.error(HttpStatus.BAD_REQUEST, "Invalid film id: " + request.pathVariable("id"));
+        }
+        logger.info("PUT /api/films/{} - Request: Update film", id);
+        LocalDateTime expected;
+        try {
+            expected = ETags.parseIfMatch(request.headers().firstHeader(HttpHeaders.IF_MATCH));
+        } catch (PreconditionFailedException e) {
+            return Responses.preconditionFailed(e);
+        }
+        return request.bodyToMono(FilmRequest.class)
+                .flatMap(body -> Responses.validate(validator, body))
+                .flatMap(body -> {
+                    Film film = FilmService.buildFilmFromRequest(body);
+                    film.setFilmId(id);
+                    film.setLastUpdate(LastUpdates.next(expected));
+                    return repository.updateFilmById(id, film, expected)
+                            .doOnNext(rows -> invalidateIfWritten(id, rows))
+                            .flatMap(rows -> rows > 0
+                                    ? ServerResponse.ok()
+                                            .eTag(ETags.of(film.getLastUpdate()))
+                                            .bodyValue(ApiResponse.success("Film updated successfully",
+                                                    FilmService.convertToResponse(film)))
+                                    : notUpdated(id, expected));
+                })
+                .onErrorResume(Responses.InvalidBodyException.class,
+                        e -> Responses.error(HttpStatus.BAD_REQUEST, e.getMessage()));
+    }
+
+    public Mono<ServerResponse> deleteFilm(ServerRequest request) {
+        Integer id = Responses.pathId(request);
+        if (id == null) {
+            return Responses.error(HttpStatus.BAD_REQUEST, "Invalid film id: " + request.pathVariable("id"));
+        }
+        logger.info("DELETE /api/films/{} - Request: Delete film", id);
+        return repository.deleteFilmById(id)
+                .doOnNext(rows -> invalidateIfWritten(id, rows))
+                .flatMap(rows -> rows > 0
+                        ? ServerResponse.noContent().build()
+                        : Responses.error(HttpStatus.NOT_FOUND, "Film not found with id: " + id));
+    }
+
+    // Evicts the servlet application's cached copy (see ReactiveCatalogConfig for the transport)
+    private void invalidateIfWritten(int id, long rows) {
+        if (rows > 0) {
+            invalidationBus.invalidate(CacheInvalidationBus.FILMS, id);
+        }
+    }
+
+    // No row matched: 412 if the film exists at another version, 404 if it is gone
+    private Mono<ServerResponse> notUpdated(int id, LocalDateTime expected) {
+        Mono<ServerResponse> notFound = Mono.defer(() ->
+                Responses.error(HttpStatus.NOT_FOUND, "Film not found with id: " + id));
+        if (expected == null) {
+            return notFound;
+        }
+        return repository.findFilmLastUpdate(id)
+                .flatMap(current -> Responses.preconditionFailed(new PreconditionFailedException(
+                        "Film " + id + " was modified by another request", current)))
+                .switchIfEmpty(notFound);
+    }
+}
@@ -0,0 +1,280 @@
+package demo.reactive;
+
+import demo.model.Actor;
+import demo.model.Film;
+import demo.model.Tombstone;
+import demo.repository.FilmColumns;
+import demo.service.LastUpdates;
+import io.r2dbc.spi.Readable;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.r2dbc.core.DatabaseClient.GenericExecuteSpec;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * R2DBC version of {@link demo.repository.RepositoryImpl}: same SQL, same columns, but rows are
+ * emitted as the driver decodes them and only as fast as the subscriber requests them.
+ */
+public class R2dbcCatalogRepository implements ReactiveCatalogRepository {
+
+    private static final String FILM_COLUMNS = """
+            film_id, title, description, release_year, language_id, original_language_id,
+            rental_duration, rental_rate, length, replacement_cost, rating, special_features, last_update
+            """;
+
+    private final DatabaseClient db;
+    private final TransactionalOperator tx;
+
+    public R2dbcCatalogRepository(DatabaseClient db, TransactionalOperator tx) {
+        this.db = db;
+        this.tx = tx;
+    }
+
+    // --------- Actor ---------
+
+    @Override
+    public Flux<Actor> findAllActors() {
+        return db.sql("SELECT actor_id, first_name, last_name, last_update FROM actor ORDER BY actor_id")
+                .map(R2dbcCatalogRepository::mapActor)
+                .all();
+    }
+
+    @Override
+    public Mono<Actor> findActorById(int id) {
+        return db.sql("SELECT actor_id, first_name, last_name, last_update FROM actor WHERE actor_id = :id")
+                .bind("id", id)
+                .map(R2dbcCatalogRepository::mapActor)
+                .one();
+    }
+
+    @Override
+    public Mono<Integer> insertActor(Actor actor) {
+        return db.sql("INSERT INTO actor(first_name, last_name) VALUES(:firstName, :lastName)")
+                .bind("firstName", actor.getFirstName())
+                .bind("lastName", actor.getLastName())
+                .filter(statement -> statement.returnGeneratedValues("actor_id"))
+                .map(row -> toInt(row.get("actor_id")))
+                .one();
+    }
+
+    // Stores exactly actor.getLastUpdate(), so nothing is read back (see RepositoryImpl.updateActorById)
+    @Override
+    public Mono<Long> updateActorById(int id, Actor actor, LocalDateTime expectedLastUpdate) {
+        Mono<Long> update = updateActor(id, actor, expectedLastUpdate);
+        if (expectedLastUpdate != null) {
+            return update;
+        }
+        return nextVersion(update, actor::setLastUpdate, findActorLastUpdate(id),
+                current -> updateActor(id, actor, current));
+    }
+
+    private Mono<Long> updateActor(int id, Actor actor, LocalDateTime expectedLastUpdate) {
+        String sql = "UPDATE actor SET first_name = :firstName, last_name = :lastName, last_update = :lastUpdate"
+                + " WHERE actor_id = :id AND " + versionCondition(expectedLastUpdate);
+        GenericExecuteSpec spec = db.sql(sql)
+                .bind("firstName", actor.getFirstName())
+                .bind("lastName", actor.getLastName())
+                .bind("lastUpdate", actor.getLastUpdate())
+                .bind("id", id);
+        return bindVersionCondition(spec, actor.getLastUpdate(), expectedLastUpdate).fetch().rowsUpdated();
+    }
+
+    @Override
+    public Mono<LocalDateTime> findActorLastUpdate(int id) {
+        return db.sql("SELECT last_update FROM actor WHERE actor_id = :id")
+                .bind("id", id)
+                .map(row -> row.get("last_update", LocalDateTime.class))
+                .one();
+    }
+
+    @Override
+    public Mono<Long> deleteActorById(int id) {
+        return deleteWithTombstone("DELETE FROM actor WHERE actor_id = :id", Tombstone.ACTOR, id);
+    }
+
+    // --------- Film ---------
+
+    @Override
+    public Flux<Film> findAllFilms() {
+        return db.sql("SELECT " + FILM_COLUMNS + " FROM film ORDER BY film_id")
+                .map(R2dbcCatalogRepository::mapFilm)
+                .all();
+    }
+
+    @Override
+    public Mono<Film> findFilmById(int id) {
+        return db.sql("SELECT " + FILM_COLUMNS + " FROM film WHERE film_id = :id")
+                .bind("id", id)
+                .map(R2dbcCatalogRepository::mapFilm)
+                .one();
+    }
+
+    @Override
+    public Mono<Integer> insertFilm(Film film) {
+        String sql = """
+            INSERT INTO film
+            (title, description, release_year, language_id, original_language_id,
+             rental_duration, rental_rate, length, replacement_cost, rating, special_features)
+            VALUES (:title, :description, :releaseYear, :languageId, :originalLanguageId,
+                    :rentalDuration, :rentalRate, :length, :replacementCost, :rating, :specialFeatures)
+            """;
+        return bindFilm(db.sql(sql), film)
+                .filter(statement -> statement.returnGeneratedValues("film_id"))
+                .map(row -> toInt(row.get("film_id")))
+                .one();
+    }
+
+    @Override
+    public Mono<Long> updateFilmById(int id, Film film, LocalDateTime expectedLastUpdate) {
+        Mono<Long> update = updateFilm(id, film, expectedLastUpdate);
+        if (expectedLastUpdate != null) {
+            return update;
+        }
+        return nextVersion(update, film::setLastUpdate, findFilmLastUpdate(id),
+                current -> updateFilm(id, film, current));
+    }
+
+    private Mono<Long> updateFilm(int id, Film film, LocalDateTime expectedLastUpdate) {
+        String sql = """
+            UPDATE film
+            SET title = :title,
+                description = :description,
+                release_year = :releaseYear,
+                language_id = :languageId,
+                original_language_id = :originalLanguageId,
+                rental_duration = :rentalDuration,
+                rental_rate = :rentalRate,
+                length = :length,
+                replacement_cost = :replacementCost,
+                rating = :rating,
+                special_features = :specialFeatures,
+                last_update = :lastUpdate
+            WHERE film_id = :id
+            """ + "AND " + versionCondition(expectedLastUpdate);
+        GenericExecuteSpec spec = bindFilm(db.sql(sql), film)
+                .bind("lastUpdate", film.getLastUpdate())
+                .bind("id", id);
+        return bindVersionCondition(spec, film.getLastUpdate(), expectedLastUpdate).fetch().rowsUpdated();
+    }
+
+    @Override
+    public Mono<LocalDateTime> findFilmLastUpdate(int id) {
+        return db.sql("SELECT last_update FROM film WHERE film_id = :id")
+                .bind("id", id)
+                .map(row -> row.get("last_update", LocalDateTime.class))
+                .one();
+    }
+
+    @Override
+    public Mono<Long> deleteFilmById(int id) {
+        return deleteWithTombstone("DELETE FROM film WHERE film_id = :id", Tombstone.FILM, id);
+    }
+
+    // --------- Helpers ---------
+
+    // Same tombstone as RepositoryImpl, so the change feed also sees deletes made through this stack
+    private Mono<Long> deleteWithTombstone(String sql, String entityType, int id) {
+        return db.sql(sql)
+                .bind("id", id)
+                .fetch()
+                .rowsUpdated()
+                .flatMap(rows -> rows == 0 ? Mono.just(rows) : db.sql(
+                                "INSERT INTO deleted_entity(entity_type, entity_id, deleted_at)"
+                                        + " VALUES(:type, :id, CURRENT_TIMESTAMP(6))")
+                        .bind("type", entityType)
+                        .bind("id", id)
+                        .fetch()
+                        .rowsUpdated()
+                        .thenReturn(rows))
+                .as(tx::transactional);
+    }
+
+    // Without an expected version the update only applies while it moves the row forward
+    private static String versionCondition(LocalDateTime expectedLastUpdate) {
+        return expectedLastUpdate == null ? "last_update < :floor" : "last_update = :expected";
+    }
+
+    private static GenericExecuteSpec bindVersionCondition(GenericExecuteSpec spec, LocalDateTime lastUpdate,
+                                                           LocalDateTime expectedLastUpdate) {
+        return expectedLastUpdate == null ? spec.bind("floor", lastUpdate) : spec.bind("expected", expectedLastUpdate);
+    }
+
+    // Same fallback as RepositoryImpl.nextVersion: only a row already at or past the bound version is
+    // read, then updated conditionally to LastUpdates.next(current)
+    private static Mono<Long> nextVersion(Mono<Long> update, Consumer<LocalDateTime> setVersion,
+                                          Mono<LocalDateTime> currentVersion,
+                                          Function<LocalDateTime, Mono<Long>> updateIfUnchanged) {
+        return update.flatMap(rows -> rows > 0 ? Mono.just(rows) : currentVersion
+                .flatMap(current -> {
+                    setVersion.accept(LastUpdates.next(current));
+                    return nextVersion(updateIfUnchanged.apply(current), setVersion, currentVersion, updateIfUnchanged);
+                })
+                .defaultIfEmpty(0L));
+    }
+
+    private static GenericExecuteSpec bindFilm(GenericExecuteSpec spec, Film film) {
+        spec = spec.bind("title", film.getTitle());
+        spec = bindNullable(spec, "description", film.getDescription(), String.class);
+        spec = bindNullable(spec, "releaseYear", film.getReleaseYear(), Short.class);
+        spec = bindNullable(spec, "languageId", film.getLanguageId(), Short.class);
+        spec = bindNullable(spec, "originalLanguageId", film.getOriginalLanguageId(), Short.class);
+        spec = bindNullable(spec, "rentalDuration", film.getRentalDuration(), Short.class);
+        spec = spec.bind("rentalRate", BigDecimal.valueOf(film.getRentalRate()));
+        spec = bindNullable(spec, "length", film.getLength(), Integer.class);
+        spec = spec.bind("replacementCost", BigDecimal.valueOf(film.getReplacementCost()));
+        spec = spec.bind("rating", film.getRating() == null ? "G" : film.getRating().getLabel());
+        return bindNullable(spec, "specialFeatures", FilmColumns.specialFeaturesToDb(film.getSpecialFeatures()), String.class);
+    }
+
+    private static <T> GenericExecuteSpec bindNullable(GenericExecuteSpec spec, String name, T value, Class<T> type) {
+        return value == null ? spec.bindNull(name, type) : spec.bind(name, value);
+    }
+
+    private static Actor mapActor(Readable row) {
+        Actor a = new Actor();
+        a.setActorId(toInt(row.get("actor_id")));
+        a.setFirstName(row.get("first_name", String.class));
+        a.setLastName(row.get("last_name", String.class));
+        a.setLastUpdate(row.get("last_update", LocalDateTime.class));
+        return a;
+    }
+
+    // Numeric columns are read as Number because drivers pick different Java types
+    // (e.g. YEAR and TINYINT UNSIGNED come back as Short from MySQL, Integer from H2)
+    private static Film mapFilm(Readable row) {
+        Film f = new Film();
+        f.setFilmId(toInt(row.get("film_id")));
+        f.setTitle(row.get("title", String.class));
+        f.setDescription(row.get("description", String.class));
+
+        Number ry = (Number) row.get("release_year");
+        f.setReleaseYear(ry == null ? 0 : ry.shortValue());
+
+        f.setLanguageId(((Number) row.get("language_id")).shortValue());
+
+        Number oly = (Number) row.get("original_language_id");
+        f.setOriginalLanguageId(oly == null ? (short) 0 : oly.shortValue());
+
+        f.setRentalDuration(((Number) row.get("rental_duration")).shortValue());
+        f.setRentalRate(((Number) row.get("rental_rate")).doubleValue());
+
+        Number len = (Number) row.get("length");
+        f.setLength(len == null ? 0 : len.intValue());
+
+        f.setReplacementCost(((Number) row.get("replacement_cost")).doubleValue());
+        f.setRating(FilmColumns.mapRatingFromDb(row.get("rating", String.class)));
+        f.setSpecialFeatures(FilmColumns.parseSpecialFeatures(row.get("special_features", String.class)));
+        f.setLastUpdate(row.get("last_update", LocalDateTime.class));
+        return f;
+    }
+
+    private static int toInt(Object value) {
+        return ((Number) value).intValue();
+    }
+}
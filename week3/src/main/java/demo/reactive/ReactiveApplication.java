@@ -0,0 +1,31 @@
+package demo.reactive;
+
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.annotation.Profile;
+
+/**
+ * Non-blocking variant of the film/actor API: WebFlux functional routes over R2DBC, on Netty.
+ * Runs next to the servlet application ({@link demo.MainApplication}) against the same database.
+ *
+ * The 'reactive' profile keeps this class and {@link ReactiveCatalogConfig} out of the servlet
+ * application, whose component scan covers this package too.
+ *
+ * Writes made here evict the servlet application's by-id caches only when both run with
+ * cache.invalidation.transport=multicast. They never reach the servlet application's SSE
+ * subscribers (GET /api/events), which are fed by in-process events; those clients see such
+ * changes through the change feed (GET /api/films/changes, /api/actors/changes) instead.
+ */
+@Profile("reactive")
+@SpringBootApplication
+public class ReactiveApplication {
+
+	public static void main(String[] args) {
+		new SpringApplicationBuilder(ReactiveApplication.class)
+				.web(WebApplicationType.REACTIVE)
+				.profiles("reactive")
+				.run(args);
+	}
+
+}
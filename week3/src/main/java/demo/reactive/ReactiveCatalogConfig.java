@@ -0,0 +1,88 @@
+package demo.reactive;
+
+import demo.cache.CacheInvalidationBus;
+import demo.cache.MulticastInvalidationBus;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cache.support.NoOpCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.transaction.ReactiveTransactionManager;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.ServerResponse;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+
+import static org.springframework.web.reactive.function.server.RouterFunctions.route;
+
+@Configuration
+@Profile("reactive")
+public class ReactiveCatalogConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReactiveCatalogConfig.class);
+
+    // This stack caches nothing itself, so it only sends invalidations: with transport=multicast
+    // they reach the servlet nodes' by-id caches the same way their own writes do
+    @Bean
+    @ConditionalOnProperty(name = "cache.invalidation.transport", havingValue = "multicast")
+    public CacheInvalidationBus multicastInvalidationBus(
+            @Value("${cache.invalidation.multicast.group:239.1.2.3}") String group,
+            @Value("${cache.invalidation.multicast.port:4446}") int port,
+            @Value("${cache.invalidation.multicast.ttl:1}") int ttl,
+            @Value("${cache.invalidation.coalesce-ms:50}") long coalesceMs) throws UnknownHostException {
+        return new MulticastInvalidationBus(new NoOpCacheManager(), InetAddress.getByName(group), port, ttl, coalesceMs);
+    }
+
+    // With loopback there is no one to tell: servlet nodes keep serving what they cached until it
+    // expires (spring.cache.caffeine.spec, 60s by default)
+    @Bean
+    @ConditionalOnProperty(name = "cache.invalidation.transport", havingValue = "loopback", matchIfMissing = true)
+    public CacheInvalidationBus localOnlyInvalidationBus() {
+        logger.warn("cache.invalidation.transport=loopback: writes through the reactive stack are not evicted "
+                + "from the servlet application's caches; use multicast on both to keep them consistent");
+        return (cacheName, id) -> { };
+    }
+
+    @Bean
+    public ReactiveCatalogRepository reactiveCatalogRepository(DatabaseClient databaseClient,
+                                                               ReactiveTransactionManager transactionManager) {
+        return new R2dbcCatalogRepository(databaseClient, TransactionalOperator.create(transactionManager));
+    }
+
+    @Bean
+    public FilmHandler filmHandler(ReactiveCatalogRepository repository, Validator validator,
+                                   CacheInvalidationBus invalidationBus) {
+        return new FilmHandler(repository, validator, invalidationBus);
+    }
+
+    @Bean
+    public ActorHandler actorHandler(ReactiveCatalogRepository repository, Validator validator,
+                                     CacheInvalidationBus invalidationBus) {
+        return new ActorHandler(repository, validator, invalidationBus);
+    }
+
+    @Bean
+    public RouterFunction<ServerResponse> catalogRoutes(FilmHandler films, ActorHandler actors) {
+        return route()
+                .path("/api/films", builder -> builder
+                        .GET("", films::getAllFilms)
+                        .GET("/{id}", films::getFilmById)
+                        .POST("", films::createFilm)
+                        .PUT("/{id}", films::updateFilm)
+                        .DELETE("/{id}", films::deleteFilm))
+                .path("/api/actors", builder -> builder
+                        .GET("", actors::getAllActors)
+                        .GET("/{id}", actors::getActorById)
+                        .POST("", actors::createActor)
+                        .PATCH("", actors::updateActor)
+                        .DELETE("/{id}", actors::deleteActor))
+                .build();
+    }
+}
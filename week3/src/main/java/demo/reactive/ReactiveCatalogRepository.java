@@ -0,0 +1,30 @@
+package demo.reactive;
+
+import demo.model.Actor;
+import demo.model.Film;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+
+/**
+ * Reactive counterpart of {@link demo.repository.IRepository}'s CRUD methods. Update methods take
+ * the expected last_update for If-Match, or {@code null} for an unconditional update.
+ */
+public interface ReactiveCatalogRepository {
+    // actor
+    public Flux<Actor> findAllActors();
+    public Mono<Actor> findActorById(int id);
+    public Mono<Integer> insertActor(Actor actor);
+    public Mono<Long> updateActorById(int id, Actor actor, LocalDateTime expectedLastUpdate);
+    public Mono<LocalDateTime> findActorLastUpdate(int id);
+    public Mono<Long> deleteActorById(int id);
+
+    // film
+    public Flux<Film> findAllFilms();
+    public Mono<Film> findFilmById(int id);
+    public Mono<Integer> insertFilm(Film film);
+    public Mono<Long> updateFilmById(int id, Film film, LocalDateTime expectedLastUpdate);
+    public Mono<LocalDateTime> findFilmLastUpdate(int id);
+    public Mono<Long> deleteFilmById(int id);
+}
@@ -0,0 +1,60 @@
+package demo.reactive;
+
+import demo.controller.ETags;
+import demo.dto.ApiResponse;
+import demo.exception.PreconditionFailedException;
+import jakarta.validation.Validator;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Mono;
+
+/**
+ * What {@link demo.exception.GlobalExceptionHandler} and @Valid do for the annotated controllers,
+ * for the functional routes.
+ */
+final class Responses {
+
+    private Responses() {
+    }
+
+    // Only an explicit application/x-ndjson streams; */* and application/json get the ApiResponse list
+    static boolean wantsNdjson(ServerRequest request) {
+        return request.headers().accept().stream()
+                .anyMatch(type -> type.equalsTypeAndSubtype(MediaType.APPLICATION_NDJSON));
+    }
+
+    static Integer pathId(ServerRequest request) {
+        try {
+            return Integer.valueOf(request.pathVariable("id"));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    static <T> Mono<T> validate(Validator validator, T body) {
+        return validator.validate(body).isEmpty() ? Mono.just(body) : Mono.error(new InvalidBodyException());
+    }
+
+    static Mono<ServerResponse> error(HttpStatus status, String message) {
+        return ServerResponse.status(status).bodyValue(ApiResponse.error(message));
+    }
+
+    static Mono<ServerResponse> preconditionFailed(PreconditionFailedException ex) {
+        ServerResponse.BodyBuilder builder = ServerResponse.status(HttpStatus.PRECONDITION_FAILED);
+        if (ex.getCurrentLastUpdate() != null) {
+            builder.eTag(ETags.of(ex.getCurrentLastUpdate()));
+        }
+        return builder.bodyValue(ApiResponse.error(ex.getMessage()));
+    }
+
+    /**
+     * A request body that failed bean validation; answered with 400 "Validation failed".
+     */
+    static final class InvalidBodyException extends RuntimeException {
+        InvalidBodyException() {
+            super("Validation failed", null, false, false);
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package demo.repository;
+
+import demo.model.Film;
+
+import java.util.LinkedHashSet;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Conversions between {@link Film} enums and sakila's rating ENUM / special_features SET columns,
+ * shared by the JDBC and R2DBC repositories.
+ */
+public final class FilmColumns {
+
+    private FilmColumns() {
+    }
+
+    public static Film.Rating mapRatingFromDb(String label) {
+        if (label == null) return Film.Rating.G;
+        switch (label) {
+            case "G": return Film.Rating.G;
+            case "PG": return Film.Rating.PG;
+            case "PG-13": return Film.Rating.PG_13;
+            case "R": return Film.Rating.R;
+            case "NC-17": return Film.Rating.NC_17;
+            default: return Film.Rating.G; // fallback
+        }
+    }
+
+    public static Set<Film.SpecialFeature> parseSpecialFeatures(String csv) {
+        if (csv == null || csv.isBlank()) return null; // tương ứng NULL trong DB
+        String[] parts = csv.split("\\s*,\\s*");
+        Set<Film.SpecialFeature> set = new LinkedHashSet<>();
+        for (String p : parts) {
+            switch (p) {
+                case "Trailers": set.add(Film.SpecialFeature.TRAILERS); break;
+                case "Commentaries": set.add(Film.SpecialFeature.COMMENTARIES); break;
+                case "Deleted Scenes": set.add(Film.SpecialFeature.DELETED_SCENES); break;
+                case "Behind the Scenes": set.add(Film.SpecialFeature.BEHIND_THE_SCENES); break;
+                default: /* ignore unknown */ break;
+            }
+        }
+        return set.isEmpty() ? null : set;
+    }
+
+    public static String specialFeaturesToDb(Set<Film.SpecialFeature> features) {
+        if (features == null || features.isEmpty()) return null;
+        return features.stream()
+                .map(f -> {
+                    switch (f) {
+                        case TRAILERS: return "Trailers";
+                        case COMMENTARIES: return "Commentaries";
+                        case DELETED_SCENES: return "Deleted Scenes";
+                        case BEHIND_THE_SCENES: return "Behind the Scenes";
+                        default: return null;
+                    }
+                })
+                .filter(Objects::nonNull)
+                .collect(Collectors.joining(","));
+    }
+}
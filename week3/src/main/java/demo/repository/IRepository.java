@@ -1,7 +1,11 @@
 package demo.repository;
 
+import demo.dto.ActorPatchRequest;
+import demo.dto.FilmPatchRequest;
 import demo.model.Actor;
 import demo.model.Film;
+import demo.model.Tombstone;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -10,14 +14,28 @@ public interface IRepository {
     // actor
     public List<Actor> findAllActors();
     public Optional<Actor> findActorById(int id);
+    public List<Actor> findActorsByIds(List<Integer> ids);
     public int insertActor(Actor actor);
     public int updateActorById(int id, Actor actor);
+    public int updateActorByIdIfUnchanged(int id, Actor actor, LocalDateTime expectedLastUpdate);
+    public Optional<LocalDateTime> findActorLastUpdate(int id);
+    public int[] deleteActorsByIds(List<Integer> ids);
+    public int[] patchActors(List<ActorPatchRequest> patches, LocalDateTime lastUpdate);
     public int deleteActorById(int id);
+    public List<Actor> findActorsChangedSince(LocalDateTime since, int afterId, LocalDateTime until, int limit);
+    public List<Tombstone> findActorTombstonesSince(LocalDateTime since, int afterId, LocalDateTime until, int limit);
 
     // film
     public List<Film> findAllFilms();
     public Optional<Film> findFilmById(int id);
+    public List<Film> findFilmsByIds(List<Integer> ids);
     public int insertFilm(Film film);
     public int updateFilmById(int id, Film film);
+    public int updateFilmByIdIfUnchanged(int id, Film film, LocalDateTime expectedLastUpdate);
+    public Optional<LocalDateTime> findFilmLastUpdate(int id);
+    public int[] deleteFilmsByIds(List<Integer> ids);
+    public int[] patchFilms(List<FilmPatchRequest> patches, LocalDateTime lastUpdate);
     public int deleteFilmById(int id);
+    public List<Film> findFilmsChangedSince(LocalDateTime since, int afterId, LocalDateTime until, int limit);
+    public List<Tombstone> findFilmTombstonesSince(LocalDateTime since, int afterId, LocalDateTime until, int limit);
 }
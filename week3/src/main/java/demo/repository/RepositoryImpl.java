@@ -1,18 +1,27 @@
 package demo.repository;
 
+import demo.dto.ActorPatchRequest;
+import demo.dto.FilmPatchRequest;
 import demo.model.*;
+import demo.service.LastUpdates;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.jdbc.core.RowMapper;
 import org.springframework.jdbc.support.GeneratedKeyHolder;
 import org.springframework.jdbc.support.KeyHolder;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.sql.PreparedStatement;
+import java.sql.SQLException;
 import java.sql.Statement;
+import java.sql.Timestamp;
 import java.sql.Types;
 import java.time.LocalDateTime;
 import java.util.*;
-import java.util.stream.Collectors;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.function.ToIntFunction;
 
 @Repository
 public class RepositoryImpl implements IRepository {
@@ -22,6 +31,11 @@ public class RepositoryImpl implements IRepository {
         this.jdbc = jdbc;
     }
 
+    // Bulk patches: the new last_update is at least the caller's value and always past the row's
+    // current one, so every write changes the ETag: two writes in the same second, or a node whose
+    // clock is behind the one that wrote last, still produce a new version
+    private static final String NEXT_VERSION = "GREATEST(?, TIMESTAMPADD(SECOND, 1, last_update))";
+
     private static final RowMapper<Actor> ACTOR_ROW_MAPPER = (rs, rowNum) -> {
         Actor a = new Actor();
         a.setActorId(rs.getInt("actor_id"));
@@ -45,6 +59,17 @@ public class RepositoryImpl implements IRepository {
         return list.isEmpty() ? Optional.empty() : Optional.of(list.getFirst());
     }
 
+    // One round trip for a bulk chunk; missing IDs are simply absent from the result
+    @Override
+    public List<Actor> findActorsByIds(List<Integer> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        String sql = "SELECT actor_id, first_name, last_name, last_update FROM actor WHERE actor_id IN ("
+                + placeholders(ids.size()) + ")";
+        return jdbc.query(sql, ACTOR_ROW_MAPPER, ids.toArray());
+    }
+
     @Override
     public int insertActor(Actor actor) {
         String sql = "INSERT INTO actor(first_name, last_name) VALUES(?, ?)";
@@ -59,16 +84,114 @@ public class RepositoryImpl implements IRepository {
         return key != null ? key.intValue() : 0;
     }
 
+    // Stores exactly actor.getLastUpdate(), so the caller already holds the new version and nothing is
+    // read back. See nextVersion for a row that is already at or past it.
     @Override
     public int updateActorById(int id, Actor actor) {
-        String sql = "UPDATE actor SET first_name = ?, last_name = ? WHERE actor_id = ?";
-        return jdbc.update(sql, actor.getFirstName(), actor.getLastName(), id);
+        return nextVersion(updateActor(id, actor, null), actor::setLastUpdate,
+                () -> findActorLastUpdate(id), current -> updateActor(id, actor, current));
+    }
+
+    // The caller passes LastUpdates.next(expectedLastUpdate) in actor, which is what gets stored
+    @Override
+    public int updateActorByIdIfUnchanged(int id, Actor actor, LocalDateTime expectedLastUpdate) {
+        return updateActor(id, actor, expectedLastUpdate);
+    }
+
+    // Without an expected version the update only applies while it moves the row forward
+    private int updateActor(int id, Actor actor, LocalDateTime expectedLastUpdate) {
+        String sql = "UPDATE actor SET first_name = ?, last_name = ?, last_update = ? WHERE actor_id = ? AND "
+                + (expectedLastUpdate == null ? "last_update < ?" : "last_update = ?");
+        Timestamp version = Timestamp.valueOf(actor.getLastUpdate());
+        return jdbc.update(sql, actor.getFirstName(), actor.getLastName(), version, id,
+                expectedLastUpdate == null ? version : Timestamp.valueOf(expectedLastUpdate));
+    }
+
+    @Override
+    public Optional<LocalDateTime> findActorLastUpdate(int id) {
+        String sql = "SELECT last_update FROM actor WHERE actor_id = ?";
+        List<LocalDateTime> list = jdbc.queryForList(sql, LocalDateTime.class, id);
+        return list.isEmpty() ? Optional.empty() : Optional.ofNullable(list.getFirst());
+    }
+
+    // One JDBC batch; the returned counts line up with ids (0 = not found)
+    @Override
+    @Transactional
+    public int[] deleteActorsByIds(List<Integer> ids) {
+        String sql = "DELETE FROM actor WHERE actor_id = ?";
+        int[] counts = jdbc.batchUpdate(sql, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                ps.setInt(1, ids.get(i));
+            }
+
+            @Override
+            public int getBatchSize() {
+                return ids.size();
+            }
+        });
+        insertTombstones(Tombstone.ACTOR, ids, counts);
+        return counts;
+    }
+
+    // COALESCE keeps one statement shape for every row, so rows patching different columns share a batch;
+    // lastUpdate is only a floor, each row still moves past its own current version
+    @Override
+    public int[] patchActors(List<ActorPatchRequest> patches, LocalDateTime lastUpdate) {
+        String sql = """
+            UPDATE actor
+            SET first_name = COALESCE(?, first_name),
+                last_name = COALESCE(?, last_name),
+                last_update = %s
+            WHERE actor_id = ?
+            """.formatted(NEXT_VERSION);
+        Timestamp version = Timestamp.valueOf(lastUpdate);
+        return jdbc.batchUpdate(sql, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                ActorPatchRequest patch = patches.get(i);
+                ps.setObject(1, patch.getFirstName(), Types.VARCHAR);
+                ps.setObject(2, patch.getLastName(), Types.VARCHAR);
+                ps.setTimestamp(3, version);
+                ps.setInt(4, patch.getActorId());
+            }
+
+            @Override
+            public int getBatchSize() {
+                return patches.size();
+            }
+        });
     }
 
     @Override
+    @Transactional
     public int deleteActorById(int id) {
         String sql = "DELETE FROM actor WHERE actor_id = ?";
-        return jdbc.update(sql, id);
+        int rows = jdbc.update(sql, id);
+        if (rows > 0) {
+            insertTombstone(Tombstone.ACTOR, id);
+        }
+        return rows;
+    }
+
+    // Keyset page over (last_update, actor_id), served by idx_actor_last_update
+    @Override
+    public List<Actor> findActorsChangedSince(LocalDateTime since, int afterId, LocalDateTime until, int limit) {
+        String sql = """
+            SELECT actor_id, first_name, last_name, last_update
+            FROM actor
+            WHERE last_update >= ? AND last_update <= ?
+              AND (last_update > ? OR actor_id > ?)
+            ORDER BY last_update, actor_id
+            LIMIT ?
+            """;
+        Timestamp from = Timestamp.valueOf(since);
+        return jdbc.query(sql, ACTOR_ROW_MAPPER, from, Timestamp.valueOf(until), from, afterId, limit);
+    }
+
+    @Override
+    public List<Tombstone> findActorTombstonesSince(LocalDateTime since, int afterId, LocalDateTime until, int limit) {
+        return findTombstonesSince(Tombstone.ACTOR, since, afterId, until, limit);
     }
 
     private static final RowMapper<Film> FILM_ROW_MAPPER = (rs, rowNum) -> {
@@ -94,10 +217,10 @@ public class RepositoryImpl implements IRepository {
         f.setReplacementCost(rs.getDouble("replacement_cost"));
 
         String ratingStr = rs.getString("rating"); // e.g. "PG-13"
-        f.setRating(mapRatingFromDb(ratingStr));
+        f.setRating(FilmColumns.mapRatingFromDb(ratingStr));
 
         String features = rs.getString("special_features"); // e.g. "Trailers,Deleted Scenes"
-        f.setSpecialFeatures(parseSpecialFeatures(features));
+        f.setSpecialFeatures(FilmColumns.parseSpecialFeatures(features));
 
         LocalDateTime lu = rs.getObject("last_update", LocalDateTime.class);
         f.setLastUpdate(lu);
@@ -127,6 +250,20 @@ public class RepositoryImpl implements IRepository {
         return list.isEmpty() ? Optional.empty() : Optional.of(list.getFirst());
     }
 
+    @Override
+    public List<Film> findFilmsByIds(List<Integer> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        String sql = """
+            SELECT film_id, title, description, release_year, language_id, original_language_id,
+                   rental_duration, rental_rate, length, replacement_cost, rating, special_features, last_update
+            FROM film
+            WHERE film_id IN (%s)
+            """.formatted(placeholders(ids.size()));
+        return jdbc.query(sql, FILM_ROW_MAPPER, ids.toArray());
+    }
+
     @Override
     public int insertFilm(Film film) {
         String sql = """
@@ -172,7 +309,7 @@ public class RepositoryImpl implements IRepository {
             ps.setString(i++, film.getRating() == null ? "G" : film.getRating().getLabel());
 
             // special_features as CSV by label
-            String features = specialFeaturesToDb(film.getSpecialFeatures());
+            String features = FilmColumns.specialFeaturesToDb(film.getSpecialFeatures());
             if (features == null) {
                 ps.setNull(i++, Types.VARCHAR);
             } else {
@@ -186,8 +323,92 @@ public class RepositoryImpl implements IRepository {
         return key != null ? key.intValue() : 0;
     }
 
+    // Stores exactly film.getLastUpdate(), like updateActorById
     @Override
     public int updateFilmById(int id, Film film) {
+        return nextVersion(updateFilm(id, film, null), film::setLastUpdate,
+                () -> findFilmLastUpdate(id), current -> updateFilm(id, film, current));
+    }
+
+    @Override
+    public int updateFilmByIdIfUnchanged(int id, Film film, LocalDateTime expectedLastUpdate) {
+        return updateFilm(id, film, expectedLastUpdate);
+    }
+
+    @Override
+    public Optional<LocalDateTime> findFilmLastUpdate(int id) {
+        String sql = "SELECT last_update FROM film WHERE film_id = ?";
+        List<LocalDateTime> list = jdbc.queryForList(sql, LocalDateTime.class, id);
+        return list.isEmpty() ? Optional.empty() : Optional.ofNullable(list.getFirst());
+    }
+
+    @Override
+    @Transactional
+    public int[] deleteFilmsByIds(List<Integer> ids) {
+        String sql = "DELETE FROM film WHERE film_id = ?";
+        int[] counts = jdbc.batchUpdate(sql, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                ps.setInt(1, ids.get(i));
+            }
+
+            @Override
+            public int getBatchSize() {
+                return ids.size();
+            }
+        });
+        insertTombstones(Tombstone.FILM, ids, counts);
+        return counts;
+    }
+
+    // Same shape as patchActors; lastUpdate is a floor
+    @Override
+    public int[] patchFilms(List<FilmPatchRequest> patches, LocalDateTime lastUpdate) {
+        String sql = """
+            UPDATE film
+            SET title = COALESCE(?, title),
+                description = COALESCE(?, description),
+                release_year = COALESCE(?, release_year),
+                language_id = COALESCE(?, language_id),
+                rental_duration = COALESCE(?, rental_duration),
+                rental_rate = COALESCE(?, rental_rate),
+                length = COALESCE(?, length),
+                replacement_cost = COALESCE(?, replacement_cost),
+                rating = COALESCE(?, rating),
+                special_features = COALESCE(?, special_features),
+                last_update = %s
+            WHERE film_id = ?
+            """.formatted(NEXT_VERSION);
+        Timestamp version = Timestamp.valueOf(lastUpdate);
+        return jdbc.batchUpdate(sql, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                FilmPatchRequest patch = patches.get(i);
+                int p = 1;
+                ps.setObject(p++, patch.getTitle(), Types.VARCHAR);
+                ps.setObject(p++, patch.getDescription(), Types.VARCHAR);
+                ps.setObject(p++, patch.getReleaseYear(), Types.SMALLINT);
+                ps.setObject(p++, patch.getLanguageId(), Types.TINYINT);
+                ps.setObject(p++, patch.getRentalDuration(), Types.TINYINT);
+                ps.setObject(p++, patch.getRentalRate(), Types.DECIMAL);
+                ps.setObject(p++, patch.getLength(), Types.SMALLINT);
+                ps.setObject(p++, patch.getReplacementCost(), Types.DECIMAL);
+                ps.setObject(p++, patch.getRating() == null ? null : patch.getRating().getLabel(), Types.VARCHAR);
+                ps.setObject(p++, FilmColumns.specialFeaturesToDb(patch.getSpecialFeatures()), Types.VARCHAR);
+                ps.setTimestamp(p++, version);
+                ps.setInt(p, patch.getFilmId());
+            }
+
+            @Override
+            public int getBatchSize() {
+                return patches.size();
+            }
+        });
+    }
+
+    // With expectedLastUpdate set, the row is only updated if nobody changed it in the meantime, and
+    // the new version is film.getLastUpdate() (see updateActorByIdIfUnchanged)
+    private int updateFilm(int id, Film film, LocalDateTime expectedLastUpdate) {
         String sql = """
             UPDATE film
             SET title = ?,
@@ -200,9 +421,10 @@ public class RepositoryImpl implements IRepository {
                 length = ?,
                 replacement_cost = ?,
                 rating = ?,
-                special_features = ?
+                special_features = ?,
+                last_update = ?
             WHERE film_id = ?
-            """;
+            """ + (expectedLastUpdate == null ? " AND last_update < ?" : " AND last_update = ?");
 
         return jdbc.update(con -> {
             PreparedStatement ps = con.prepareStatement(sql);
@@ -237,65 +459,118 @@ public class RepositoryImpl implements IRepository {
 
             ps.setString(i++, film.getRating() == null ? "G" : film.getRating().getLabel());
 
-            String features = specialFeaturesToDb(film.getSpecialFeatures());
+            String features = FilmColumns.specialFeaturesToDb(film.getSpecialFeatures());
             if (features == null) {
                 ps.setNull(i++, Types.VARCHAR);
             } else {
                 ps.setString(i++, features);
             }
 
-            ps.setInt(i, id);
+            Timestamp version = Timestamp.valueOf(film.getLastUpdate());
+            ps.setTimestamp(i++, version);
+            ps.setInt(i++, id);
+            ps.setTimestamp(i, expectedLastUpdate == null ? version : Timestamp.valueOf(expectedLastUpdate));
             return ps;
         });
     }
 
     @Override
+    @Transactional
     public int deleteFilmById(int id) {
         String sql = "DELETE FROM film WHERE film_id = ?";
-        return jdbc.update(sql, id);
-    }
-
-    private static Film.Rating mapRatingFromDb(String label) {
-        if (label == null) return Film.Rating.G;
-        switch (label) {
-            case "G": return Film.Rating.G;
-            case "PG": return Film.Rating.PG;
-            case "PG-13": return Film.Rating.PG_13;
-            case "R": return Film.Rating.R;
-            case "NC-17": return Film.Rating.NC_17;
-            default: return Film.Rating.G; // fallback
+        int rows = jdbc.update(sql, id);
+        if (rows > 0) {
+            insertTombstone(Tombstone.FILM, id);
+        }
+        return rows;
+    }
+
+    // Keyset page over (last_update, film_id), served by idx_film_last_update
+    @Override
+    public List<Film> findFilmsChangedSince(LocalDateTime since, int afterId, LocalDateTime until, int limit) {
+        String sql = """
+            SELECT film_id, title, description, release_year, language_id, original_language_id,
+                   rental_duration, rental_rate, length, replacement_cost, rating, special_features, last_update
+            FROM film
+            WHERE last_update >= ? AND last_update <= ?
+              AND (last_update > ? OR film_id > ?)
+            ORDER BY last_update, film_id
+            LIMIT ?
+            """;
+        Timestamp from = Timestamp.valueOf(since);
+        return jdbc.query(sql, FILM_ROW_MAPPER, from, Timestamp.valueOf(until), from, afterId, limit);
+    }
+
+    @Override
+    public List<Tombstone> findFilmTombstonesSince(LocalDateTime since, int afterId, LocalDateTime until, int limit) {
+        return findTombstonesSince(Tombstone.FILM, since, afterId, until, limit);
+    }
+
+    // --------- Tombstones (deleted_entity) ---------
+
+    private static final RowMapper<Tombstone> TOMBSTONE_ROW_MAPPER = (rs, rowNum) -> new Tombstone(
+            rs.getString("entity_type"),
+            rs.getInt("entity_id"),
+            rs.getObject("deleted_at", LocalDateTime.class));
+
+    private void insertTombstone(String entityType, int id) {
+        String sql = "INSERT INTO deleted_entity(entity_type, entity_id, deleted_at) VALUES(?, ?, CURRENT_TIMESTAMP(6))";
+        jdbc.update(sql, entityType, id);
+    }
+
+    private void insertTombstones(String entityType, List<Integer> ids, int[] deleteCounts) {
+        List<Integer> deleted = new ArrayList<>();
+        for (int i = 0; i < ids.size(); i++) {
+            if (deleteCounts[i] > 0) {
+                deleted.add(ids.get(i));
+            }
+        }
+        if (deleted.isEmpty()) {
+            return;
         }
+        String sql = "INSERT INTO deleted_entity(entity_type, entity_id, deleted_at) VALUES(?, ?, CURRENT_TIMESTAMP(6))";
+        jdbc.batchUpdate(sql, deleted, deleted.size(), (ps, id) -> {
+            ps.setString(1, entityType);
+            ps.setInt(2, id);
+        });
     }
 
-    private static Set<Film.SpecialFeature> parseSpecialFeatures(String csv) {
-        if (csv == null || csv.isBlank()) return null; // tương ứng NULL trong DB
-        String[] parts = csv.split("\\s*,\\s*");
-        Set<Film.SpecialFeature> set = new LinkedHashSet<>();
-        for (String p : parts) {
-            switch (p) {
-                case "Trailers": set.add(Film.SpecialFeature.TRAILERS); break;
-                case "Commentaries": set.add(Film.SpecialFeature.COMMENTARIES); break;
-                case "Deleted Scenes": set.add(Film.SpecialFeature.DELETED_SCENES); break;
-                case "Behind the Scenes": set.add(Film.SpecialFeature.BEHIND_THE_SCENES); break;
-                default: /* ignore unknown */ break;
+    private List<Tombstone> findTombstonesSince(String entityType, LocalDateTime since, int afterId,
+                                                LocalDateTime until, int limit) {
+        String sql = """
+            SELECT entity_type, entity_id, deleted_at
+            FROM deleted_entity
+            WHERE entity_type = ? AND deleted_at >= ? AND deleted_at <= ?
+              AND (deleted_at > ? OR entity_id > ?)
+            ORDER BY deleted_at, entity_id
+            LIMIT ?
+            """;
+        Timestamp from = Timestamp.valueOf(since);
+        return jdbc.query(sql, TOMBSTONE_ROW_MAPPER, entityType, from, Timestamp.valueOf(until), from, afterId, limit);
+    }
+
+    // --------- Versions ---------
+
+    // 0 rows from an unconditional update means the row is missing, or already at or past the bound
+    // version: a second write within the same second, or a node whose clock is behind the last writer.
+    // Only then is the current version read and the write retried as a conditional update to
+    // LastUpdates.next(current), as an If-Match request would; a retry only loses to a write that
+    // committed in between, so the loop always makes progress.
+    private static int nextVersion(int rows, Consumer<LocalDateTime> setVersion,
+                                   Supplier<Optional<LocalDateTime>> currentVersion,
+                                   ToIntFunction<LocalDateTime> updateIfUnchanged) {
+        while (rows == 0) {
+            Optional<LocalDateTime> current = currentVersion.get();
+            if (current.isEmpty()) {
+                return 0;
             }
+            setVersion.accept(LastUpdates.next(current.get()));
+            rows = updateIfUnchanged.applyAsInt(current.get());
         }
-        return set.isEmpty() ? null : set;
-    }
-
-    private static String specialFeaturesToDb(Set<Film.SpecialFeature> features) {
-        if (features == null || features.isEmpty()) return null;
-        return features.stream()
-                .map(f -> {
-                    switch (f) {
-                        case TRAILERS: return "Trailers";
-                        case COMMENTARIES: return "Commentaries";
-                        case DELETED_SCENES: return "Deleted Scenes";
-                        case BEHIND_THE_SCENES: return "Behind the Scenes";
-                        default: return null;
-                    }
-                })
-                .filter(Objects::nonNull)
-                .collect(Collectors.joining(","));
+        return rows;
+    }
+
+    private static String placeholders(int count) {
+        return String.join(", ", Collections.nCopies(count, "?"));
     }
 }
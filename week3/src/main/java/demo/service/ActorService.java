@@ -8,11 +8,18 @@ import java.util.stream.Collectors;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
+import demo.cache.CacheInvalidationBus;
 import demo.dto.ActorRequest;
 import demo.dto.ActorResponse;
 import demo.dto.ActorUpdateRequest;
+import demo.event.CatalogEvent;
+import demo.event.CatalogEvent.Action;
+import demo.event.CatalogEvent.Entity;
+import demo.exception.PreconditionFailedException;
 import demo.model.Actor;
 import demo.repository.IRepository;
 
@@ -20,18 +27,20 @@ import demo.repository.IRepository;
 public class ActorService {
 
     private final IRepository actorRepository;
+    private final ApplicationEventPublisher eventPublisher;
     private final Logger logger = LoggerFactory.getLogger(ActorService.class);
 
     @Autowired
-    public ActorService(IRepository actorRepository) {
+    public ActorService(IRepository actorRepository, ApplicationEventPublisher eventPublisher) {
         this.actorRepository = actorRepository;
+        this.eventPublisher = eventPublisher;
     }
 
     public List<ActorResponse> getAllActors() {
         logger.debug("ActorService.getAllActors() - Fetching all actors from repository");
         try {
             List<ActorResponse> actors = actorRepository.findAllActors().stream()
-                    .map(this::convertToResponse)
+                    .map(ActorService::convertToResponse)
                     .collect(Collectors.toList());
             logger.debug("ActorService.getAllActors() - Successfully fetched {} actors", actors.size());
             return actors;
@@ -41,11 +50,13 @@ public class ActorService {
         }
     }
 
+    // Cached per id; evicted on every node by CacheInvalidationListener after a write
+    @Cacheable(cacheNames = CacheInvalidationBus.ACTORS, key = "#id")
     public Optional<ActorResponse> getActorById(int id) {
         logger.debug("ActorService.getActorById() - Fetching actor with ID: {}", id);
         try {
             Optional<ActorResponse> actor = actorRepository.findActorById(id)
-                    .map(this::convertToResponse);
+                    .map(ActorService::convertToResponse);
             if (actor.isPresent()) {
                 logger.debug("ActorService.getActorById() - Found actor with ID: {} - {}", id, actor.get());
             } else {
@@ -70,6 +81,7 @@ public class ActorService {
             actor.setActorId(newId);
             
             ActorResponse response = convertToResponse(actor);
+            eventPublisher.publishEvent(CatalogEvent.of(Entity.ACTOR, Action.CREATED, newId, response));
             logger.info("ActorService.createActor() - Successfully created actor with ID: {} - {} {}", 
                     newId, actor.getFirstName(), actor.getLastName());
             return response;
@@ -80,27 +92,47 @@ public class ActorService {
     }
 
     public Optional<ActorResponse> updateActor(ActorUpdateRequest request) {
-        logger.debug("ActorService.updateActor() - Updating actor: {}", request);
+        return updateActor(request, null);
+    }
+
+    // Updates only if last_update still equals expectedLastUpdate (If-Match); null = unconditional.
+    // The response is built from the request and the new last_update, without reading the row back
+    // (an unconditional update whose row is already at or past it is moved to the next version by the
+    // repository, which writes that version into the entity).
+    public Optional<ActorResponse> updateActor(ActorUpdateRequest request, LocalDateTime expectedLastUpdate) {
+        logger.debug("ActorService.updateActor() - Updating actor: {} (expected version: {})", request, expectedLastUpdate);
         try {
             Actor actor = new Actor();
             actor.setActorId(request.getActorId());
             actor.setFirstName(request.getFirstName());
             actor.setLastName(request.getLastName());
-            actor.setLastUpdate(LocalDateTime.now());
+            actor.setLastUpdate(LastUpdates.next(expectedLastUpdate));
             
-            int updatedRows = actorRepository.updateActorById(request.getActorId(), actor);
+            int updatedRows = expectedLastUpdate == null
+                    ? actorRepository.updateActorById(request.getActorId(), actor)
+                    : actorRepository.updateActorByIdIfUnchanged(request.getActorId(), actor, expectedLastUpdate);
             
             if (updatedRows > 0) {
-                Optional<ActorResponse> updated = actorRepository.findActorById(request.getActorId())
-                        .map(this::convertToResponse);
+                ActorResponse updated = convertToResponse(actor);
+                eventPublisher.publishEvent(CatalogEvent.of(Entity.ACTOR, Action.UPDATED, request.getActorId(), updated));
                 logger.info("ActorService.updateActor() - Successfully updated actor with ID: {} - {} {}", 
                         request.getActorId(), actor.getFirstName(), actor.getLastName());
-                return updated;
-            } else {
-                logger.warn("ActorService.updateActor() - Actor not found for update with ID: {}", request.getActorId());
+                return Optional.of(updated);
             }
             
+            if (expectedLastUpdate != null) {
+                Optional<LocalDateTime> current = actorRepository.findActorLastUpdate(request.getActorId());
+                if (current.isPresent()) {
+                    logger.warn("ActorService.updateActor() - Actor {} changed since version {} (now {})",
+                            request.getActorId(), expectedLastUpdate, current.get());
+                    throw new PreconditionFailedException(
+                            "Actor " + request.getActorId() + " was modified by another request", current.get());
+                }
+            }
+            logger.warn("ActorService.updateActor() - Actor not found for update with ID: {}", request.getActorId());
             return Optional.empty();
+        } catch (PreconditionFailedException e) {
+            throw e;
         } catch (Exception e) {
             logger.error("ActorService.updateActor() - Error updating actor: {}", request, e);
             throw e;
@@ -113,6 +145,7 @@ public class ActorService {
             int deletedRows = actorRepository.deleteActorById(id);
             boolean success = deletedRows > 0;
             if (success) {
+                eventPublisher.publishEvent(CatalogEvent.of(Entity.ACTOR, Action.DELETED, id, null));
                 logger.info("ActorService.deleteActor() - Successfully deleted actor with ID: {}", id);
             } else {
                 logger.warn("ActorService.deleteActor() - Actor not found for deletion with ID: {}", id);
@@ -124,7 +157,7 @@ public class ActorService {
         }
     }
 
-    private ActorResponse convertToResponse(Actor actor) {
+    public static ActorResponse convertToResponse(Actor actor) {
         ActorResponse response = new ActorResponse();
         response.setActorId(actor.getActorId());
         response.setFirstName(actor.getFirstName());
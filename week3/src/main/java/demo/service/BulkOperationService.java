@@ -0,0 +1,236 @@
+package demo.service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import demo.dto.ActorPatchRequest;
+import demo.dto.BulkItemResult;
+import demo.dto.BulkItemResult.Status;
+import demo.dto.BulkOperationResponse;
+import demo.dto.FilmPatchRequest;
+import demo.event.CatalogEvent;
+import demo.event.CatalogEvent.Action;
+import demo.event.CatalogEvent.Entity;
+import demo.model.Actor;
+import demo.model.Film;
+import demo.repository.IRepository;
+
+/**
+ * Bulk delete / partial update. IDs are processed in chunks of {@code bulk.chunk-size}, each
+ * chunk being one JDBC batch in its own transaction. If a chunk hits a constraint (a film that
+ * still has inventory, an unknown language_id), that chunk is rolled back and retried one ID at
+ * a time so only the offending IDs fail. UPDATED events carry the rows as read back after each
+ * chunk commits, like the single-row endpoints' events.
+ */
+@Service
+public class BulkOperationService {
+
+    private final IRepository repository;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int chunkSize;
+    private final int maxItems;
+    private final Logger logger = LoggerFactory.getLogger(BulkOperationService.class);
+
+    @Autowired
+    public BulkOperationService(IRepository repository,
+                                TransactionTemplate transactionTemplate,
+                                ApplicationEventPublisher eventPublisher,
+                                @Value("${bulk.chunk-size:500}") int chunkSize,
+                                @Value("${bulk.max-items:10000}") int maxItems) {
+        this.repository = repository;
+        this.transactionTemplate = transactionTemplate;
+        this.eventPublisher = eventPublisher;
+        this.chunkSize = chunkSize;
+        this.maxItems = maxItems;
+    }
+
+    public BulkOperationResponse deleteFilms(List<Integer> ids) {
+        return delete(Entity.FILM, ids, repository::deleteFilmsByIds, repository::deleteFilmById);
+    }
+
+    public BulkOperationResponse deleteActors(List<Integer> ids) {
+        return delete(Entity.ACTOR, ids, repository::deleteActorsByIds, repository::deleteActorById);
+    }
+
+    public BulkOperationResponse patchFilms(List<FilmPatchRequest> patches) {
+        return patch(Entity.FILM, patches, FilmPatchRequest::getFilmId, repository::patchFilms,
+                ids -> repository.findFilmsByIds(ids).stream()
+                        .collect(Collectors.toMap(Film::getFilmId, FilmService::convertToResponse)));
+    }
+
+    public BulkOperationResponse patchActors(List<ActorPatchRequest> patches) {
+        return patch(Entity.ACTOR, patches, ActorPatchRequest::getActorId, repository::patchActors,
+                ids -> repository.findActorsByIds(ids).stream()
+                        .collect(Collectors.toMap(Actor::getActorId, ActorService::convertToResponse)));
+    }
+
+    // --------- Helpers ---------
+
+    private BulkOperationResponse delete(Entity entity, List<Integer> ids,
+                                         Function<List<Integer>, int[]> batchDelete,
+                                         ToIntFunction<Integer> singleDelete) {
+        checkSize(ids.size());
+        long start = System.nanoTime();
+        BulkItemResult[] results = new BulkItemResult[ids.size()];
+        List<Integer> positions = firstOccurrences(ids, id -> id, results);
+
+        for (int from = 0; from < positions.size(); from += chunkSize) {
+            List<Integer> chunkPositions = positions.subList(from, Math.min(from + chunkSize, positions.size()));
+            List<Integer> chunk = chunkPositions.stream().map(ids::get).toList();
+            int[] counts;
+            try {
+                counts = transactionTemplate.execute(status -> batchDelete.apply(chunk));
+            } catch (DataIntegrityViolationException e) {
+                logger.debug("BulkOperationService.delete() - {} chunk hit a constraint, retrying per ID", entity);
+                counts = deleteOneByOne(chunk, singleDelete);
+            }
+            for (int i = 0; i < chunk.size(); i++) {
+                int id = chunk.get(i);
+                BulkItemResult result;
+                if (counts[i] > 0) {
+                    result = new BulkItemResult(id, Status.DELETED, null);
+                    eventPublisher.publishEvent(CatalogEvent.of(entity, Action.DELETED, id, null));
+                } else if (counts[i] == 0) {
+                    result = new BulkItemResult(id, Status.NOT_FOUND, null);
+                } else {
+                    result = new BulkItemResult(id, Status.CONFLICT, "Still referenced by other rows");
+                }
+                results[chunkPositions.get(i)] = result;
+            }
+        }
+        return finish("delete", entity, results, start);
+    }
+
+    // -1 marks an ID that could not be deleted because of a constraint
+    private int[] deleteOneByOne(List<Integer> chunk, ToIntFunction<Integer> singleDelete) {
+        int[] counts = new int[chunk.size()];
+        for (int i = 0; i < chunk.size(); i++) {
+            Integer id = chunk.get(i);
+            try {
+                counts[i] = transactionTemplate.execute(status -> singleDelete.applyAsInt(id));
+            } catch (DataIntegrityViolationException e) {
+                counts[i] = -1;
+            }
+        }
+        return counts;
+    }
+
+    private <P> BulkOperationResponse patch(Entity entity, List<P> patches, ToIntFunction<P> idOf,
+                                            PatchBatch<P> batchPatch,
+                                            Function<List<Integer>, Map<Integer, ?>> readBack) {
+        checkSize(patches.size());
+        long start = System.nanoTime();
+        BulkItemResult[] results = new BulkItemResult[patches.size()];
+        List<Integer> positions = firstOccurrences(patches, idOf::applyAsInt, results);
+        // A floor only: the repository still moves each row past its own current version
+        LocalDateTime lastUpdate = LastUpdates.next(null);
+
+        for (int from = 0; from < positions.size(); from += chunkSize) {
+            List<Integer> chunkPositions = positions.subList(from, Math.min(from + chunkSize, positions.size()));
+            List<P> chunk = chunkPositions.stream().map(patches::get).toList();
+            String[] conflicts = new String[chunk.size()];
+            int[] counts;
+            try {
+                counts = transactionTemplate.execute(status -> batchPatch.apply(chunk, lastUpdate));
+            } catch (DataIntegrityViolationException e) {
+                logger.debug("BulkOperationService.patch() - {} chunk hit a constraint, retrying per ID", entity);
+                counts = patchOneByOne(chunk, batchPatch, lastUpdate, conflicts);
+            }
+
+            // != 0 rather than > 0: a rewritten MySQL batch reports SUCCESS_NO_INFO (-2) per row
+            List<Integer> updated = new ArrayList<>();
+            for (int i = 0; i < chunk.size(); i++) {
+                if (conflicts[i] == null && counts[i] != 0) {
+                    updated.add(idOf.applyAsInt(chunk.get(i)));
+                }
+            }
+            Map<Integer, ?> rows = updated.isEmpty() ? Map.of() : readBack.apply(updated);
+
+            for (int i = 0; i < chunk.size(); i++) {
+                int id = idOf.applyAsInt(chunk.get(i));
+                BulkItemResult result;
+                if (conflicts[i] != null) {
+                    result = new BulkItemResult(id, Status.CONFLICT, conflicts[i]);
+                } else if (counts[i] != 0) {
+                    result = new BulkItemResult(id, Status.UPDATED, null);
+                    // null only if the row was deleted between the commit and the read-back
+                    eventPublisher.publishEvent(CatalogEvent.of(entity, Action.UPDATED, id, rows.get(id)));
+                } else {
+                    result = new BulkItemResult(id, Status.NOT_FOUND, null);
+                }
+                results[chunkPositions.get(i)] = result;
+            }
+        }
+        return finish("patch", entity, results, start);
+    }
+
+    // A patch rejected by a constraint (e.g. an unknown language_id) gets its reason in conflicts
+    private <P> int[] patchOneByOne(List<P> chunk, PatchBatch<P> batchPatch, LocalDateTime lastUpdate,
+                                    String[] conflicts) {
+        int[] counts = new int[chunk.size()];
+        for (int i = 0; i < chunk.size(); i++) {
+            List<P> single = List.of(chunk.get(i));
+            try {
+                counts[i] = transactionTemplate.execute(status -> batchPatch.apply(single, lastUpdate))[0];
+            } catch (DataIntegrityViolationException e) {
+                conflicts[i] = "Rejected by a constraint: " + e.getMostSpecificCause().getMessage();
+            }
+        }
+        return counts;
+    }
+
+    /**
+     * @return positions of the first occurrence of each ID; later occurrences are reported as DUPLICATE
+     */
+    private <T> List<Integer> firstOccurrences(List<T> items, ToIntFunction<T> idOf, BulkItemResult[] results) {
+        List<Integer> positions = new ArrayList<>(items.size());
+        Set<Integer> seen = new HashSet<>();
+        for (int i = 0; i < items.size(); i++) {
+            int id = idOf.applyAsInt(items.get(i));
+            if (seen.add(id)) {
+                positions.add(i);
+            } else {
+                results[i] = new BulkItemResult(id, Status.DUPLICATE, "ID appears more than once in the request");
+            }
+        }
+        return positions;
+    }
+
+    private BulkOperationResponse finish(String operation, Entity entity, BulkItemResult[] results, long start) {
+        List<BulkItemResult> list = List.of(results);
+        int succeeded = (int) list.stream()
+                .filter(r -> r.getStatus() == Status.DELETED || r.getStatus() == Status.UPDATED)
+                .count();
+        logger.info("BulkOperationService.{}() - {}: {} of {} succeeded in {} ms",
+                operation, entity, succeeded, results.length, (System.nanoTime() - start) / 1_000_000);
+        return new BulkOperationResponse(results.length, succeeded, list);
+    }
+
+    private void checkSize(int size) {
+        if (size > maxItems) {
+            throw new IllegalArgumentException("At most " + maxItems + " items per bulk request, got " + size);
+        }
+    }
+
+    @FunctionalInterface
+    private interface PatchBatch<P> {
+        int[] apply(List<P> chunk, LocalDateTime lastUpdate);
+    }
+}
@@ -0,0 +1,127 @@
+package demo.service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import demo.dto.ActorResponse;
+import demo.dto.ChangeCursor;
+import demo.dto.ChangeFeedResponse;
+import demo.dto.FilmResponse;
+import demo.model.Actor;
+import demo.model.Film;
+import demo.model.Tombstone;
+import demo.repository.IRepository;
+
+/**
+ * Incremental sync: returns rows whose last_update is after the cursor plus the tombstones of
+ * deleted rows, merged into one (timestamp, id) order and cut at {@code limit}.
+ *
+ * Rows changed within the last {@code settle-lag} are held back until the next call, so a
+ * transaction that commits late with an older last_update is not skipped by the cursor. A row
+ * written several times within one second can carry a last_update ahead of the clock (see
+ * LastUpdates); it is returned once the clock passes it.
+ */
+@Service
+public class ChangeFeedService {
+
+    private final IRepository repository;
+    private final long settleLagMs;
+    private final int defaultLimit;
+    private final int maxLimit;
+    private final Logger logger = LoggerFactory.getLogger(ChangeFeedService.class);
+
+    @Autowired
+    public ChangeFeedService(IRepository repository,
+                             @Value("${change-feed.settle-lag-ms:2000}") long settleLagMs,
+                             @Value("${change-feed.default-limit:500}") int defaultLimit,
+                             @Value("${change-feed.max-limit:5000}") int maxLimit) {
+        this.repository = repository;
+        this.settleLagMs = settleLagMs;
+        this.defaultLimit = defaultLimit;
+        this.maxLimit = maxLimit;
+    }
+
+    public ChangeFeedResponse<FilmResponse> getFilmChanges(String since, Integer limit) {
+        ChangeCursor cursor = ChangeCursor.parse(since);
+        int pageSize = pageSize(limit);
+        LocalDateTime until = settledUntil();
+        logger.debug("ChangeFeedService.getFilmChanges() - cursor: {}, until: {}, limit: {}", cursor, until, pageSize);
+
+        // One extra row from each side tells us whether another page is waiting
+        List<Film> changed = repository.findFilmsChangedSince(cursor.getTimestamp(), cursor.getId(), until, pageSize + 1);
+        List<Tombstone> deleted = repository.findFilmTombstonesSince(cursor.getTimestamp(), cursor.getId(), until, pageSize + 1);
+        return merge(cursor, pageSize, changed, Film::getLastUpdate, Film::getFilmId, FilmService::convertToResponse, deleted);
+    }
+
+    public ChangeFeedResponse<ActorResponse> getActorChanges(String since, Integer limit) {
+        ChangeCursor cursor = ChangeCursor.parse(since);
+        int pageSize = pageSize(limit);
+        LocalDateTime until = settledUntil();
+        logger.debug("ChangeFeedService.getActorChanges() - cursor: {}, until: {}, limit: {}", cursor, until, pageSize);
+
+        List<Actor> changed = repository.findActorsChangedSince(cursor.getTimestamp(), cursor.getId(), until, pageSize + 1);
+        List<Tombstone> deleted = repository.findActorTombstonesSince(cursor.getTimestamp(), cursor.getId(), until, pageSize + 1);
+        return merge(cursor, pageSize, changed, Actor::getLastUpdate, Actor::getActorId, ActorService::convertToResponse, deleted);
+    }
+
+    // --------- Helpers ---------
+
+    private int pageSize(Integer limit) {
+        if (limit == null) {
+            return defaultLimit;
+        }
+        if (limit < 1) {
+            throw new IllegalArgumentException("limit must be positive");
+        }
+        return Math.min(limit, maxLimit);
+    }
+
+    private LocalDateTime settledUntil() {
+        return LocalDateTime.now().minusNanos(settleLagMs * 1_000_000);
+    }
+
+    private static <M, R> ChangeFeedResponse<R> merge(ChangeCursor cursor, int limit,
+                                                      List<M> changed, Function<M, LocalDateTime> changedAt,
+                                                      ToIntFunction<M> idOf, Function<M, R> toResponse,
+                                                      List<Tombstone> deleted) {
+        List<R> changedOut = new ArrayList<>();
+        List<Integer> deletedOut = new ArrayList<>();
+        ChangeCursor last = cursor;
+        int c = 0;
+        int d = 0;
+        while (changedOut.size() + deletedOut.size() < limit && (c < changed.size() || d < deleted.size())) {
+            boolean takeChanged;
+            if (d == deleted.size()) {
+                takeChanged = true;
+            } else if (c == changed.size()) {
+                takeChanged = false;
+            } else {
+                M row = changed.get(c);
+                Tombstone tombstone = deleted.get(d);
+                takeChanged = new ChangeCursor(changedAt.apply(row), idOf.applyAsInt(row))
+                        .isBefore(tombstone.getDeletedAt(), tombstone.getEntityId());
+            }
+
+            if (takeChanged) {
+                M row = changed.get(c++);
+                changedOut.add(toResponse.apply(row));
+                last = new ChangeCursor(changedAt.apply(row), idOf.applyAsInt(row));
+            } else {
+                Tombstone tombstone = deleted.get(d++);
+                deletedOut.add(tombstone.getEntityId());
+                last = new ChangeCursor(tombstone.getDeletedAt(), tombstone.getEntityId());
+            }
+        }
+        boolean hasMore = c < changed.size() || d < deleted.size();
+        return new ChangeFeedResponse<>(changedOut, deletedOut, last.encode(), hasMore);
+    }
+}
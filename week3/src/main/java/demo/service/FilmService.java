@@ -8,10 +8,17 @@ import java.util.stream.Collectors;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
+import demo.cache.CacheInvalidationBus;
 import demo.dto.FilmRequest;
 import demo.dto.FilmResponse;
+import demo.event.CatalogEvent;
+import demo.event.CatalogEvent.Action;
+import demo.event.CatalogEvent.Entity;
+import demo.exception.PreconditionFailedException;
 import demo.model.Film;
 import demo.repository.IRepository;
 
@@ -19,11 +26,13 @@ import demo.repository.IRepository;
 public class FilmService {
 
     private final IRepository repository;
+    private final ApplicationEventPublisher eventPublisher;
     private final Logger logger = LoggerFactory.getLogger(FilmService.class);
 
     @Autowired
-    public FilmService(IRepository repository) {
+    public FilmService(IRepository repository, ApplicationEventPublisher eventPublisher) {
         this.repository = repository;
+        this.eventPublisher = eventPublisher;
     }
 
     // GET all
@@ -31,7 +40,7 @@ public class FilmService {
         logger.debug("FilmService.getAllFilms() - Fetching all films from repository");
         try {
             List<FilmResponse> films = repository.findAllFilms().stream()
-                    .map(this::convertToResponse)
+                    .map(FilmService::convertToResponse)
                     .collect(Collectors.toList());
             logger.debug("FilmService.getAllFilms() - Successfully fetched {} films", films.size());
             return films;
@@ -41,12 +50,13 @@ public class FilmService {
         }
     }
 
-    // GET by id
+    // GET by id (cached per id; evicted on every node by CacheInvalidationListener after a write)
+    @Cacheable(cacheNames = CacheInvalidationBus.FILMS, key = "#id")
     public Optional<FilmResponse> getFilmById(int id) {
         logger.debug("FilmService.getFilmById() - Fetching film with ID: {}", id);
         try {
             Optional<FilmResponse> film = repository.findFilmById(id)
-                    .map(this::convertToResponse);
+                    .map(FilmService::convertToResponse);
             if (film.isPresent()) {
                 logger.debug("FilmService.getFilmById() - Found film with ID: {} - {}", id, film.get().getTitle());
             } else {
@@ -70,6 +80,7 @@ public class FilmService {
             film.setFilmId(newId);
 
             FilmResponse response = convertToResponse(film);
+            eventPublisher.publishEvent(CatalogEvent.of(Entity.FILM, Action.CREATED, newId, response));
             logger.info("FilmService.createFilm() - Successfully created film with ID: {} - {}", newId, film.getTitle());
             return response;
         } catch (Exception e) {
@@ -80,21 +91,43 @@ public class FilmService {
 
     // UPDATE (truyền id từ path + body là FilmRequest)
     public Optional<FilmResponse> updateFilm(int id, FilmRequest request) {
-        logger.debug("FilmService.updateFilm() - Updating film with ID: {} - {}", id, request.getTitle());
+        return updateFilm(id, request, null);
+    }
+
+    // UPDATE only if last_update still equals expectedLastUpdate (If-Match); null = unconditional.
+    // The response is built from the request and the new last_update, without reading the row back
+    // (an unconditional update whose row is already at or past it is moved to the next version by the
+    // repository, which writes that version into the entity).
+    public Optional<FilmResponse> updateFilm(int id, FilmRequest request, LocalDateTime expectedLastUpdate) {
+        logger.debug("FilmService.updateFilm() - Updating film with ID: {} - {} (expected version: {})",
+                id, request.getTitle(), expectedLastUpdate);
         try {
             Film film = buildFilmFromRequest(request);
             film.setFilmId(id);
-            film.setLastUpdate(LocalDateTime.now());
+            film.setLastUpdate(LastUpdates.next(expectedLastUpdate));
 
-            int updatedRows = repository.updateFilmById(id, film);
+            int updatedRows = expectedLastUpdate == null
+                    ? repository.updateFilmById(id, film)
+                    : repository.updateFilmByIdIfUnchanged(id, film, expectedLastUpdate);
             if (updatedRows > 0) {
-                Optional<FilmResponse> updated = repository.findFilmById(id).map(this::convertToResponse);
+                FilmResponse updated = convertToResponse(film);
+                eventPublisher.publishEvent(CatalogEvent.of(Entity.FILM, Action.UPDATED, id, updated));
                 logger.info("FilmService.updateFilm() - Successfully updated film with ID: {} - {}", id, film.getTitle());
-                return updated;
-            } else {
-                logger.warn("FilmService.updateFilm() - Film not found for update with ID: {}", id);
+                return Optional.of(updated);
             }
+
+            if (expectedLastUpdate != null) {
+                Optional<LocalDateTime> current = repository.findFilmLastUpdate(id);
+                if (current.isPresent()) {
+                    logger.warn("FilmService.updateFilm() - Film {} changed since version {} (now {})",
+                            id, expectedLastUpdate, current.get());
+                    throw new PreconditionFailedException("Film " + id + " was modified by another request", current.get());
+                }
+            }
+            logger.warn("FilmService.updateFilm() - Film not found for update with ID: {}", id);
             return Optional.empty();
+        } catch (PreconditionFailedException e) {
+            throw e;
         } catch (Exception e) {
             logger.error("FilmService.updateFilm() - Error updating film with ID: {} - {}", id, request.getTitle(), e);
             throw e;
@@ -108,6 +141,7 @@ public class FilmService {
             int deletedRows = repository.deleteFilmById(id);
             boolean success = deletedRows > 0;
             if (success) {
+                eventPublisher.publishEvent(CatalogEvent.of(Entity.FILM, Action.DELETED, id, null));
                 logger.info("FilmService.deleteFilm() - Successfully deleted film with ID: {}", id);
             } else {
                 logger.warn("FilmService.deleteFilm() - Film not found for deletion with ID: {}", id);
@@ -121,7 +155,7 @@ public class FilmService {
 
     // --------- Helpers ---------
 
-    private Film buildFilmFromRequest(FilmRequest req) {
+    public static Film buildFilmFromRequest(FilmRequest req) {
         Film f = new Film();
         f.setTitle(req.getTitle());
         f.setDescription(req.getDescription());
@@ -137,7 +171,7 @@ public class FilmService {
         return f;
     }
 
-    private FilmResponse convertToResponse(Film film) {
+    public static FilmResponse convertToResponse(Film film) {
         FilmResponse res = new FilmResponse();
         res.setFilmId(film.getFilmId());
         res.setTitle(film.getTitle());
@@ -0,0 +1,29 @@
+package demo.service;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * last_update doubles as the row version behind ETags. Sakila stores it with second precision,
+ * so the new value is truncated (MySQL would otherwise round it) and, for a conditional update,
+ * forced past the expected version so two writes in the same second still change the ETag.
+ * An unconditional update stores {@code next(null)} unless the row is already at or past it; only
+ * then does the repository read the current version and store {@code next(current)} instead.
+ * Bulk patches treat the value as a floor and move each row past its own last_update in SQL.
+ * <p>
+ * Drift: each extra write to a row within the same second puts its last_update one more second
+ * ahead of the clock. The lead shrinks again once writes to that row slow below one per second,
+ * so it is bounded by the row's write burst, not by uptime. The change feed only returns rows up
+ * to {@code now - change-feed.settle-lag-ms}, so a row that is ahead reaches the feed that much
+ * later. It is delayed, not lost: the cursor only moves past versions the feed has returned.
+ */
+public final class LastUpdates {
+
+    private LastUpdates() {
+    }
+
+    public static LocalDateTime next(LocalDateTime expected) {
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+        return expected != null && !now.isAfter(expected) ? expected.plusSeconds(1) : now;
+    }
+}
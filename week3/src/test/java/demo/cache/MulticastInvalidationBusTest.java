@@ -0,0 +1,84 @@
+package demo.cache;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+import java.net.InetAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MulticastInvalidationBusTest {
+
+    private ConcurrentMapCacheManager cacheManager;
+    private MulticastInvalidationBus bus;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        cacheManager = new ConcurrentMapCacheManager(CacheInvalidationBus.FILMS, CacheInvalidationBus.ACTORS);
+        bus = new MulticastInvalidationBus(cacheManager, InetAddress.getByName("239.1.2.3"), 4446, 1, 50);
+    }
+
+    @Test
+    void invalidate_ShouldEvictLocallyRightAway() {
+        // Given
+        Cache films = cacheManager.getCache(CacheInvalidationBus.FILMS);
+        films.put(1, "film 1");
+
+        // When
+        bus.invalidate(CacheInvalidationBus.FILMS, 1);
+
+        // Then
+        assertNull(films.get(1));
+    }
+
+    @Test
+    void drainPending_ShouldCoalesceRepeatedKeysIntoOneDatagram() {
+        // Given
+        for (int i = 0; i < 1000; i++) {
+            bus.invalidate(CacheInvalidationBus.FILMS, i % 10);
+        }
+
+        // When
+        List<byte[]> payloads = bus.drainPending();
+
+        // Then
+        assertEquals(1, payloads.size());
+        String[] lines = new String(payloads.get(0), StandardCharsets.UTF_8).split("\n");
+        assertEquals(11, lines.length); // node id + 10 distinct keys
+        assertTrue(bus.drainPending().isEmpty());
+    }
+
+    @Test
+    void drainPending_ShouldSplitLargeBurstsBelowMaxPayload() {
+        // Given
+        for (int i = 0; i < 5000; i++) {
+            bus.invalidate(CacheInvalidationBus.ACTORS, i);
+        }
+
+        // When
+        List<byte[]> payloads = bus.drainPending();
+
+        // Then
+        assertTrue(payloads.size() > 1);
+        payloads.forEach(p -> assertTrue(p.length <= MulticastInvalidationBus.MAX_PAYLOAD));
+    }
+
+    @Test
+    void apply_ShouldEvictKeysFromOtherNodes() {
+        // Given
+        Cache actors = cacheManager.getCache(CacheInvalidationBus.ACTORS);
+        actors.put(7, "actor 7");
+        actors.put(8, "actor 8");
+
+        // When
+        bus.apply("other-node\nactors:7\n");
+
+        // Then
+        assertNull(actors.get(7));
+        assertNotNull(actors.get(8));
+    }
+}
@@ -0,0 +1,167 @@
+package demo.event;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CatalogEventBroadcasterTest {
+
+    private static final long NO_HEARTBEAT = TimeUnit.HOURS.toMillis(1);
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    private CatalogEventBroadcaster broadcaster;
+
+    @AfterEach
+    void tearDown() {
+        if (broadcaster != null) {
+            broadcaster.stop();
+        }
+    }
+
+    @Test
+    void onCatalogEvent_ShouldDropOldestFramesAndSendOneResync_WhenQueueOverflows() throws Exception {
+        // Given - the drain is stuck writing the opening heartbeat
+        RecordingEmitter emitter = new RecordingEmitter();
+        emitter.gate = new CountDownLatch(1);
+        start(4, NO_HEARTBEAT, emitter);
+        broadcaster.subscribe(EnumSet.of(CatalogEvent.Entity.FILM));
+
+        // When
+        for (int i = 1; i <= 7; i++) {
+            broadcaster.onCatalogEvent(CatalogEvent.of(CatalogEvent.Entity.FILM, CatalogEvent.Action.CREATED, i, null));
+        }
+        emitter.gate.countDown();
+
+        // Then
+        List<String> frames = emitter.take(6);
+        assertEquals(":heartbeat", frames.get(0).trim());
+        assertTrue(frames.get(1).startsWith("event:resync\ndata:{\"dropped\":3}"), frames.get(1));
+        assertEquals(List.of("id:4", "id:5", "id:6", "id:7"),
+                frames.subList(2, 6).stream().map(f -> f.lines().findFirst().orElseThrow()).toList());
+        assertNull(emitter.sent.poll(200, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    void heartbeat_ShouldBeSentToIdleSubscriber() throws Exception {
+        // Given
+        RecordingEmitter emitter = new RecordingEmitter();
+        start(16, 50, emitter);
+
+        // When
+        broadcaster.subscribe(EnumSet.of(CatalogEvent.Entity.ACTOR));
+
+        // Then - the opening frame, then at least one scheduled heartbeat
+        assertEquals(List.of(":heartbeat", ":heartbeat"),
+                emitter.take(2).stream().map(String::trim).toList());
+    }
+
+    @Test
+    void drain_ShouldRemoveSubscriber_WhenSendFails() throws Exception {
+        // Given
+        RecordingEmitter emitter = new RecordingEmitter();
+        emitter.fail = true;
+        start(16, NO_HEARTBEAT, emitter);
+
+        // When
+        assertNotNull(broadcaster.subscribe(EnumSet.of(CatalogEvent.Entity.FILM)));
+
+        // Then
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (broadcaster.getSubscriberCount() > 0 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(0, broadcaster.getSubscriberCount());
+    }
+
+    @Test
+    void onCatalogEvent_ShouldDeliverFrameOfferedAsDrainFinishes() throws Exception {
+        // Given - the next event is published from inside the window between the drain finding
+        // its queue empty and releasing the subscriber, so the publisher's schedule() is a no-op
+        RecordingEmitter emitter = new RecordingEmitter();
+        AtomicBoolean raced = new AtomicBoolean();
+        broadcaster = new CatalogEventBroadcaster(objectMapper, 16, NO_HEARTBEAT, 100) {
+            @Override
+            SseEmitter newEmitter() {
+                return emitter;
+            }
+
+            @Override
+            void queueDrained() {
+                if (raced.compareAndSet(false, true)) {
+                    onCatalogEvent(CatalogEvent.of(CatalogEvent.Entity.FILM, CatalogEvent.Action.UPDATED, 1, null));
+                }
+            }
+        };
+        broadcaster.start();
+
+        // When
+        broadcaster.subscribe(EnumSet.of(CatalogEvent.Entity.FILM));
+
+        // Then
+        List<String> frames = emitter.take(2);
+        assertEquals(":heartbeat", frames.get(0).trim());
+        assertTrue(frames.get(1).startsWith("id:1\nevent:updated\n"), frames.get(1));
+    }
+
+    private void start(int queueCapacity, long heartbeatMs, RecordingEmitter emitter) {
+        broadcaster = new CatalogEventBroadcaster(objectMapper, queueCapacity, heartbeatMs, 100) {
+            @Override
+            SseEmitter newEmitter() {
+                return emitter;
+            }
+        };
+        broadcaster.start();
+    }
+
+    private static final class RecordingEmitter extends SseEmitter {
+
+        final BlockingQueue<String> sent = new LinkedBlockingQueue<>();
+        volatile CountDownLatch gate = new CountDownLatch(0);
+        volatile boolean fail;
+
+        RecordingEmitter() {
+            super(0L);
+        }
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            try {
+                gate.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException(e);
+            }
+            if (fail) {
+                throw new IOException("Broken pipe");
+            }
+            sent.add(builder.build().stream()
+                    .map(part -> String.valueOf(part.getData()))
+                    .collect(Collectors.joining()));
+        }
+
+        List<String> take(int count) throws InterruptedException {
+            List<String> frames = new ArrayList<>();
+            for (int i = 0; i < count; i++) {
+                String frame = sent.poll(5, TimeUnit.SECONDS);
+                assertNotNull(frame, "expected " + count + " frames, got " + frames);
+                frames.add(frame);
+            }
+            return frames;
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package demo.integration;
+
+import demo.cache.CacheInvalidationBus;
+import demo.cache.LoopbackInvalidationBus;
+import demo.dto.ActorResponse;
+import demo.dto.ActorUpdateRequest;
+import demo.dto.FilmRequest;
+import demo.dto.FilmResponse;
+import demo.model.Film;
+import demo.service.ActorService;
+import demo.service.FilmService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Read-your-writes through the by-id caches: the services' writes publish catalog events, which
+ * CacheInvalidationListener turns into evictions on the (loopback) invalidation bus.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:catalog-cache;DB_CLOSE_DELAY=-1",
+        "spring.sql.init.mode=always",
+        "spring.sql.init.schema-locations=classpath:catalog-schema-h2.sql",
+        "cache.invalidation.transport=loopback"
+})
+class CatalogCacheIntegrationTest {
+
+    @Autowired
+    private FilmService filmService;
+
+    @Autowired
+    private ActorService actorService;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private CacheInvalidationBus invalidationBus;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @Test
+    void invalidationBus_ShouldBeLoopback() {
+        assertInstanceOf(LoopbackInvalidationBus.class, invalidationBus);
+    }
+
+    @Test
+    void getFilmById_AfterUpdate_ShouldReturnFreshFilm() {
+        // Given - the first read is cached, so a change behind the service's back is not seen
+        assertEquals("FILM 10", filmService.getFilmById(10).orElseThrow().getTitle());
+        jdbc.update("UPDATE film SET title = 'CHANGED BEHIND THE CACHE' WHERE film_id = 10");
+        assertEquals("FILM 10", filmService.getFilmById(10).orElseThrow().getTitle());
+
+        // When
+        FilmRequest request = new FilmRequest();
+        request.setTitle("FILM 10 (REMASTERED)");
+        request.setLanguageId((short) 1);
+        request.setRating(Film.Rating.PG);
+        filmService.updateFilm(10, request);
+
+        // Then
+        FilmResponse film = filmService.getFilmById(10).orElseThrow();
+        assertEquals("FILM 10 (REMASTERED)", film.getTitle());
+        assertEquals(Film.Rating.PG, film.getRating());
+    }
+
+    @Test
+    void getActorById_AfterUpdate_ShouldReturnFreshActor() {
+        // Given
+        assertEquals("FIRST10", actorService.getActorById(10).orElseThrow().getFirstName());
+        assertNotNull(cacheManager.getCache(CacheInvalidationBus.ACTORS).get(10));
+
+        // When
+        actorService.updateActor(new ActorUpdateRequest(10, "PENELOPE", "GUINESS"));
+
+        // Then
+        assertNull(cacheManager.getCache(CacheInvalidationBus.ACTORS).get(10));
+        ActorResponse actor = actorService.getActorById(10).orElseThrow();
+        assertEquals("PENELOPE", actor.getFirstName());
+        assertEquals("GUINESS", actor.getLastName());
+    }
+
+    @Test
+    void getActorById_AfterDelete_ShouldReturnEmpty() {
+        // Given
+        assertTrue(actorService.getActorById(11).isPresent());
+
+        // When
+        assertTrue(actorService.deleteActor(11));
+
+        // Then
+        assertTrue(actorService.getActorById(11).isEmpty());
+    }
+}
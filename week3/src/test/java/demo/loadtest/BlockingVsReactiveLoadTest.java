@@ -0,0 +1,210 @@
+package demo.loadtest;
+
+import demo.MainApplication;
+import demo.reactive.ReactiveApplication;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.IntFunction;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Drives the servlet/JDBC application and the WebFlux/R2DBC application with the same closed-loop
+ * load (a fixed number of concurrent clients, each sending its next request as soon as the
+ * previous one completes) and prints throughput and latency percentiles for each.
+ *
+ * Both run in this JVM with the read caches off so every request reaches the database. By default
+ * each gets its own in-process H2 database seeded by catalog-schema-h2.sql; a query there never
+ * waits on a socket, so the numbers compare framework and driver overhead only and cannot show
+ * what the reactive stack is for (not parking a thread while the database answers). Point both
+ * at a real MySQL holding the sakila data to measure that. Skipped unless enabled:
+ *
+ *   mvn test -Dtest=BlockingVsReactiveLoadTest -Dloadtest=true [-Dloadtest.concurrency=512]
+ *       [-Dloadtest.duration-seconds=20] [-Dloadtest.warmup-seconds=5]
+ *       [-Dloadtest.jdbc-url=jdbc:mysql://db:3306/sakila -Dloadtest.r2dbc-url=r2dbc:mysql://db:3306/sakila
+ *        -Dloadtest.db-username=root -Dloadtest.db-password=...]
+ */
+@EnabledIfSystemProperty(named = "loadtest", matches = "true")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class BlockingVsReactiveLoadTest {
+
+    private static final int FILMS = 1000;
+
+    private final int concurrency = Integer.getInteger("loadtest.concurrency", 256);
+    private final Duration duration = Duration.ofSeconds(Integer.getInteger("loadtest.duration-seconds", 10));
+    private final Duration warmup = Duration.ofSeconds(Integer.getInteger("loadtest.warmup-seconds", 3));
+    private final String jdbcUrl = System.getProperty("loadtest.jdbc-url");
+    private final String r2dbcUrl = System.getProperty("loadtest.r2dbc-url");
+    private final String dbUsername = System.getProperty("loadtest.db-username", "root");
+    private final String dbPassword = System.getProperty("loadtest.db-password", "");
+
+    private ConfigurableApplicationContext blocking;
+    private ConfigurableApplicationContext reactive;
+    private ConnectionProvider connections;
+
+    @BeforeAll
+    void startApplications() {
+        if ((jdbcUrl == null) != (r2dbcUrl == null)) {
+            throw new IllegalArgumentException("Set both loadtest.jdbc-url and loadtest.r2dbc-url, or neither");
+        }
+        String[] blockingDatabase = jdbcUrl == null
+                ? new String[]{
+                        "spring.datasource.url=jdbc:h2:mem:loadtest-blocking;DB_CLOSE_DELAY=-1",
+                        "spring.datasource.driver-class-name=org.h2.Driver",
+                        "spring.datasource.username=sa",
+                        "spring.datasource.password=",
+                        "spring.sql.init.mode=always",
+                        "spring.sql.init.schema-locations=classpath:catalog-schema-h2.sql"}
+                : new String[]{
+                        "spring.datasource.url=" + jdbcUrl,
+                        "spring.datasource.username=" + dbUsername,
+                        "spring.datasource.password=" + dbPassword,
+                        "spring.sql.init.mode=never"};
+        String[] reactiveDatabase = r2dbcUrl == null
+                ? new String[]{
+                        "spring.r2dbc.url=r2dbc:h2:mem:///loadtest-reactive;DB_CLOSE_DELAY=-1",
+                        "spring.r2dbc.username=sa",
+                        "spring.r2dbc.password=",
+                        "spring.sql.init.mode=always",
+                        "spring.sql.init.schema-locations=classpath:catalog-schema-h2.sql"}
+                : new String[]{
+                        "spring.r2dbc.url=" + r2dbcUrl,
+                        "spring.r2dbc.username=" + dbUsername,
+                        "spring.r2dbc.password=" + dbPassword,
+                        "spring.sql.init.mode=never"};
+
+        // Passed as command-line arguments: builder properties are only defaults, and
+        // application-reactive.properties would point the reactive stack back at localhost MySQL
+        blocking = new SpringApplicationBuilder(MainApplication.class)
+                .web(WebApplicationType.SERVLET)
+                .run(arguments(blockingDatabase, "server.port=0", "spring.cache.type=none", "logging.level.demo=WARN"));
+        reactive = new SpringApplicationBuilder(ReactiveApplication.class)
+                .web(WebApplicationType.REACTIVE)
+                .profiles("reactive")
+                .run(arguments(reactiveDatabase, "server.port=0", "logging.level.demo=WARN"));
+        connections = ConnectionProvider.builder("loadtest")
+                .maxConnections(concurrency * 2)
+                .pendingAcquireMaxCount(-1)
+                .build();
+    }
+
+    private static String[] arguments(String[] database, String... common) {
+        return Stream.concat(Stream.of(common), Stream.of(database))
+                .map(property -> "--" + property)
+                .toArray(String[]::new);
+    }
+
+    @AfterAll
+    void stopApplications() {
+        if (connections != null) {
+            connections.dispose();
+        }
+        if (reactive != null) {
+            reactive.close();
+        }
+        if (blocking != null) {
+            blocking.close();
+        }
+    }
+
+    @Test
+    void getFilmById() {
+        compare("GET /api/films/{id}", i -> "/api/films/" + (1 + ThreadLocalRandom.current().nextInt(FILMS)));
+    }
+
+    @Test
+    void getAllFilms() {
+        compare("GET /api/films (" + FILMS + " rows)", i -> "/api/films");
+    }
+
+    private void compare(String scenario, IntFunction<String> uris) {
+        Result servlet = run(blocking, uris);
+        Result webflux = run(reactive, uris);
+        System.out.printf("%n%s, %d concurrent clients, %ds%n", scenario, concurrency, duration.toSeconds());
+        System.out.printf("  database: %s%n", jdbcUrl == null
+                ? "in-process H2 (framework overhead only, no I/O wait)"
+                : jdbcUrl + " / " + r2dbcUrl);
+        System.out.printf("  %-18s %12s %10s %10s %8s%n", "stack", "requests/s", "p50 ms", "p99 ms", "errors");
+        servlet.print("servlet + JDBC");
+        webflux.print("WebFlux + R2DBC");
+        assertEquals(0, servlet.errors, "servlet stack errors");
+        assertEquals(0, webflux.errors, "reactive stack errors");
+    }
+
+    private Result run(ConfigurableApplicationContext application, IntFunction<String> uris) {
+        int port = ((WebServerApplicationContext) application).getWebServer().getPort();
+        WebClient client = WebClient.builder()
+                .baseUrl("http://localhost:" + port)
+                .clientConnector(new ReactorClientHttpConnector(HttpClient.create(connections)))
+                .codecs(codecs -> codecs.defaultCodecs().maxInMemorySize(-1))
+                .build();
+
+        drive(client, uris, warmup, new ConcurrentLinkedQueue<>(), new LongAdder());
+
+        ConcurrentLinkedQueue<Long> latencies = new ConcurrentLinkedQueue<>();
+        LongAdder errors = new LongAdder();
+        long start = System.nanoTime();
+        drive(client, uris, duration, latencies, errors);
+        long elapsed = System.nanoTime() - start;
+        return new Result(latencies.stream().mapToLong(Long::longValue).toArray(), errors.sum(), elapsed);
+    }
+
+    // Closed loop: each client issues its next request when the previous one has completed
+    private void drive(WebClient client, IntFunction<String> uris, Duration length,
+                       ConcurrentLinkedQueue<Long> latencies, LongAdder errors) {
+        long deadline = System.nanoTime() + length.toNanos();
+        Flux.range(0, concurrency)
+                .flatMap(clientId -> Mono.defer(() -> {
+                            long sent = System.nanoTime();
+                            return client.get().uri(uris.apply(clientId))
+                                    .retrieve()
+                                    .toBodilessEntity()
+                                    .doOnSuccess(response -> latencies.add(System.nanoTime() - sent))
+                                    .onErrorResume(e -> {
+                                        errors.increment();
+                                        return Mono.empty();
+                                    });
+                        })
+                        .repeat(() -> System.nanoTime() < deadline), concurrency)
+                .blockLast(length.plusSeconds(30));
+    }
+
+    private record Result(long[] latencies, long errors, long elapsedNanos) {
+
+        void print(String stack) {
+            long[] sorted = latencies.clone();
+            Arrays.sort(sorted);
+            double perSecond = sorted.length * 1_000_000_000.0 / elapsedNanos;
+            System.out.printf("  %-18s %12.0f %10.2f %10.2f %8d%n", stack, perSecond,
+                    percentile(sorted, 0.50), percentile(sorted, 0.99), errors);
+        }
+
+        private static double percentile(long[] sorted, double p) {
+            if (sorted.length == 0) {
+                return 0;
+            }
+            int index = (int) Math.ceil(p * sorted.length) - 1;
+            return sorted[Math.max(0, index)] / 1_000_000.0;
+        }
+    }
+}
@@ -0,0 +1,221 @@
+package demo.reactive;
+
+import demo.cache.CacheInvalidationBus;
+import demo.dto.ActorRequest;
+import demo.dto.ActorResponse;
+import demo.dto.ActorUpdateRequest;
+import demo.dto.ApiResponse;
+import demo.dto.FilmResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.test.StepVerifier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@SpringBootTest(
+        classes = ReactiveApplication.class,
+        webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {
+                "spring.main.web-application-type=reactive",
+                "spring.r2dbc.url=r2dbc:h2:mem:///reactive-routes;DB_CLOSE_DELAY=-1",
+                "spring.r2dbc.username=sa",
+                "spring.r2dbc.password=",
+                "spring.sql.init.mode=always",
+                "spring.sql.init.schema-locations=classpath:catalog-schema-h2.sql"
+        })
+@ActiveProfiles("reactive")
+class ReactiveCatalogRoutesTest {
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Autowired
+    private DatabaseClient databaseClient;
+
+    @MockitoBean
+    private CacheInvalidationBus invalidationBus;
+
+    @Test
+    void getFilmById_ShouldReturnFilmWithETag() {
+        webTestClient.get().uri("/api/films/1")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals(HttpHeaders.ETAG, "\"2006-02-15T05:03:42\"")
+                .expectBody()
+                .jsonPath("$.status").isEqualTo("success")
+                .jsonPath("$.data.title").isEqualTo("FILM 1")
+                .jsonPath("$.data.rating").isEqualTo("PG")
+                .jsonPath("$.data.specialFeatures.length()").isEqualTo(2);
+    }
+
+    @Test
+    void getFilmById_WhenMissing_ShouldReturn404() {
+        webTestClient.get().uri("/api/films/999999")
+                .exchange()
+                .expectStatus().isNotFound()
+                .expectBody()
+                .jsonPath("$.message").isEqualTo("Film not found with id: 999999");
+    }
+
+    @Test
+    void getAllFilms_WithNdjson_ShouldStreamEveryRow() {
+        StepVerifier.create(webTestClient.get().uri("/api/films")
+                        .accept(MediaType.APPLICATION_NDJSON)
+                        .exchange()
+                        .expectStatus().isOk()
+                        .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+                        .returnResult(FilmResponse.class)
+                        .getResponseBody()
+                        .map(FilmResponse::getFilmId), 0)
+                .thenRequest(10)
+                .expectNext(1, 2, 3, 4, 5, 6, 7, 8, 9, 10)
+                .thenRequest(Long.MAX_VALUE)
+                .expectNextCount(990)
+                .verifyComplete();
+    }
+
+    @Test
+    void getAllActors_WithJson_ShouldWrapListInApiResponse() {
+        webTestClient.get().uri("/api/actors")
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.message").isEqualTo("Successfully retrieved all actors")
+                .jsonPath("$.data[0].actorId").isEqualTo(1);
+    }
+
+    @Test
+    void updateActor_WithStaleIfMatch_ShouldReturn412WithCurrentETag() {
+        ActorUpdateRequest request = new ActorUpdateRequest(2, "NEW", "NAME");
+        String original = "\"2006-02-15T04:34:33\"";
+
+        String current = webTestClient.patch().uri("/api/actors")
+                .header(HttpHeaders.IF_MATCH, original)
+                .bodyValue(request)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(String.class)
+                .returnResult()
+                .getResponseHeaders()
+                .getETag();
+
+        webTestClient.patch().uri("/api/actors")
+                .header(HttpHeaders.IF_MATCH, original)
+                .bodyValue(request)
+                .exchange()
+                .expectStatus().isEqualTo(412)
+                .expectHeader().valueEquals(HttpHeaders.ETAG, current);
+    }
+
+    @Test
+    void updateActor_TwiceInTheSameSecond_ShouldChangeETagEachTime() {
+        ActorUpdateRequest request = new ActorUpdateRequest(3, "SAME", "SECOND");
+
+        String first = webTestClient.patch().uri("/api/actors")
+                .bodyValue(request)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(String.class)
+                .returnResult()
+                .getResponseHeaders()
+                .getETag();
+        String second = webTestClient.patch().uri("/api/actors")
+                .bodyValue(request)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(String.class)
+                .returnResult()
+                .getResponseHeaders()
+                .getETag();
+
+        assertNotEquals(first, second);
+        webTestClient.get().uri("/api/actors/3")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals(HttpHeaders.ETAG, second);
+    }
+
+    @Test
+    void createAndDeleteActor_ShouldWriteTombstone() {
+        ActorResponse created = webTestClient.post().uri("/api/actors")
+                .bodyValue(new ActorRequest("Reactive", "Actor"))
+                .exchange()
+                .expectStatus().isCreated()
+                .expectBody(new ParameterizedTypeReference<ApiResponse<ActorResponse>>() {})
+                .returnResult()
+                .getResponseBody()
+                .getData();
+
+        webTestClient.delete().uri("/api/actors/{id}", created.getActorId())
+                .exchange()
+                .expectStatus().isNoContent();
+        webTestClient.delete().uri("/api/actors/{id}", created.getActorId())
+                .exchange()
+                .expectStatus().isNotFound();
+
+        Long tombstones = databaseClient
+                .sql("SELECT COUNT(*) AS n FROM deleted_entity WHERE entity_type = 'actor' AND entity_id = :id")
+                .bind("id", created.getActorId())
+                .map(row -> ((Number) row.get("n")).longValue())
+                .one()
+                .block();
+        assertEquals(1L, tombstones);
+    }
+
+    @Test
+    void updateAndDeleteFilm_ShouldInvalidateServletCaches() {
+        String film = "{\"title\":\"INVALIDATED\",\"languageId\":1}";
+
+        webTestClient.put().uri("/api/films/5")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(film)
+                .exchange()
+                .expectStatus().isOk();
+        verify(invalidationBus).invalidate(CacheInvalidationBus.FILMS, 5);
+
+        // Created and deleted here so the seeded 1000 rows stay intact for the NDJSON test
+        FilmResponse created = webTestClient.post().uri("/api/films")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(film)
+                .exchange()
+                .expectStatus().isCreated()
+                .expectBody(new ParameterizedTypeReference<ApiResponse<FilmResponse>>() {})
+                .returnResult()
+                .getResponseBody()
+                .getData();
+        webTestClient.delete().uri("/api/films/{id}", created.getFilmId())
+                .exchange()
+                .expectStatus().isNoContent();
+        verify(invalidationBus, times(2)).invalidate(CacheInvalidationBus.FILMS, created.getFilmId());
+
+        // Nothing written, nothing to evict
+        webTestClient.delete().uri("/api/films/999999")
+                .exchange()
+                .expectStatus().isNotFound();
+        verify(invalidationBus, never()).invalidate(CacheInvalidationBus.FILMS, 999999);
+    }
+
+    @Test
+    void createFilm_WithBlankTitle_ShouldReturn400() {
+        webTestClient.post().uri("/api/films")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"title\":\"\",\"languageId\":1}")
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.message").isEqualTo("Validation failed");
+    }
+}
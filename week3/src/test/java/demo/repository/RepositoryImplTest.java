@@ -0,0 +1,194 @@
+package demo.repository;
+
+import demo.dto.ActorPatchRequest;
+import demo.dto.FilmPatchRequest;
+import demo.model.Actor;
+import demo.model.Film;
+import demo.service.LastUpdates;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+/**
+ * last_update is the ETag, so every write must change it, even when two writes land in the same
+ * second or the writer's clock is behind the row's version.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:repository-versions;DB_CLOSE_DELAY=-1",
+        "spring.sql.init.mode=always",
+        "spring.sql.init.schema-locations=classpath:catalog-schema-h2.sql"
+})
+class RepositoryImplTest {
+
+    @Autowired
+    private RepositoryImpl repository;
+
+    @MockitoSpyBean
+    private JdbcTemplate jdbc;
+
+    @Test
+    void updateActorById_ShouldStoreTheBoundVersionWithoutReadingItBack() {
+        // Given - a row last written an hour ago
+        jdbc.update("UPDATE actor SET last_update = ? WHERE actor_id = 8",
+                Timestamp.valueOf(LastUpdates.next(null).minusHours(1)));
+        LocalDateTime now = LastUpdates.next(null);
+        Actor actor = actor(8, "FRESH", now);
+        clearInvocations(jdbc);
+
+        // When
+        assertEquals(1, repository.updateActorById(8, actor));
+
+        // Then
+        assertEquals(now, actor.getLastUpdate());
+        verify(jdbc, never()).queryForList(anyString(), eq(LocalDateTime.class), any(Object[].class));
+        assertEquals(now, repository.findActorLastUpdate(8).orElseThrow());
+    }
+
+    @Test
+    void updateActorByIdAndFilmById_WhenRowIsMissing_ShouldReturnZero() {
+        LocalDateTime now = LastUpdates.next(null);
+
+        assertEquals(0, repository.updateActorById(999_999, actor(999_999, "NOBODY", now)));
+        assertEquals(0, repository.updateFilmById(999_999, film("NOTHING", now)));
+    }
+
+    @Test
+    void updateActorById_TwiceInTheSameSecond_ShouldAdvanceVersionEachTime() {
+        // Given - both writes use the same clock reading
+        LocalDateTime now = LastUpdates.next(null);
+        Actor first = actor(1, "FIRST", now);
+        Actor second = actor(1, "SECOND", now);
+
+        // When
+        assertEquals(1, repository.updateActorById(1, first));
+        assertEquals(1, repository.updateActorById(1, second));
+
+        // Then
+        assertEquals(now, first.getLastUpdate());
+        assertEquals(now.plusSeconds(1), second.getLastUpdate());
+        assertEquals(second.getLastUpdate(), repository.findActorLastUpdate(1).orElseThrow());
+    }
+
+    @Test
+    void updateActorById_WhenRowVersionIsAheadOfClock_ShouldMovePastIt() {
+        // Given - written last by a node whose clock is an hour ahead
+        LocalDateTime ahead = LastUpdates.next(null).plusHours(1);
+        jdbc.update("UPDATE actor SET last_update = ? WHERE actor_id = 2", Timestamp.valueOf(ahead));
+        Actor actor = actor(2, "BEHIND", LastUpdates.next(null));
+
+        // When
+        repository.updateActorById(2, actor);
+
+        // Then
+        assertEquals(ahead.plusSeconds(1), actor.getLastUpdate());
+        assertEquals(ahead.plusSeconds(1), repository.findActorLastUpdate(2).orElseThrow());
+    }
+
+    @Test
+    void updateActorByIdIfUnchanged_ShouldStoreNextOfExpectedVersion() {
+        // Given
+        LocalDateTime now = LastUpdates.next(null);
+        repository.updateActorById(3, actor(3, "FIRST", now));
+        LocalDateTime expected = repository.findActorLastUpdate(3).orElseThrow();
+        Actor actor = actor(3, "SECOND", LastUpdates.next(expected));
+
+        // When
+        int rows = repository.updateActorByIdIfUnchanged(3, actor, expected);
+
+        // Then
+        assertEquals(1, rows);
+        assertTrue(actor.getLastUpdate().isAfter(expected));
+        assertEquals(actor.getLastUpdate(), repository.findActorLastUpdate(3).orElseThrow());
+        assertEquals(0, repository.updateActorByIdIfUnchanged(3, actor(3, "THIRD", LastUpdates.next(expected)), expected));
+    }
+
+    @Test
+    void updateFilmById_TwiceInTheSameSecond_ShouldAdvanceVersionEachTime() {
+        // Given
+        LocalDateTime now = LastUpdates.next(null);
+        Film first = film("FIRST", now);
+        Film second = film("SECOND", now);
+
+        // When
+        repository.updateFilmById(1, first);
+        repository.updateFilmById(1, second);
+
+        // Then
+        assertEquals(now.plusSeconds(1), second.getLastUpdate());
+        assertEquals(second.getLastUpdate(), repository.findFilmLastUpdate(1).orElseThrow());
+    }
+
+    @Test
+    void patchActors_TwiceWithTheSameVersion_ShouldAdvanceVersionEachTime() {
+        // Given
+        LocalDateTime now = LastUpdates.next(null);
+        List<ActorPatchRequest> patch = List.of(new ActorPatchRequest(4, "PATCHED", null));
+
+        // When
+        repository.patchActors(patch, now);
+        LocalDateTime afterFirst = repository.findActorLastUpdate(4).orElseThrow();
+        repository.patchActors(patch, now);
+
+        // Then
+        assertEquals(now, afterFirst);
+        assertEquals(now.plusSeconds(1), repository.findActorLastUpdate(4).orElseThrow());
+    }
+
+    @Test
+    void patchFilms_TwiceWithTheSameVersion_ShouldAdvanceVersionEachTime() {
+        // Given
+        LocalDateTime now = LastUpdates.next(null);
+        FilmPatchRequest patch = new FilmPatchRequest();
+        patch.setFilmId(4);
+        patch.setTitle("PATCHED");
+
+        // When
+        repository.patchFilms(List.of(patch), now);
+        repository.patchFilms(List.of(patch), now);
+
+        // Then
+        assertEquals(now.plusSeconds(1), repository.findFilmLastUpdate(4).orElseThrow());
+    }
+
+    @Test
+    void findActorsAndFilmsByIds_ShouldSkipMissingIds() {
+        assertEquals(List.of(5, 6), repository.findActorsByIds(List.of(5, 999_999, 6)).stream()
+                .map(Actor::getActorId).sorted().toList());
+        assertEquals(List.of(7), repository.findFilmsByIds(List.of(7, 999_999)).stream()
+                .map(Film::getFilmId).toList());
+        assertTrue(repository.findActorsByIds(List.of()).isEmpty());
+    }
+
+    private static Actor actor(int id, String firstName, LocalDateTime lastUpdate) {
+        Actor actor = new Actor();
+        actor.setActorId(id);
+        actor.setFirstName(firstName);
+        actor.setLastName("LAST");
+        actor.setLastUpdate(lastUpdate);
+        return actor;
+    }
+
+    private static Film film(String title, LocalDateTime lastUpdate) {
+        Film film = new Film();
+        film.setTitle(title);
+        film.setLanguageId((short) 1);
+        film.setRentalDuration((short) 3);
+        film.setRating(Film.Rating.G);
+        film.setLastUpdate(lastUpdate);
+        return film;
+    }
+}
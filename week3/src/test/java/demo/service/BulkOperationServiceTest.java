@@ -0,0 +1,159 @@
+package demo.service;
+
+import demo.dto.ActorPatchRequest;
+import demo.dto.ActorResponse;
+import demo.dto.BulkItemResult;
+import demo.dto.BulkItemResult.Status;
+import demo.dto.BulkOperationResponse;
+import demo.dto.FilmPatchRequest;
+import demo.event.CatalogEvent;
+import demo.event.CatalogEvent.Action;
+import demo.model.Actor;
+import demo.model.Film;
+import demo.repository.IRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BulkOperationServiceTest {
+
+    @Mock
+    private IRepository repository;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private BulkOperationService bulkOperationService;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(transactionTemplate.execute(any())).thenAnswer(
+                invocation -> invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        bulkOperationService = new BulkOperationService(repository, transactionTemplate, eventPublisher, 2, 100);
+    }
+
+    @Test
+    void deleteFilms_ShouldBatchPerChunkAndReportOutcomesInRequestOrder() {
+        // Given
+        when(repository.deleteFilmsByIds(List.of(1, 2))).thenReturn(new int[]{1, 0});
+        when(repository.deleteFilmsByIds(List.of(3))).thenReturn(new int[]{1});
+
+        // When
+        BulkOperationResponse result = bulkOperationService.deleteFilms(List.of(1, 2, 1, 3));
+
+        // Then
+        assertEquals(4, result.getRequested());
+        assertEquals(2, result.getSucceeded());
+        assertEquals(List.of(Status.DELETED, Status.NOT_FOUND, Status.DUPLICATE, Status.DELETED),
+                result.getResults().stream().map(BulkItemResult::getStatus).toList());
+        verify(repository, never()).deleteFilmById(anyInt());
+        verify(eventPublisher, times(2)).publishEvent(any(Object.class));
+    }
+
+    @Test
+    void deleteFilms_WhenChunkHitsConstraint_ShouldRetryOneByOne() {
+        // Given
+        when(repository.deleteFilmsByIds(List.of(1, 2))).thenThrow(new DataIntegrityViolationException("fk_inventory_film"));
+        when(repository.deleteFilmById(1)).thenThrow(new DataIntegrityViolationException("fk_inventory_film"));
+        when(repository.deleteFilmById(2)).thenReturn(1);
+
+        // When
+        BulkOperationResponse result = bulkOperationService.deleteFilms(List.of(1, 2));
+
+        // Then
+        assertEquals(1, result.getSucceeded());
+        assertEquals(Status.CONFLICT, result.getResults().get(0).getStatus());
+        assertEquals(Status.DELETED, result.getResults().get(1).getStatus());
+    }
+
+    @Test
+    void patchFilms_WhenChunkHitsConstraint_ShouldRetryOneByOne() {
+        // Given - film 1 points at a language that does not exist
+        FilmPatchRequest badLanguage = filmPatch(1);
+        badLanguage.setLanguageId((short) 99);
+        FilmPatchRequest retitle = filmPatch(2);
+        retitle.setTitle("NEW TITLE");
+        when(repository.patchFilms(eq(List.of(badLanguage, retitle)), any()))
+                .thenThrow(new DataIntegrityViolationException("fk_film_language"));
+        when(repository.patchFilms(eq(List.of(badLanguage)), any()))
+                .thenThrow(new DataIntegrityViolationException("fk_film_language"));
+        when(repository.patchFilms(eq(List.of(retitle)), any())).thenReturn(new int[]{1});
+        when(repository.findFilmsByIds(List.of(2))).thenReturn(List.of(film(2, "NEW TITLE")));
+
+        // When
+        BulkOperationResponse result = bulkOperationService.patchFilms(List.of(badLanguage, retitle));
+
+        // Then
+        assertEquals(1, result.getSucceeded());
+        assertEquals(List.of(Status.CONFLICT, Status.UPDATED),
+                result.getResults().stream().map(BulkItemResult::getStatus).toList());
+        assertTrue(result.getResults().get(0).getMessage().contains("fk_film_language"));
+        verify(eventPublisher, times(1)).publishEvent(any(Object.class));
+    }
+
+    @Test
+    void patchActors_ShouldPublishUpdatedEventsWithRowsReadBack() {
+        // Given
+        when(repository.patchActors(anyList(), any())).thenReturn(new int[]{1, 0});
+        Actor actor = new Actor();
+        actor.setActorId(1);
+        actor.setFirstName("PATCHED");
+        actor.setLastName("LAST1");
+        actor.setLastUpdate(LocalDateTime.of(2024, 1, 31, 10, 0));
+        when(repository.findActorsByIds(List.of(1))).thenReturn(List.of(actor));
+
+        // When
+        BulkOperationResponse result = bulkOperationService.patchActors(List.of(
+                new ActorPatchRequest(1, "PATCHED", null), new ActorPatchRequest(2, "GONE", null)));
+
+        // Then
+        assertEquals(List.of(Status.UPDATED, Status.NOT_FOUND),
+                result.getResults().stream().map(BulkItemResult::getStatus).toList());
+        ArgumentCaptor<CatalogEvent> event = ArgumentCaptor.forClass(CatalogEvent.class);
+        verify(eventPublisher).publishEvent(event.capture());
+        assertEquals(Action.UPDATED, event.getValue().getAction());
+        ActorResponse data = assertInstanceOf(ActorResponse.class, event.getValue().getData());
+        assertEquals("PATCHED", data.getFirstName());
+        assertEquals(actor.getLastUpdate(), data.getLastUpdate());
+    }
+
+    @Test
+    void deleteFilms_WithTooManyIds_ShouldThrow() {
+        List<Integer> ids = IntStream.rangeClosed(1, 101).boxed().toList();
+        assertThrows(IllegalArgumentException.class, () -> bulkOperationService.deleteFilms(ids));
+    }
+
+    private static FilmPatchRequest filmPatch(int id) {
+        FilmPatchRequest patch = new FilmPatchRequest();
+        patch.setFilmId(id);
+        return patch;
+    }
+
+    private static Film film(int id, String title) {
+        Film film = new Film();
+        film.setFilmId(id);
+        film.setTitle(title);
+        film.setLanguageId((short) 1);
+        film.setLastUpdate(LocalDateTime.of(2024, 1, 31, 10, 0));
+        return film;
+    }
+}
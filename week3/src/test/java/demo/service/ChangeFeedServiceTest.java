@@ -0,0 +1,80 @@
+package demo.service;
+
+import demo.dto.ActorResponse;
+import demo.dto.ChangeCursor;
+import demo.dto.ChangeFeedResponse;
+import demo.model.Actor;
+import demo.model.Tombstone;
+import demo.repository.IRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ChangeFeedServiceTest {
+
+    private static final LocalDateTime T0 = LocalDateTime.of(2024, 1, 31, 10, 0);
+
+    @Mock
+    private IRepository repository;
+
+    private ChangeFeedService changeFeedService;
+
+    @BeforeEach
+    void setUp() {
+        changeFeedService = new ChangeFeedService(repository, 0, 500, 5000);
+    }
+
+    @Test
+    void getActorChanges_ShouldMergeUpdatesAndDeletesInChangeOrder() {
+        // Given
+        when(repository.findActorsChangedSince(any(), anyInt(), any(), eq(3)))
+                .thenReturn(List.of(actor(5, T0), actor(2, T0.plusSeconds(2))));
+        when(repository.findActorTombstonesSince(any(), anyInt(), any(), eq(3)))
+                .thenReturn(List.of(new Tombstone(Tombstone.ACTOR, 9, T0.plusSeconds(1))));
+
+        // When
+        ChangeFeedResponse<ActorResponse> result = changeFeedService.getActorChanges(null, 2);
+
+        // Then
+        assertEquals(List.of(5), result.getChanged().stream().map(ActorResponse::getActorId).toList());
+        assertEquals(List.of(9), result.getDeleted());
+        assertTrue(result.isHasMore());
+        assertEquals(new ChangeCursor(T0.plusSeconds(1), 9), ChangeCursor.parse(result.getNextCursor()));
+    }
+
+    @Test
+    void getActorChanges_ShouldResumeFromCursor() {
+        // Given
+        String since = new ChangeCursor(T0, 5).encode();
+        when(repository.findActorsChangedSince(eq(T0), eq(5), any(), anyInt())).thenReturn(List.of());
+        when(repository.findActorTombstonesSince(eq(T0), eq(5), any(), anyInt())).thenReturn(List.of());
+
+        // When
+        ChangeFeedResponse<ActorResponse> result = changeFeedService.getActorChanges(since, null);
+
+        // Then
+        assertTrue(result.getChanged().isEmpty());
+        assertFalse(result.isHasMore());
+        assertEquals(since, result.getNextCursor());
+    }
+
+    @Test
+    void getActorChanges_WithInvalidCursor_ShouldThrow() {
+        assertThrows(IllegalArgumentException.class, () -> changeFeedService.getActorChanges("not a cursor", null));
+        verifyNoInteractions(repository);
+    }
+
+    private static Actor actor(int id, LocalDateTime lastUpdate) {
+        return new Actor(id, "First" + id, "Last" + id, lastUpdate);
+    }
+}
@@ -0,0 +1,87 @@
+package demo.service;
+
+import demo.dto.FilmRequest;
+import demo.dto.FilmResponse;
+import demo.exception.PreconditionFailedException;
+import demo.model.Film;
+import demo.repository.IRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class FilmServiceTest {
+
+    private static final LocalDateTime VERSION = LocalDateTime.of(2030, 1, 31, 10, 30);
+
+    @Mock
+    private IRepository repository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private FilmService filmService;
+    private FilmRequest request;
+
+    @BeforeEach
+    void setUp() {
+        filmService = new FilmService(repository, eventPublisher);
+        request = new FilmRequest();
+        request.setTitle("The Matrix");
+        request.setLanguageId((short) 1);
+    }
+
+    @Test
+    void updateFilm_WithMatchingVersion_ShouldReturnNewVersionWithoutReadingBack() {
+        // Given
+        when(repository.updateFilmByIdIfUnchanged(eq(1), any(Film.class), eq(VERSION))).thenReturn(1);
+
+        // When
+        Optional<FilmResponse> result = filmService.updateFilm(1, request, VERSION);
+
+        // Then
+        assertTrue(result.isPresent());
+        assertEquals("The Matrix", result.get().getTitle());
+        assertTrue(result.get().getLastUpdate().isAfter(VERSION));
+        verify(repository, never()).findFilmById(anyInt());
+    }
+
+    @Test
+    void updateFilm_WithStaleVersion_ShouldThrowPreconditionFailed() {
+        // Given
+        LocalDateTime current = VERSION.plusMinutes(5);
+        when(repository.updateFilmByIdIfUnchanged(eq(1), any(Film.class), eq(VERSION))).thenReturn(0);
+        when(repository.findFilmLastUpdate(1)).thenReturn(Optional.of(current));
+
+        // When
+        PreconditionFailedException ex = assertThrows(PreconditionFailedException.class,
+                () -> filmService.updateFilm(1, request, VERSION));
+
+        // Then
+        assertEquals(current, ex.getCurrentLastUpdate());
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    void updateFilm_WhenFilmMissing_ShouldReturnEmpty() {
+        // Given
+        when(repository.updateFilmByIdIfUnchanged(eq(1), any(Film.class), eq(VERSION))).thenReturn(0);
+        when(repository.findFilmLastUpdate(1)).thenReturn(Optional.empty());
+
+        // When
+        Optional<FilmResponse> result = filmService.updateFilm(1, request, VERSION);
+
+        // Then
+        assertTrue(result.isEmpty());
+    }
+}
@@ -0,0 +1,46 @@
+-- Subset of sakila's actor/film tables (ENUM/SET columns as VARCHAR) plus the change-feed
+-- tombstones, seeded with 200 actors and 1000 films for the reactive route and load tests.
+DROP TABLE IF EXISTS deleted_entity;
+DROP TABLE IF EXISTS film;
+DROP TABLE IF EXISTS actor;
+
+CREATE TABLE actor (
+    actor_id INT AUTO_INCREMENT PRIMARY KEY,
+    first_name VARCHAR(45) NOT NULL,
+    last_name VARCHAR(45) NOT NULL,
+    last_update TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE TABLE film (
+    film_id INT AUTO_INCREMENT PRIMARY KEY,
+    title VARCHAR(255) NOT NULL,
+    description VARCHAR(1000),
+    release_year SMALLINT,
+    language_id SMALLINT NOT NULL,
+    original_language_id SMALLINT,
+    rental_duration SMALLINT NOT NULL DEFAULT 3,
+    rental_rate DECIMAL(4, 2) NOT NULL DEFAULT 4.99,
+    length INT,
+    replacement_cost DECIMAL(5, 2) NOT NULL DEFAULT 19.99,
+    rating VARCHAR(5) DEFAULT 'G',
+    special_features VARCHAR(100),
+    last_update TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE TABLE deleted_entity (
+    entity_type VARCHAR(16) NOT NULL,
+    entity_id INT NOT NULL,
+    deleted_at TIMESTAMP(6) NOT NULL,
+    PRIMARY KEY (entity_type, deleted_at, entity_id)
+);
+
+INSERT INTO actor (first_name, last_name, last_update)
+SELECT 'FIRST' || X, 'LAST' || X, TIMESTAMP '2006-02-15 04:34:33'
+FROM SYSTEM_RANGE(1, 200);
+
+INSERT INTO film (title, description, release_year, language_id, rental_duration, rental_rate, length,
+                  replacement_cost, rating, special_features, last_update)
+SELECT 'FILM ' || X, 'Description of film ' || X, 2006, 1, 3, 4.99, 90 + MOD(X, 60), 19.99,
+       CASE MOD(X, 5) WHEN 0 THEN 'G' WHEN 1 THEN 'PG' WHEN 2 THEN 'PG-13' WHEN 3 THEN 'R' ELSE 'NC-17' END,
+       'Trailers,Deleted Scenes', TIMESTAMP '2006-02-15 05:03:42'
+FROM SYSTEM_RANGE(1, 1000);
@@ -0,0 +1,59 @@
+package com.example.demo.config;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Hit ratios of the Hibernate second-level, natural-id and query caches at /actuator/cachestats.
+ * Raw counters are also published as hibernate.* meters by Spring Boot's Hibernate metrics.
+ */
+@Component
+@Endpoint(id = "cachestats")
+public class CacheStatisticsEndpoint {
+    
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    
+    @ReadOperation
+    public Map<String, Object> cacheStatistics() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        
+        Map<String, Object> regions = new LinkedHashMap<>();
+        for (String regionName : statistics.getSecondLevelCacheRegionNames()) {
+            // Query result regions are listed with the entity regions but are not domain data regions
+            CacheRegionStatistics region = statistics.getQueryRegionStatistics(regionName);
+            if (region == null) {
+                region = statistics.getDomainDataRegionStatistics(regionName);
+            }
+            regions.put(regionName, ratio(region.getHitCount(), region.getMissCount(), region.getPutCount()));
+        }
+        
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("secondLevel", ratio(statistics.getSecondLevelCacheHitCount(),
+                statistics.getSecondLevelCacheMissCount(), statistics.getSecondLevelCachePutCount()));
+        result.put("naturalId", ratio(statistics.getNaturalIdCacheHitCount(),
+                statistics.getNaturalIdCacheMissCount(), statistics.getNaturalIdCachePutCount()));
+        result.put("query", ratio(statistics.getQueryCacheHitCount(),
+                statistics.getQueryCacheMissCount(), statistics.getQueryCachePutCount()));
+        result.put("regions", regions);
+        return result;
+    }
+    
+    private static Map<String, Object> ratio(long hits, long misses, long puts) {
+        Map<String, Object> counts = new LinkedHashMap<>();
+        counts.put("hits", hits);
+        counts.put("misses", misses);
+        counts.put("puts", puts);
+        counts.put("hitRatio", hits + misses == 0 ? 0.0 : (double) hits / (hits + misses));
+        return counts;
+    }
+}
@@ -1,18 +1,59 @@
 package com.example.demo.config;
 
+import com.example.demo.filter.ClientIpResolver;
+import com.example.demo.filter.JdbcRateLimitBackend;
+import com.example.demo.filter.LocalRateLimitBackend;
+import com.example.demo.filter.RateLimit;
+import com.example.demo.filter.RateLimitBackend;
+import com.example.demo.filter.RateLimitPolicy;
 import com.example.demo.filter.RateLimitingFilter;
 import com.example.demo.filter.XSSFilter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
 
 @Configuration
+@EnableConfigurationProperties(RateLimitProperties.class)
 public class FilterConfig {
     
+    @Autowired
+    private RateLimitProperties rateLimitProperties;
+    
+    @Bean
+    public ClientIpResolver clientIpResolver() {
+        return new ClientIpResolver(rateLimitProperties.getTrustedProxies());
+    }
+    
+    @Bean
+    @ConditionalOnProperty(name = "rate-limit.backend", havingValue = "local", matchIfMissing = true)
+    public RateLimitBackend localRateLimitBackend(MeterRegistry meterRegistry) {
+        return new LocalRateLimitBackend(rateLimitProperties.getMaxBuckets(), rateLimitProperties.getIdleExpiry(),
+                meterRegistry);
+    }
+    
+    @Bean
+    @ConditionalOnProperty(name = "rate-limit.backend", havingValue = "jdbc")
+    public RateLimitBackend jdbcRateLimitBackend(JdbcTemplate jdbcTemplate, MeterRegistry meterRegistry) {
+        return new JdbcRateLimitBackend(jdbcTemplate, rateLimitProperties.getJdbc().getPrefetch(),
+                rateLimitProperties.getMaxBuckets(), rateLimitProperties.getIdleExpiry(), meterRegistry);
+    }
+    
     @Bean
-    public FilterRegistrationBean<RateLimitingFilter> rateLimitingFilter() {
+    public FilterRegistrationBean<RateLimitingFilter> rateLimitingFilter(RateLimitBackend rateLimitBackend,
+                                                                         ClientIpResolver clientIpResolver,
+                                                                         MeterRegistry meterRegistry) {
         FilterRegistrationBean<RateLimitingFilter> registrationBean = new FilterRegistrationBean<>();
-        registrationBean.setFilter(new RateLimitingFilter());
+        registrationBean.setFilter(new RateLimitingFilter(rateLimitBackend, rateLimitPolicies(), clientIpResolver,
+                meterRegistry));
         registrationBean.addUrlPatterns("/api/*");
         registrationBean.setOrder(1);
         return registrationBean;
@@ -26,5 +67,23 @@ public class FilterConfig {
         registrationBean.setOrder(2);
         return registrationBean;
     }
+    
+    private List<RateLimitPolicy> rateLimitPolicies() {
+        if (rateLimitProperties.getPolicies().isEmpty()) {
+            // Backwards compatible single tier: `capacity` requests per refill period per IP
+            RateLimit limit = new RateLimit(rateLimitProperties.getCapacity(), rateLimitProperties.getRefillPeriod());
+            return List.of(new RateLimitPolicy("default", "/**", Set.of(), RateLimitPolicy.Scope.IP, limit, 1));
+        }
+        
+        return rateLimitProperties.getPolicies().stream()
+                .map(policy -> new RateLimitPolicy(
+                        policy.getName(),
+                        policy.getPattern(),
+                        new HashSet<>(policy.getMethods()),
+                        RateLimitPolicy.parseScope(policy.getScope()),
+                        new RateLimit(policy.getLimit() + policy.getBurst(), policy.getLimit(),
+                                policy.getRefillPeriod()),
+                        policy.getCost()))
+                .toList();
+    }
 }
-
@@ -0,0 +1,21 @@
+package com.example.demo.config;
+
+import com.example.demo.dto.LoginRequest;
+import com.example.demo.dto.RegisterRequest;
+import com.example.demo.filter.XssStringDeserializer;
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class JacksonConfig {
+    
+    // Picked up by Spring Boot's ObjectMapper; only the auth request bodies are escaped while parsing
+    @Bean
+    public Module xssModule() {
+        SimpleModule module = new SimpleModule("XssModule");
+        module.addDeserializer(String.class, new XssStringDeserializer(RegisterRequest.class, LoginRequest.class));
+        return module;
+    }
+}
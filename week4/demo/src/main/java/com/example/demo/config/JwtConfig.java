@@ -0,0 +1,44 @@
+package com.example.demo.config;
+
+import com.example.demo.security.JwtKeyRing;
+import com.example.demo.security.JwtSigningKey;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+@Configuration
+@EnableConfigurationProperties(JwtKeyProperties.class)
+public class JwtConfig {
+    
+    @Autowired
+    private JwtKeyProperties jwtKeyProperties;
+    
+    @Value("${jwt.secret}")
+    private String jwtSecret;
+    
+    @Bean
+    public JwtKeyRing jwtKeyRing() {
+        if (jwtKeyProperties.getKeys().isEmpty()) {
+            // Backwards compatible single key: HMAC over jwt.secret, strongest hash its length allows
+            return new JwtKeyRing(List.of(JwtSigningKey.hmac(JwtKeyRing.DEFAULT_KID, legacyAlgorithm(), jwtSecret, null, null)));
+        }
+        
+        return new JwtKeyRing(jwtKeyProperties.getKeys().stream()
+                .map(key -> JwtSigningKey.isHmac(key.getAlgorithm())
+                        ? JwtSigningKey.hmac(key.getKid(), key.getAlgorithm(), key.getSecret(),
+                                key.getActivateAt(), key.getRetireAt())
+                        : JwtSigningKey.asymmetric(key.getKid(), key.getAlgorithm(), key.getPrivateKey(),
+                                key.getPublicKey(), key.getActivateAt(), key.getRetireAt()))
+                .toList());
+    }
+    
+    private String legacyAlgorithm() {
+        int length = jwtSecret.getBytes(StandardCharsets.UTF_8).length;
+        return length >= 64 ? "HS512" : length >= 48 ? "HS384" : "HS256";
+    }
+}
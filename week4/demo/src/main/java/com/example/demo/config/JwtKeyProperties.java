@@ -0,0 +1,40 @@
+package com.example.demo.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@ConfigurationProperties(prefix = "jwt.signing")
+public class JwtKeyProperties {
+    
+    // Empty means a single HMAC key derived from jwt.secret
+    private List<Key> keys = new ArrayList<>();
+    
+    @Data
+    public static class Key {
+        
+        private String kid;
+        
+        // HS256, HS384, HS512, ES256, ES384 or EdDSA
+        private String algorithm;
+        
+        // HMAC only: raw secret, at least as long as the algorithm's hash (32 bytes for HS256)
+        private String secret;
+        
+        // EC/EdDSA: Base64 PKCS#8 private key; omit to only verify with this key
+        private String privateKey;
+        
+        // EC/EdDSA: Base64 X.509 public key
+        private String publicKey;
+        
+        // Start signing with this key from this instant; the newest activated key signs
+        private Instant activateAt;
+        
+        // Stop accepting tokens signed with this key from this instant
+        private Instant retireAt;
+    }
+}
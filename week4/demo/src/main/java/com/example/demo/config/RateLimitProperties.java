@@ -0,0 +1,61 @@
+package com.example.demo.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@ConfigurationProperties(prefix = "rate-limit")
+public class RateLimitProperties {
+    
+    // Default per-IP limit, used when no policies are configured
+    private long capacity = 100;
+    
+    private Duration refillPeriod = Duration.ofMinutes(1);
+    
+    private long maxBuckets = 100000;
+    
+    private Duration idleExpiry = Duration.ofMinutes(10);
+    
+    private List<String> trustedProxies = new ArrayList<>();
+    
+    private String backend = "local";
+    
+    private Jdbc jdbc = new Jdbc();
+    
+    private List<Policy> policies = new ArrayList<>();
+    
+    @Data
+    public static class Jdbc {
+        
+        private long prefetch = 10;
+    }
+    
+    @Data
+    public static class Policy {
+        
+        private String name;
+        
+        // Spring PathPattern syntax, e.g. /api/auth/** or /api/users/{id}
+        private String pattern = "/**";
+        
+        // Empty means every HTTP method
+        private List<String> methods = new ArrayList<>();
+        
+        // ip, user or user-or-ip
+        private String scope = "ip";
+        
+        private long limit;
+        
+        // Extra tokens on top of limit that may be spent at once, refilled at the same rate
+        private long burst;
+        
+        private Duration refillPeriod = Duration.ofMinutes(1);
+        
+        // Tokens charged per matching request
+        private long cost = 1;
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.demo.controller;
+
+import com.example.demo.dto.RegisterRequest;
+import com.example.demo.dto.UserImportSummary;
+import com.example.demo.service.UserImportService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/admin")
+public class AdminController {
+    
+    @Autowired
+    private UserImportService userImportService;
+    
+    @Autowired
+    private ObjectMapper objectMapper;
+    
+    @PostMapping("/users/import")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<StreamingResponseBody> importUsers(@RequestBody List<RegisterRequest> users) {
+        // Newline-delimited JSON: one result per row as each chunk is committed, then the summary
+        StreamingResponseBody body = out -> {
+            try {
+                UserImportSummary summary = userImportService.importUsers(users, result -> {
+                    try {
+                        out.write(objectMapper.writeValueAsBytes(result));
+                        out.write('\n');
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+                out.write(objectMapper.writeValueAsBytes(summary));
+                out.write('\n');
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+        };
+        
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+}
@@ -3,11 +3,16 @@ package com.example.demo.controller;
 import com.example.demo.dto.AuthResponse;
 import com.example.demo.dto.LoginRequest;
 import com.example.demo.dto.MessageResponse;
+import com.example.demo.dto.RefreshTokenRequest;
 import com.example.demo.dto.RegisterRequest;
 import com.example.demo.entity.User;
+import com.example.demo.exception.TooManyLoginAttemptsException;
+import com.example.demo.filter.ClientIpResolver;
 import com.example.demo.service.AuthService;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.BindingResult;
@@ -22,8 +27,12 @@ public class AuthController {
     @Autowired
     private AuthService authService;
     
+    @Autowired
+    private ClientIpResolver clientIpResolver;
+    
     @PostMapping("/login")
-    public ResponseEntity<?> login(@Valid @RequestBody LoginRequest loginRequest, BindingResult bindingResult) {
+    public ResponseEntity<?> login(@Valid @RequestBody LoginRequest loginRequest, BindingResult bindingResult,
+                                   HttpServletRequest request) {
         if (bindingResult.hasErrors()) {
             String errors = bindingResult.getAllErrors().stream()
                     .map(error -> error.getDefaultMessage())
@@ -32,14 +41,58 @@ public class AuthController {
         }
         
         try {
-            AuthResponse response = authService.login(loginRequest);
+            AuthResponse response = authService.login(loginRequest, clientIpResolver.resolve(request));
             return ResponseEntity.ok(response);
+        } catch (TooManyLoginAttemptsException e) {
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                    .body(new MessageResponse(e.getMessage()));
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
                     .body(new MessageResponse("Invalid username or password"));
         }
     }
     
+    @PostMapping("/refresh")
+    public ResponseEntity<?> refresh(@Valid @RequestBody RefreshTokenRequest refreshRequest, BindingResult bindingResult) {
+        if (bindingResult.hasErrors()) {
+            String errors = bindingResult.getAllErrors().stream()
+                    .map(error -> error.getDefaultMessage())
+                    .collect(Collectors.joining(", "));
+            return ResponseEntity.badRequest().body(new MessageResponse(errors));
+        }
+        
+        try {
+            AuthResponse response = authService.refresh(refreshRequest);
+            return ResponseEntity.ok(response);
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                    .body(new MessageResponse("Invalid refresh token"));
+        }
+    }
+    
+    @PostMapping("/logout")
+    public ResponseEntity<?> logout(@Valid @RequestBody RefreshTokenRequest refreshRequest, BindingResult bindingResult,
+                                    HttpServletRequest request) {
+        if (bindingResult.hasErrors()) {
+            String errors = bindingResult.getAllErrors().stream()
+                    .map(error -> error.getDefaultMessage())
+                    .collect(Collectors.joining(", "));
+            return ResponseEntity.badRequest().body(new MessageResponse(errors));
+        }
+        
+        String headerAuth = request.getHeader("Authorization");
+        String accessToken = headerAuth != null && headerAuth.startsWith("Bearer ") ? headerAuth.substring(7) : null;
+        
+        try {
+            authService.logout(accessToken, refreshRequest);
+            return ResponseEntity.ok(new MessageResponse("Logged out successfully!"));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                    .body(new MessageResponse("Invalid refresh token"));
+        }
+    }
+    
     @PostMapping("/register")
     public ResponseEntity<?> register(@Valid @RequestBody RegisterRequest registerRequest, BindingResult bindingResult) {
         if (bindingResult.hasErrors()) {
@@ -1,21 +1,25 @@
 package com.example.demo.controller;
 
-import java.util.List;
-import java.util.stream.Collectors;
-
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import com.example.demo.dto.MessageResponse;
+import com.example.demo.dto.UserPageResponse;
 import com.example.demo.dto.UserResponse;
 import com.example.demo.entity.User;
 import com.example.demo.repository.UserRepository;
+import com.example.demo.service.UserService;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 
 @RestController
 @RequestMapping("/api/users")
@@ -24,6 +28,12 @@ public class UserController {
     @Autowired
     private UserRepository userRepository;
     
+    @Autowired
+    private UserService userService;
+    
+    @Autowired
+    private ObjectMapper objectMapper;
+    
     @GetMapping("/me")
     @PreAuthorize("isAuthenticated()")
     public ResponseEntity<?> getCurrentUser() {
@@ -47,21 +57,34 @@ public class UserController {
     
     @GetMapping("/all")
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<?> getAllUsers() {
-        List<User> users = userRepository.findAll();
+    public ResponseEntity<StreamingResponseBody> getAllUsers() {
+        // Streams the same JSON array page by page, so memory stays bounded however many users exist
+        StreamingResponseBody body = out -> {
+            try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+                generator.writeStartArray();
+                Long cursor = 0L;
+                do {
+                    UserPageResponse page = userService.findPage(cursor, UserService.MAX_PAGE_SIZE);
+                    for (UserResponse user : page.getUsers()) {
+                        objectMapper.writeValue(generator, user);
+                    }
+                    generator.flush();
+                    cursor = page.getNextCursor();
+                } while (cursor != null);
+                generator.writeEndArray();
+            }
+        };
         
-        List<UserResponse> userResponses = users.stream()
-                .map(user -> new UserResponse(
-                        user.getId(),
-                        user.getUsername(),
-                        user.getEmail(),
-                        user.getRoles(),
-                        user.getCreatedAt(),
-                        user.isActive()
-                ))
-                .collect(Collectors.toList());
-        
-        return ResponseEntity.ok(userResponses);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(body);
+    }
+    
+    @GetMapping("/page")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<?> getUserPage(@RequestParam(required = false) Long afterId,
+                                         @RequestParam(defaultValue = "50") int size) {
+        return ResponseEntity.ok(userService.findPage(afterId, size));
     }
     
     @GetMapping("/public")
@@ -1,5 +1,6 @@
 package com.example.demo.dto;
 
+import com.example.demo.filter.SkipXssEscaping;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
 import lombok.AllArgsConstructor;
@@ -17,6 +18,7 @@ public class LoginRequest {
     
     @NotBlank(message = "Password is required")
     @Size(min = 6, max = 100, message = "Password must be between 6 and 100 characters")
+    @SkipXssEscaping
     private String password;
 }
 
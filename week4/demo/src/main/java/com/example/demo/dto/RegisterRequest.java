@@ -1,7 +1,9 @@
 package com.example.demo.dto;
 
+import com.example.demo.filter.SkipXssEscaping;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Pattern;
 import jakarta.validation.constraints.Size;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -16,14 +18,18 @@ public class RegisterRequest {
     
     @NotBlank(message = "Username is required")
     @Size(min = 3, max = 50, message = "Username must be between 3 and 50 characters")
+    @Pattern(regexp = "[A-Za-z0-9._-]*", message = "Username may only contain letters, digits, '.', '_' and '-'")
     private String username;
     
+    // @Email already rejects markup, and escaping would break valid addresses such as o'brien@example.com
     @NotBlank(message = "Email is required")
     @Email(message = "Email must be valid")
+    @SkipXssEscaping
     private String email;
     
     @NotBlank(message = "Password is required")
     @Size(min = 6, max = 100, message = "Password must be between 6 and 100 characters")
+    @SkipXssEscaping
     private String password;
     
     private Set<String> roles;
@@ -0,0 +1,4 @@
+package com.example.demo.dto;
+
+public record UserIdentity(String username, String email) {
+}
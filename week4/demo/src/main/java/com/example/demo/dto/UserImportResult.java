@@ -0,0 +1,12 @@
+package com.example.demo.dto;
+
+// One line of the import response, in request order
+public record UserImportResult(int row, String username, Status status, Long id, String message) {
+    
+    public enum Status {
+        CREATED,
+        DUPLICATE,
+        INVALID,
+        FAILED
+    }
+}
@@ -0,0 +1,6 @@
+package com.example.demo.dto;
+
+// Last line of the import response
+public record UserImportSummary(int rows, int created, int skipped, long elapsedMs, long hashingMs,
+                                long persistMs, double usersPerSecond) {
+}
@@ -0,0 +1,16 @@
+package com.example.demo.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserPageResponse {
+    private List<UserResponse> users;
+    // Pass as afterId to get the next page, null on the last page
+    private Long nextCursor;
+}
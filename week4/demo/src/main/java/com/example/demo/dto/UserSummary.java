@@ -0,0 +1,7 @@
+package com.example.demo.dto;
+
+import java.time.LocalDateTime;
+
+// Scalar columns of a user, selected directly by JPQL without loading the entity
+public record UserSummary(Long id, String username, String email, LocalDateTime createdAt, boolean active) {
+}
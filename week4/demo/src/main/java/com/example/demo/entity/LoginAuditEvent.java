@@ -0,0 +1,38 @@
+package com.example.demo.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "login_audit", indexes = {
+        @Index(name = "idx_login_audit_username", columnList = "username, occurred_at"),
+        @Index(name = "idx_login_audit_client_ip", columnList = "client_ip, occurred_at")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LoginAuditEvent {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Column(nullable = false)
+    private String username;
+    
+    @Column(nullable = false)
+    private boolean success;
+    
+    @Column(name = "client_ip", length = 45)
+    private String clientIp;
+    
+    @Column(name = "failure_reason")
+    private String failureReason;
+    
+    @Column(name = "occurred_at", nullable = false)
+    private LocalDateTime occurredAt;
+}
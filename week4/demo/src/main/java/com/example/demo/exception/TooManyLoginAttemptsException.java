@@ -0,0 +1,15 @@
+package com.example.demo.exception;
+
+public class TooManyLoginAttemptsException extends RuntimeException {
+    
+    private final long retryAfterSeconds;
+    
+    public TooManyLoginAttemptsException(long retryAfterSeconds) {
+        super("Too many failed login attempts. Please try again later.");
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+    
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.demo.filter;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.security.web.util.matcher.IpAddressMatcher;
+
+import java.util.List;
+
+public class ClientIpResolver {
+    
+    private final List<IpAddressMatcher> trustedProxies;
+    
+    public ClientIpResolver(List<String> trustedProxies) {
+        this.trustedProxies = trustedProxies.stream()
+                .map(String::trim)
+                .filter(proxy -> !proxy.isEmpty())
+                .map(IpAddressMatcher::new)
+                .toList();
+    }
+    
+    public String resolve(HttpServletRequest request) {
+        String remoteAddr = request.getRemoteAddr();
+        
+        // X-Forwarded-For is only honoured when the direct peer is one of our proxies
+        if (!isTrusted(remoteAddr)) {
+            return remoteAddr;
+        }
+        
+        String xfHeader = request.getHeader("X-Forwarded-For");
+        if (xfHeader == null || xfHeader.isBlank()) {
+            return remoteAddr;
+        }
+        
+        // Walk from the right: the last hop not added by a trusted proxy is the client
+        String[] hops = xfHeader.split(",");
+        for (int i = hops.length - 1; i >= 0; i--) {
+            String hop = hops[i].trim();
+            if (hop.isEmpty()) {
+                continue;
+            }
+            if (!isTrusted(hop)) {
+                return hop;
+            }
+        }
+        return remoteAddr;
+    }
+    
+    private boolean isTrusted(String address) {
+        for (IpAddressMatcher matcher : trustedProxies) {
+            try {
+                if (matcher.matches(address)) {
+                    return true;
+                }
+            } catch (IllegalArgumentException e) {
+                // Not a literal IP address (e.g. "unknown"), never trusted
+                return false;
+            }
+        }
+        return false;
+    }
+}
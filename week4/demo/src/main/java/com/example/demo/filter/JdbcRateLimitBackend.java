@@ -0,0 +1,184 @@
+package com.example.demo.filter;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Shares bucket state between instances through a SQL table, following Bucket4j's
+ * compare-and-swap proxy-manager model: read the row, apply the refill, write it back
+ * only if the version is unchanged. Each node reserves a batch of tokens per round-trip
+ * and spends them locally, so most requests never touch the database. Reserved tokens
+ * are dropped at the next refill boundary, so the cluster can never exceed the limit.
+ */
+public class JdbcRateLimitBackend implements RateLimitBackend {
+    
+    private static final int MAX_CAS_ATTEMPTS = 8;
+    
+    private static final String CREATE_TABLE_SQL = "CREATE TABLE IF NOT EXISTS rate_limit_bucket ("
+            + "bucket_key VARCHAR(255) NOT NULL PRIMARY KEY, "
+            + "tokens BIGINT NOT NULL, "
+            + "refilled_at BIGINT NOT NULL, "
+            + "version BIGINT NOT NULL)";
+    
+    private static final String SELECT_SQL =
+            "SELECT tokens, refilled_at, version FROM rate_limit_bucket WHERE bucket_key = ?";
+    
+    private static final String INSERT_SQL =
+            "INSERT INTO rate_limit_bucket (bucket_key, tokens, refilled_at, version) VALUES (?, ?, ?, 0)";
+    
+    private static final String UPDATE_SQL = "UPDATE rate_limit_bucket SET tokens = ?, refilled_at = ?, version = ? "
+            + "WHERE bucket_key = ? AND version = ?";
+    
+    private static final RowMapper<BucketRow> ROW_MAPPER = (rs, rowNum) -> new BucketRow(
+            rs.getLong("tokens"), rs.getLong("refilled_at"), rs.getLong("version"));
+    
+    private final JdbcTemplate jdbcTemplate;
+    
+    private final long prefetch;
+    
+    private final Cache<String, Allowance> allowances;
+    
+    private final Counter roundTrips;
+    
+    public JdbcRateLimitBackend(JdbcTemplate jdbcTemplate, long prefetch, long maxBuckets, Duration idleExpiry,
+                                MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.prefetch = prefetch;
+        this.allowances = Caffeine.newBuilder()
+                .maximumSize(maxBuckets)
+                .expireAfterAccess(idleExpiry)
+                .build();
+        this.roundTrips = Counter.builder("ratelimit.backend.roundtrips")
+                .description("Token reservations made against the shared bucket table")
+                .register(meterRegistry);
+        
+        jdbcTemplate.execute(CREATE_TABLE_SQL);
+    }
+    
+    @Override
+    public boolean tryConsume(String key, RateLimit limit, long tokens) {
+        Allowance allowance = allowances.get(key, k -> new Allowance());
+        
+        synchronized (allowance) {
+            long now = System.currentTimeMillis();
+            if (now >= allowance.validUntil) {
+                allowance.remaining = 0;
+                allowance.sharedAvailable = Long.MAX_VALUE;
+            }
+            
+            if (allowance.remaining >= tokens) {
+                allowance.remaining -= tokens;
+                return true;
+            }
+            
+            long need = tokens - allowance.remaining;
+            if (need > allowance.sharedAvailable) {
+                // The shared row only shrinks until the next refill, no point asking again
+                return false;
+            }
+            
+            Grant grant = reserve(key, limit, need, Math.max(need, prefetch), now);
+            allowance.validUntil = grant.nextRefill();
+            if (grant.granted() < need) {
+                allowance.sharedAvailable = grant.available();
+                return false;
+            }
+            
+            allowance.remaining += grant.granted() - tokens;
+            allowance.sharedAvailable = grant.available() - grant.granted();
+            return true;
+        }
+    }
+    
+    @Override
+    public void refund(String key, RateLimit limit, long tokens) {
+        Allowance allowance = allowances.getIfPresent(key);
+        if (allowance == null) {
+            return;
+        }
+        
+        synchronized (allowance) {
+            // Tokens go back to this node's reservation; after the refill boundary it is dropped anyway
+            if (System.currentTimeMillis() < allowance.validUntil) {
+                allowance.remaining += tokens;
+            }
+        }
+    }
+    
+    private Grant reserve(String key, RateLimit limit, long need, long requested, long now) {
+        long period = limit.refillPeriod().toMillis();
+        
+        for (int attempt = 0; attempt < MAX_CAS_ATTEMPTS; attempt++) {
+            roundTrips.increment();
+            List<BucketRow> rows = jdbcTemplate.query(SELECT_SQL, ROW_MAPPER, key);
+            
+            if (rows.isEmpty()) {
+                long granted = need <= limit.capacity() ? Math.min(limit.capacity(), requested) : 0;
+                try {
+                    jdbcTemplate.update(INSERT_SQL, key, limit.capacity() - granted, now);
+                    return new Grant(granted, limit.capacity(), now + period);
+                } catch (DuplicateKeyException e) {
+                    // Another node created the bucket first, retry against its row
+                    continue;
+                }
+            }
+            
+            BucketRow row = rows.get(0);
+            BucketRow refilled = refill(row, limit, now);
+            long tokens = refilled.tokens();
+            long refilledAt = refilled.refilledAt();
+            long nextRefill = refilledAt + period;
+            
+            if (tokens < need) {
+                return new Grant(0, tokens, nextRefill);
+            }
+            
+            long granted = Math.min(tokens, requested);
+            int updated = jdbcTemplate.update(UPDATE_SQL, tokens - granted, refilledAt, row.version() + 1,
+                    key, row.version());
+            if (updated == 1) {
+                return new Grant(granted, tokens, nextRefill);
+            }
+        }
+        
+        // Lost every compare-and-swap race, reject this request and retry on the next one
+        return new Grant(0, Long.MAX_VALUE, now);
+    }
+    
+    /**
+     * Intervally refill: {@code refillTokens} per whole elapsed period, capped at capacity.
+     * The refill time advances by whole periods only, so a partial period is never lost.
+     */
+    static BucketRow refill(BucketRow row, RateLimit limit, long now) {
+        long period = limit.refillPeriod().toMillis();
+        if (now < row.refilledAt() + period) {
+            return row;
+        }
+        long periods = (now - row.refilledAt()) / period;
+        long tokens = Math.min(limit.capacity(), row.tokens() + periods * limit.refillTokens());
+        return new BucketRow(tokens, row.refilledAt() + periods * period, row.version());
+    }
+    
+    record BucketRow(long tokens, long refilledAt, long version) {
+    }
+    
+    private record Grant(long granted, long available, long nextRefill) {
+    }
+    
+    private static final class Allowance {
+        
+        private long remaining;
+        
+        private long validUntil;
+        
+        private long sharedAvailable = Long.MAX_VALUE;
+    }
+}
@@ -0,0 +1,49 @@
+package com.example.demo.filter;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Scheduler;
+import io.github.bucket4j.Bucket;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.time.Duration;
+
+public class LocalRateLimitBackend implements RateLimitBackend {
+    
+    private final Cache<String, Bucket> cache;
+    
+    public LocalRateLimitBackend(long maxBuckets, Duration idleExpiry, MeterRegistry meterRegistry) {
+        // Bounded by size and evicted when idle, so distinct client count cannot grow the heap
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxBuckets)
+                .expireAfterAccess(idleExpiry)
+                .scheduler(Scheduler.systemScheduler())
+                .recordStats()
+                .build();
+        
+        Gauge.builder("ratelimit.buckets.live", cache, Cache::estimatedSize)
+                .description("Rate limit buckets currently held in memory")
+                .register(meterRegistry);
+        FunctionCounter.builder("ratelimit.buckets.evictions", cache, c -> c.stats().evictionCount())
+                .description("Rate limit buckets evicted by size or idle expiry")
+                .register(meterRegistry);
+    }
+    
+    @Override
+    public boolean tryConsume(String key, RateLimit limit, long tokens) {
+        Bucket bucket = cache.get(key, k -> Bucket.builder()
+                .addLimit(limit.toBandwidth())
+                .build());
+        return bucket.tryConsume(tokens);
+    }
+    
+    @Override
+    public void refund(String key, RateLimit limit, long tokens) {
+        Bucket bucket = cache.getIfPresent(key);
+        if (bucket != null) {
+            bucket.addTokens(tokens);
+        }
+    }
+}
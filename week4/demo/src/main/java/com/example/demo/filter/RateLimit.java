@@ -0,0 +1,21 @@
+package com.example.demo.filter;
+
+import io.github.bucket4j.Bandwidth;
+import io.github.bucket4j.Refill;
+
+import java.time.Duration;
+
+/**
+ * A bucket holding up to {@code capacity} tokens that receives {@code refillTokens} at the
+ * end of every {@code refillPeriod}. A capacity above the refill amount is a burst allowance.
+ */
+public record RateLimit(long capacity, long refillTokens, Duration refillPeriod) {
+    
+    public RateLimit(long capacity, Duration refillPeriod) {
+        this(capacity, capacity, refillPeriod);
+    }
+    
+    public Bandwidth toBandwidth() {
+        return Bandwidth.classic(capacity, Refill.intervally(refillTokens, refillPeriod));
+    }
+}
@@ -0,0 +1,16 @@
+package com.example.demo.filter;
+
+/**
+ * Storage for rate limit buckets. Implementations decide where bucket state lives:
+ * in this JVM only, or in a store shared by every instance behind the load balancer.
+ */
+public interface RateLimitBackend {
+    
+    boolean tryConsume(String key, RateLimit limit, long tokens);
+    
+    /**
+     * Gives back tokens taken by a successful {@link #tryConsume} for a request that another
+     * tier rejected, so a rejected request costs nothing. Never fills a bucket past its capacity.
+     */
+    void refund(String key, RateLimit limit, long tokens);
+}
@@ -0,0 +1,84 @@
+package com.example.demo.filter;
+
+import org.springframework.http.server.PathContainer;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.util.Locale;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * One rate limit tier. The route pattern is parsed once at startup, so matching a request
+ * is a walk over the already split path segments with no regex or string allocation.
+ */
+public class RateLimitPolicy {
+    
+    public enum Scope {
+        IP,
+        USER,
+        USER_OR_IP
+    }
+    
+    private final String name;
+    
+    private final PathPattern pattern;
+    
+    private final Set<String> methods;
+    
+    private final Scope scope;
+    
+    private final RateLimit limit;
+    
+    private final long cost;
+    
+    private final String keyPrefix;
+    
+    public RateLimitPolicy(String name, String pattern, Set<String> methods, Scope scope, RateLimit limit, long cost) {
+        this.name = name;
+        this.pattern = PathPatternParser.defaultInstance.parse(pattern);
+        this.methods = methods.stream()
+                .map(method -> method.toUpperCase(Locale.ROOT))
+                .collect(Collectors.toUnmodifiableSet());
+        this.scope = scope;
+        this.limit = limit;
+        this.cost = cost;
+        this.keyPrefix = name + ":";
+    }
+    
+    public static Scope parseScope(String scope) {
+        return Scope.valueOf(scope.trim().replace('-', '_').toUpperCase(Locale.ROOT));
+    }
+    
+    public boolean matches(String method, PathContainer path) {
+        return (methods.isEmpty() || methods.contains(method)) && pattern.matches(path);
+    }
+    
+    /**
+     * Returns the bucket key for this request, or {@code null} when the policy does not apply
+     * (a user-scoped policy on an anonymous request).
+     */
+    public String resolveKey(String clientIp, String username) {
+        return switch (scope) {
+            case IP -> keyPrefix + "ip:" + clientIp;
+            case USER -> username != null ? keyPrefix + "user:" + username : null;
+            case USER_OR_IP -> username != null ? keyPrefix + "user:" + username : keyPrefix + "ip:" + clientIp;
+        };
+    }
+    
+    public String getName() {
+        return name;
+    }
+    
+    public String getPattern() {
+        return pattern.getPatternString();
+    }
+    
+    public RateLimit getLimit() {
+        return limit;
+    }
+    
+    public long getCost() {
+        return cost;
+    }
+}
@@ -1,58 +1,104 @@
 package com.example.demo.filter;
 
-import io.github.bucket4j.Bandwidth;
-import io.github.bucket4j.Bucket;
-import io.github.bucket4j.Refill;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.server.PathContainer;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
-import java.time.Duration;
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.List;
 
 public class RateLimitingFilter extends OncePerRequestFilter {
     
-    private final Map<String, Bucket> cache = new ConcurrentHashMap<>();
+    private final RateLimitBackend backend;
+    
+    private final RateLimitPolicy[] policies;
+    
+    private final Counter[] rejectedRequests;
+    
+    private final ClientIpResolver clientIpResolver;
+    
+    public RateLimitingFilter(RateLimitBackend backend, List<RateLimitPolicy> policies,
+                              ClientIpResolver clientIpResolver, MeterRegistry meterRegistry) {
+        this.backend = backend;
+        this.policies = policies.toArray(new RateLimitPolicy[0]);
+        this.clientIpResolver = clientIpResolver;
+        this.rejectedRequests = new Counter[this.policies.length];
+        for (int i = 0; i < this.policies.length; i++) {
+            this.rejectedRequests[i] = Counter.builder("ratelimit.requests.rejected")
+                    .description("Requests rejected with 429 Too Many Requests")
+                    .tag("policy", this.policies[i].getName())
+                    .tag("route", this.policies[i].getPattern())
+                    .register(meterRegistry);
+        }
+    }
     
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
             throws ServletException, IOException {
         
-        String clientIp = getClientIP(request);
-        Bucket bucket = resolveBucket(clientIp);
+        String clientIp = clientIpResolver.resolve(request);
+        String username = currentUsername();
+        String method = request.getMethod();
+        PathContainer path = PathContainer.parsePath(
+                request.getRequestURI().substring(request.getContextPath().length()));
         
-        if (bucket.tryConsume(1)) {
-            filterChain.doFilter(request, response);
-        } else {
-            response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
-            response.setContentType("application/json");
-            response.getWriter().write("{\"message\": \"Too many requests. Please try again later.\"}");
+        // Every matching tier must have tokens left. Tiers are charged in declaration order, and when
+        // one rejects, the tiers already charged are refunded so a rejected request drains nothing.
+        String[] charged = null;
+        for (int i = 0; i < policies.length; i++) {
+            RateLimitPolicy policy = policies[i];
+            if (!policy.matches(method, path)) {
+                continue;
+            }
+            
+            String key = policy.resolveKey(clientIp, username);
+            if (key == null) {
+                continue;
+            }
+            if (!backend.tryConsume(key, policy.getLimit(), policy.getCost())) {
+                refund(charged, i);
+                rejectedRequests[i].increment();
+                response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+                response.setContentType("application/json");
+                response.getWriter().write("{\"message\": \"Too many requests. Please try again later.\"}");
+                return;
+            }
+            if (charged == null) {
+                charged = new String[policies.length];
+            }
+            charged[i] = key;
         }
+        
+        filterChain.doFilter(request, response);
     }
     
-    private Bucket resolveBucket(String clientIp) {
-        return cache.computeIfAbsent(clientIp, k -> createNewBucket());
-    }
-    
-    private Bucket createNewBucket() {
-        // Allow 100 requests per minute
-        Bandwidth limit = Bandwidth.classic(100, Refill.intervally(100, Duration.ofMinutes(1)));
-        return Bucket.builder()
-                .addLimit(limit)
-                .build();
+    private void refund(String[] charged, int rejectedAt) {
+        if (charged == null) {
+            return;
+        }
+        for (int i = 0; i < rejectedAt; i++) {
+            if (charged[i] != null) {
+                backend.refund(charged[i], policies[i].getLimit(), policies[i].getCost());
+            }
+        }
     }
     
-    private String getClientIP(HttpServletRequest request) {
-        String xfHeader = request.getHeader("X-Forwarded-For");
-        if (xfHeader == null) {
-            return request.getRemoteAddr();
+    private String currentUsername() {
+        // Spring Security runs ahead of this filter, so a valid JWT has already been resolved
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()
+                || authentication instanceof AnonymousAuthenticationToken) {
+            return null;
         }
-        return xfHeader.split(",")[0];
+        return authentication.getName();
     }
 }
-
@@ -0,0 +1,15 @@
+package com.example.demo.filter;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a JSON string field that must reach the application exactly as sent, e.g. a
+ * password that is hashed and never rendered.
+ */
+@Target({ElementType.FIELD, ElementType.METHOD, ElementType.PARAMETER})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface SkipXssEscaping {
+}
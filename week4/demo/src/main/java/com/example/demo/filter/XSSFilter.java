@@ -3,10 +3,10 @@ package com.example.demo.filter;
 import jakarta.servlet.*;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletRequestWrapper;
-import org.owasp.html.PolicyFactory;
-import org.owasp.html.Sanitizers;
 
 import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
 
 public class XSSFilter implements Filter {
     
@@ -18,9 +18,10 @@ public class XSSFilter implements Filter {
     
     private static class XSSRequestWrapper extends HttpServletRequestWrapper {
         
-        private static final PolicyFactory POLICY = Sanitizers.FORMATTING
-                .and(Sanitizers.LINKS)
-                .and(Sanitizers.BLOCKS);
+        // Sanitized values are memoized per request, nothing is escaped until it is read
+        private Map<String, String> sanitizedHeaders;
+        
+        private Map<String, String[]> sanitizedParameters;
         
         public XSSRequestWrapper(HttpServletRequest request) {
             super(request);
@@ -28,45 +29,48 @@ public class XSSFilter implements Filter {
         
         @Override
         public String[] getParameterValues(String parameter) {
-            String[] values = super.getParameterValues(parameter);
-            if (values == null) {
-                return null;
-            }
-            
-            int count = values.length;
-            String[] encodedValues = new String[count];
-            for (int i = 0; i < count; i++) {
-                encodedValues[i] = sanitize(values[i]);
-            }
-            
-            return encodedValues;
+            String[] values = sanitizedParameterValues(parameter);
+            return values == null ? null : values.clone();
         }
         
         @Override
         public String getParameter(String parameter) {
-            String value = super.getParameter(parameter);
-            return sanitize(value);
+            String[] values = sanitizedParameterValues(parameter);
+            return values == null || values.length == 0 ? null : values[0];
         }
         
         @Override
         public String getHeader(String name) {
-            String value = super.getHeader(name);
-            return sanitize(value);
+            if (sanitizedHeaders == null) {
+                sanitizedHeaders = new HashMap<>();
+            } else if (sanitizedHeaders.containsKey(name)) {
+                return sanitizedHeaders.get(name);
+            }
+            
+            String value = XssEscaper.escape(super.getHeader(name));
+            sanitizedHeaders.put(name, value);
+            return value;
         }
         
-        private String sanitize(String value) {
-            if (value == null) {
-                return null;
+        private String[] sanitizedParameterValues(String parameter) {
+            if (sanitizedParameters == null) {
+                sanitizedParameters = new HashMap<>();
+            } else if (sanitizedParameters.containsKey(parameter)) {
+                return sanitizedParameters.get(parameter);
             }
             
-            // Remove XSS patterns
-            return POLICY.sanitize(value)
-                    .replaceAll("<", "&lt;")
-                    .replaceAll(">", "&gt;")
-                    .replaceAll("\"", "&quot;")
-                    .replaceAll("'", "&#x27;")
-                    .replaceAll("/", "&#x2F;");
+            String[] values = super.getParameterValues(parameter);
+            String[] encodedValues = null;
+            if (values != null) {
+                int count = values.length;
+                encodedValues = new String[count];
+                for (int i = 0; i < count; i++) {
+                    encodedValues[i] = XssEscaper.escape(values[i]);
+                }
+            }
+            
+            sanitizedParameters.put(parameter, encodedValues);
+            return encodedValues;
         }
     }
 }
-
@@ -0,0 +1,65 @@
+package com.example.demo.filter;
+
+/**
+ * Single-pass, table-driven HTML escaper. Characters are looked up in a 128 entry table
+ * instead of running one regex per character class, and values with nothing to escape
+ * are returned as-is without allocating.
+ */
+public final class XssEscaper {
+    
+    private static final String[] REPLACEMENTS = new String[128];
+    
+    static {
+        // Control characters other than tab, line feed and carriage return are dropped
+        for (char c = 0; c < 0x20; c++) {
+            REPLACEMENTS[c] = "";
+        }
+        REPLACEMENTS['\t'] = null;
+        REPLACEMENTS['\n'] = null;
+        REPLACEMENTS['\r'] = null;
+        REPLACEMENTS[0x7F] = "";
+        
+        REPLACEMENTS['&'] = "&amp;";
+        REPLACEMENTS['<'] = "&lt;";
+        REPLACEMENTS['>'] = "&gt;";
+        REPLACEMENTS['"'] = "&quot;";
+        REPLACEMENTS['\''] = "&#x27;";
+        REPLACEMENTS['/'] = "&#x2F;";
+        REPLACEMENTS['`'] = "&#x60;";
+        REPLACEMENTS['='] = "&#x3D;";
+    }
+    
+    private XssEscaper() {
+    }
+    
+    public static String escape(String value) {
+        if (value == null) {
+            return null;
+        }
+        
+        int length = value.length();
+        int i = 0;
+        while (i < length && !needsEscape(value.charAt(i))) {
+            i++;
+        }
+        if (i == length) {
+            return value;
+        }
+        
+        StringBuilder escaped = new StringBuilder(length + 16);
+        escaped.append(value, 0, i);
+        for (; i < length; i++) {
+            char c = value.charAt(i);
+            if (needsEscape(c)) {
+                escaped.append(REPLACEMENTS[c]);
+            } else {
+                escaped.append(c);
+            }
+        }
+        return escaped.toString();
+    }
+    
+    private static boolean needsEscape(char c) {
+        return c < REPLACEMENTS.length && REPLACEMENTS[c] != null;
+    }
+}
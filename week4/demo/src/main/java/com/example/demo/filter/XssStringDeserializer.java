@@ -0,0 +1,46 @@
+package com.example.demo.filter;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.BeanProperty;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.deser.ContextualDeserializer;
+import com.fasterxml.jackson.databind.deser.std.StdScalarDeserializer;
+import com.fasterxml.jackson.databind.deser.std.StringDeserializer;
+
+import java.io.IOException;
+import java.util.Set;
+
+/**
+ * Escapes JSON string values as the parser reads them, so request bodies are sanitized
+ * without buffering or copying the body. Only properties declared on the given request
+ * types are escaped; every other string, and fields annotated with {@link SkipXssEscaping},
+ * fall back to Jackson's plain string deserializer.
+ * <p>
+ * Bean validation runs after parsing and sees the escaped value, so an escaped field needs
+ * constraints that only accept values escaping leaves unchanged (see {@code RegisterRequest}).
+ */
+public class XssStringDeserializer extends StdScalarDeserializer<String> implements ContextualDeserializer {
+    
+    private final Set<Class<?>> escapedTypes;
+    
+    public XssStringDeserializer(Class<?>... escapedTypes) {
+        super(String.class);
+        this.escapedTypes = Set.of(escapedTypes);
+    }
+    
+    @Override
+    public String deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+        return XssEscaper.escape(StringDeserializer.instance.deserialize(p, ctxt));
+    }
+    
+    @Override
+    public JsonDeserializer<?> createContextual(DeserializationContext ctxt, BeanProperty property) {
+        if (property == null || property.getMember() == null
+                || !escapedTypes.contains(property.getMember().getDeclaringClass())
+                || property.getAnnotation(SkipXssEscaping.class) != null) {
+            return StringDeserializer.instance;
+        }
+        return this;
+    }
+}
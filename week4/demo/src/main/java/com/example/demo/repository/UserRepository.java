@@ -1,21 +1,46 @@
 package com.example.demo.repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import com.example.demo.dto.UserIdentity;
+import com.example.demo.dto.UserRoleRow;
+import com.example.demo.dto.UserSummary;
 import com.example.demo.entity.User;
 
+import jakarta.persistence.QueryHint;
+
 @Repository
-public interface UserRepository extends JpaRepository<User, Long> {
-    
-    Optional<User> findByUsername(String username);
+public interface UserRepository extends JpaRepository<User, Long>, UserRepositoryCustom {
     
     Optional<User> findByEmail(String email);
     
+    @QueryHints(@QueryHint(name = "org.hibernate.cacheable", value = "true"))
     Boolean existsByUsername(String username);
     
+    @QueryHints(@QueryHint(name = "org.hibernate.cacheable", value = "true"))
     Boolean existsByEmail(String email);
+    
+    // Keyset page: WHERE id > cursor ORDER BY id, limited by the pageable size
+    @Query("SELECT new com.example.demo.dto.UserSummary(u.id, u.username, u.email, u.createdAt, u.isActive) "
+            + "FROM User u WHERE u.id > :afterId ORDER BY u.id")
+    List<UserSummary> findSummariesAfter(@Param("afterId") Long afterId, Pageable pageable);
+    
+    // Existing users clashing with any of the given usernames or emails, in one query
+    @Query("SELECT new com.example.demo.dto.UserIdentity(u.username, u.email) FROM User u "
+            + "WHERE u.username IN :usernames OR u.email IN :emails")
+    List<UserIdentity> findIdentitiesMatching(@Param("usernames") Collection<String> usernames,
+                                              @Param("emails") Collection<String> emails);
+    
+    @Query("SELECT new com.example.demo.dto.UserRoleRow(u.id, r) FROM User u JOIN u.roles r WHERE u.id IN :ids")
+    List<UserRoleRow> findRolesByUserIds(@Param("ids") Collection<Long> ids);
 }
 
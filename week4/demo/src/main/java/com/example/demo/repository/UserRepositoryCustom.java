@@ -0,0 +1,10 @@
+package com.example.demo.repository;
+
+import java.util.Optional;
+
+import com.example.demo.entity.User;
+
+public interface UserRepositoryCustom {
+    
+    Optional<User> findByUsername(String username);
+}
@@ -0,0 +1,113 @@
+package com.example.demo.security;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Fixed-memory, lock-free count-min sketch over a sliding time window. The window is split
+ * into {@code slots} sub-windows, each with its own depth x width counter table; a slot is
+ * wiped when time wraps around to it, so old events fall out of the estimate. Estimates can
+ * only over-count (collisions add, never subtract), which errs on the side of throttling.
+ *
+ * Also remembers the most recent add time per cell; the minimum across rows is an upper
+ * bound of the key's last add time, again biased towards the conservative answer.
+ *
+ * Memory is constant: slots * depth * width * 4 bytes for counts plus depth * width * 8 bytes
+ * for timestamps, e.g. 15 x 4 x 4096 -> ~960 KB + 128 KB, no matter how many keys are seen.
+ */
+public class CountMinSketch {
+    
+    private final int depth;
+    
+    private final int width;
+    
+    private final int slots;
+    
+    private final long slotMillis;
+    
+    private final AtomicIntegerArray[] counts;
+    
+    private final AtomicLongArray slotEpochs;
+    
+    private final AtomicLongArray lastAdded;
+    
+    public CountMinSketch(int depth, int width, int slots, long windowMillis) {
+        this.depth = depth;
+        this.width = width;
+        this.slots = slots;
+        this.slotMillis = Math.max(1, windowMillis / slots);
+        this.counts = new AtomicIntegerArray[slots];
+        for (int i = 0; i < slots; i++) {
+            counts[i] = new AtomicIntegerArray(depth * width);
+        }
+        this.slotEpochs = new AtomicLongArray(slots);
+        this.lastAdded = new AtomicLongArray(depth * width);
+    }
+    
+    public void add(String key, long nowMillis) {
+        long epoch = nowMillis / slotMillis;
+        int slot = (int) (epoch % slots);
+        AtomicIntegerArray table = currentTable(slot, epoch);
+        
+        long h1 = Hashing.hash64(key, Hashing.SEED_1);
+        long h2 = Hashing.hash64(key, Hashing.SEED_2) | 1;
+        for (int row = 0; row < depth; row++) {
+            int cell = cell(row, h1, h2);
+            table.incrementAndGet(cell);
+            long previous = lastAdded.get(cell);
+            while (previous < nowMillis && !lastAdded.compareAndSet(cell, previous, nowMillis)) {
+                previous = lastAdded.get(cell);
+            }
+        }
+    }
+    
+    public int estimate(String key, long nowMillis) {
+        long epoch = nowMillis / slotMillis;
+        long h1 = Hashing.hash64(key, Hashing.SEED_1);
+        long h2 = Hashing.hash64(key, Hashing.SEED_2) | 1;
+        
+        int total = 0;
+        for (int slot = 0; slot < slots; slot++) {
+            // Only slots still inside the window count
+            if (epoch - slotEpochs.get(slot) >= slots) {
+                continue;
+            }
+            AtomicIntegerArray table = counts[slot];
+            int min = Integer.MAX_VALUE;
+            for (int row = 0; row < depth; row++) {
+                min = Math.min(min, table.get(cell(row, h1, h2)));
+            }
+            total += min;
+        }
+        return total;
+    }
+    
+    public long lastAdded(String key) {
+        long h1 = Hashing.hash64(key, Hashing.SEED_1);
+        long h2 = Hashing.hash64(key, Hashing.SEED_2) | 1;
+        long min = Long.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            min = Math.min(min, lastAdded.get(cell(row, h1, h2)));
+        }
+        return min;
+    }
+    
+    private AtomicIntegerArray currentTable(int slot, long epoch) {
+        AtomicIntegerArray table = counts[slot];
+        if (slotEpochs.get(slot) != epoch) {
+            synchronized (table) {
+                if (slotEpochs.get(slot) != epoch) {
+                    for (int i = 0; i < table.length(); i++) {
+                        table.set(i, 0);
+                    }
+                    slotEpochs.set(slot, epoch);
+                }
+            }
+        }
+        return table;
+    }
+    
+    private int cell(int row, long h1, long h2) {
+        return row * width + (int) Math.floorMod(h1 + row * h2, (long) width);
+    }
+}
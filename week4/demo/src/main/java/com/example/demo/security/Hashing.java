@@ -0,0 +1,29 @@
+package com.example.demo.security;
+
+/**
+ * Allocation-free 64-bit string hashing shared by the probabilistic structures in this package.
+ */
+final class Hashing {
+    
+    static final long SEED_1 = 0xcbf29ce484222325L;
+    
+    static final long SEED_2 = 0x9e3779b97f4a7c15L;
+    
+    private Hashing() {
+    }
+    
+    // FNV-1a over the chars followed by the MurmurHash3 64-bit finalizer
+    static long hash64(String value, long seed) {
+        long h = seed;
+        for (int i = 0; i < value.length(); i++) {
+            h ^= value.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
@@ -1,11 +1,12 @@
 package com.example.demo.security;
 
+import com.example.demo.filter.ClientIpResolver;
+import com.example.demo.service.TokenRevocationService;
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -20,32 +21,46 @@ import java.io.IOException;
 @Component
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
     
-    private static final Logger logger = LoggerFactory.getLogger(JwtAuthenticationFilter.class);
-    
     @Autowired
     private JwtUtil jwtUtil;
     
     @Autowired
     private UserDetailsServiceImpl userDetailsService;
     
+    @Autowired
+    private TokenRevocationService tokenRevocationService;
+    
+    @Autowired
+    private SecurityEventLog securityEventLog;
+    
+    @Autowired
+    private ClientIpResolver clientIpResolver;
+    
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
             throws ServletException, IOException {
         try {
             String jwt = parseJwt(request);
             
-            if (jwt != null && jwtUtil.validateJwtToken(jwt)) {
-                String username = jwtUtil.getUsernameFromJwtToken(jwt);
-                
-                UserDetails userDetails = userDetailsService.loadUserByUsername(username);
-                UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
-                        userDetails, null, userDetails.getAuthorities());
-                authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+            if (jwt != null && jwtUtil.validateJwtToken(jwt, clientIpResolver.resolve(request))) {
+                Claims claims = jwtUtil.getClaimsFromJwtToken(jwt);
                 
-                SecurityContextHolder.getContext().setAuthentication(authentication);
+                // Refresh tokens are not bearer credentials, and revoked access tokens are dead
+                if (jwtUtil.isTokenType(claims, JwtUtil.ACCESS_TOKEN)
+                        && !tokenRevocationService.isRevoked(claims.getId())) {
+                    String username = claims.getSubject();
+                    
+                    UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+                    UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
+                            userDetails, null, userDetails.getAuthorities());
+                    authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+                    
+                    SecurityContextHolder.getContext().setAuthentication(authentication);
+                }
             }
         } catch (Exception e) {
-            logger.error("Cannot set user authentication: {}", e.getMessage());
+            securityEventLog.record(SecurityEventLog.Type.AUTHENTICATION_ERROR, clientIpResolver.resolve(request),
+                    e.getClass().getSimpleName());
         }
         
         filterChain.doFilter(request, response);
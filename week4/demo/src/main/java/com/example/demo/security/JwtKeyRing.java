@@ -0,0 +1,68 @@
+package com.example.demo.security;
+
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.LocatorAdapter;
+import io.jsonwebtoken.UnsupportedJwtException;
+
+import java.security.Key;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * All JWT keys this service knows, preloaded and indexed by kid. Verification is a single map
+ * lookup on the token's kid header, and the token's alg header must be the algorithm configured
+ * for that key. Signing uses the most recently activated key, so a new key
+ * can be published ahead of time (activate-at in the future) and the previous one keeps
+ * verifying until its retire-at, giving overlapping rotation windows without logging anyone out.
+ */
+public class JwtKeyRing extends LocatorAdapter<Key> {
+    
+    // Kid of the key derived from jwt.secret; also used for tokens issued before kid headers existed
+    public static final String DEFAULT_KID = "default";
+    
+    private final Map<String, JwtSigningKey> keysByKid;
+    
+    private final List<JwtSigningKey> signersNewestFirst;
+    
+    public JwtKeyRing(List<JwtSigningKey> keys) {
+        this.keysByKid = keys.stream()
+                .collect(Collectors.toUnmodifiableMap(JwtSigningKey::kid, Function.identity()));
+        this.signersNewestFirst = keys.stream()
+                .filter(key -> key.signingKey() != null)
+                .sorted(Comparator.comparing(JwtSigningKey::activateAt,
+                        Comparator.nullsFirst(Comparator.<Instant>naturalOrder())).reversed())
+                .toList();
+        if (signersNewestFirst.isEmpty()) {
+            throw new IllegalStateException("JWT key ring has no key that can sign");
+        }
+    }
+    
+    public JwtSigningKey currentSigningKey() {
+        Instant now = Instant.now();
+        for (JwtSigningKey key : signersNewestFirst) {
+            if (key.canSign(now)) {
+                return key;
+            }
+        }
+        throw new IllegalStateException("No active JWT signing key");
+    }
+    
+    @Override
+    protected Key locate(JwsHeader header) {
+        String kid = header.getKeyId() == null ? DEFAULT_KID : header.getKeyId();
+        JwtSigningKey key = keysByKid.get(kid);
+        if (key == null || key.isRetired(Instant.now())) {
+            throw new UnsupportedJwtException("Unknown or retired JWT key id: " + kid);
+        }
+        // The key decides the algorithm, never the token: a kid only verifies with the alg it was configured for
+        if (!key.algorithm().getId().equals(header.getAlgorithm())) {
+            throw new UnsupportedJwtException("JWT algorithm " + header.getAlgorithm()
+                    + " does not match the algorithm configured for key id: " + kid);
+        }
+        return key.verificationKey();
+    }
+}
@@ -0,0 +1,73 @@
+package com.example.demo.security;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.security.SecureDigestAlgorithm;
+
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.Key;
+import java.security.KeyFactory;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Locale;
+
+/**
+ * One entry of the key ring: its kid, algorithm, key material and rotation window.
+ * {@code signingKey} is null for verify-only keys (e.g. another service's public key).
+ */
+public record JwtSigningKey(String kid, SecureDigestAlgorithm<Key, ?> algorithm, Key signingKey,
+                            Key verificationKey, Instant activateAt, Instant retireAt) {
+    
+    public boolean canSign(Instant now) {
+        return signingKey != null && (activateAt == null || !activateAt.isAfter(now)) && !isRetired(now);
+    }
+    
+    public boolean isRetired(Instant now) {
+        return retireAt != null && !retireAt.isAfter(now);
+    }
+    
+    public static JwtSigningKey hmac(String kid, String algorithm, String secret, Instant activateAt,
+                                     Instant retireAt) {
+        Key key = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+        return new JwtSigningKey(kid, algorithm(algorithm), key, key, activateAt, retireAt);
+    }
+    
+    public static JwtSigningKey asymmetric(String kid, String algorithm, String privateKey, String publicKey,
+                                           Instant activateAt, Instant retireAt) {
+        try {
+            KeyFactory keyFactory = KeyFactory.getInstance(keyFactoryAlgorithm(algorithm));
+            Key verificationKey = keyFactory.generatePublic(new X509EncodedKeySpec(Base64.getDecoder().decode(publicKey)));
+            Key signingKey = privateKey == null || privateKey.isBlank()
+                    ? null
+                    : keyFactory.generatePrivate(new PKCS8EncodedKeySpec(Base64.getDecoder().decode(privateKey)));
+            return new JwtSigningKey(kid, algorithm(algorithm), signingKey, verificationKey, activateAt, retireAt);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Invalid key material for JWT key " + kid, e);
+        }
+    }
+    
+    public static boolean isHmac(String algorithm) {
+        return algorithm.toUpperCase(Locale.ROOT).startsWith("HS");
+    }
+    
+    @SuppressWarnings("unchecked")
+    static SecureDigestAlgorithm<Key, ?> algorithm(String name) {
+        SecureDigestAlgorithm<?, ?> algorithm = switch (name.toUpperCase(Locale.ROOT)) {
+            case "HS256" -> Jwts.SIG.HS256;
+            case "HS384" -> Jwts.SIG.HS384;
+            case "HS512" -> Jwts.SIG.HS512;
+            case "ES256" -> Jwts.SIG.ES256;
+            case "ES384" -> Jwts.SIG.ES384;
+            case "EDDSA" -> Jwts.SIG.EdDSA;
+            default -> throw new IllegalArgumentException("Unsupported JWT algorithm: " + name);
+        };
+        return (SecureDigestAlgorithm<Key, ?>) algorithm;
+    }
+    
+    private static String keyFactoryAlgorithm(String algorithm) {
+        return algorithm.toUpperCase(Locale.ROOT).startsWith("ES") ? "EC" : "EdDSA";
+    }
+}
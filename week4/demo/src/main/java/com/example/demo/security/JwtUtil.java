@@ -1,74 +1,149 @@
 package com.example.demo.security;
 
 import io.jsonwebtoken.*;
-import io.jsonwebtoken.security.Keys;
 import io.jsonwebtoken.security.SignatureException;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 
-import javax.crypto.SecretKey;
 import java.util.Date;
+import java.util.UUID;
 
 @Component
 public class JwtUtil {
     
-    private static final Logger logger = LoggerFactory.getLogger(JwtUtil.class);
+    public static final String TOKEN_TYPE_CLAIM = "token_type";
     
-    @Value("${jwt.secret}")
-    private String jwtSecret;
+    public static final String ACCESS_TOKEN = "access";
+    
+    public static final String REFRESH_TOKEN = "refresh";
+    
+    @Autowired
+    private JwtKeyRing keyRing;
+    
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
+    @Autowired
+    private SecurityEventLog securityEventLog;
     
     @Value("${jwt.expiration}")
     private long jwtExpirationMs;
     
-    private SecretKey getSigningKey() {
-        byte[] keyBytes = jwtSecret.getBytes();
-        return Keys.hmacShaKeyFor(keyBytes);
+    @Value("${jwt.refresh-expiration}")
+    private long jwtRefreshExpirationMs;
+    
+    // Immutable and thread-safe; the key ring picks the verification key from the kid header
+    private JwtParser parser;
+    
+    private Counter validTokens;
+    
+    private Counter expiredTokens;
+    
+    private Counter badSignatureTokens;
+    
+    private Counter malformedTokens;
+    
+    private Counter unsupportedTokens;
+    
+    private Counter emptyTokens;
+    
+    @PostConstruct
+    void initParser() {
+        parser = Jwts.parser()
+                .keyLocator(keyRing)
+                .build();
+        
+        validTokens = validationCounter("valid");
+        expiredTokens = validationCounter("expired");
+        badSignatureTokens = validationCounter("bad_signature");
+        malformedTokens = validationCounter("malformed");
+        unsupportedTokens = validationCounter("unsupported");
+        emptyTokens = validationCounter("empty");
+    }
+    
+    private Counter validationCounter(String outcome) {
+        return Counter.builder("auth.token.validations")
+                .description("JWT validations by outcome")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
     }
     
     public String generateJwtToken(Authentication authentication) {
         UserDetails userPrincipal = (UserDetails) authentication.getPrincipal();
+        return generateJwtToken(userPrincipal.getUsername());
+    }
+    
+    public String generateJwtToken(String username) {
+        return buildToken(username, ACCESS_TOKEN, jwtExpirationMs);
+    }
+    
+    public String generateRefreshToken(String username) {
+        return buildToken(username, REFRESH_TOKEN, jwtRefreshExpirationMs);
+    }
+    
+    private String buildToken(String username, String tokenType, long expirationMs) {
+        Date now = new Date();
+        JwtSigningKey signingKey = keyRing.currentSigningKey();
         
         return Jwts.builder()
-                .subject(userPrincipal.getUsername())
-                .issuedAt(new Date())
-                .expiration(new Date((new Date()).getTime() + jwtExpirationMs))
-                .signWith(getSigningKey())
+                .header().keyId(signingKey.kid()).and()
+                .id(UUID.randomUUID().toString())
+                .subject(username)
+                .claim(TOKEN_TYPE_CLAIM, tokenType)
+                .issuedAt(now)
+                .expiration(new Date(now.getTime() + expirationMs))
+                .signWith(signingKey.signingKey(), signingKey.algorithm())
                 .compact();
     }
     
+    public Claims getClaimsFromJwtToken(String token) {
+        return parser.parseSignedClaims(token)
+                .getPayload();
+    }
+    
     public String getUsernameFromJwtToken(String token) {
-        return Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload()
-                .getSubject();
+        return getClaimsFromJwtToken(token).getSubject();
+    }
+    
+    public boolean isTokenType(Claims claims, String tokenType) {
+        // Tokens issued before refresh tokens existed carry no type and count as access tokens
+        Object type = claims.get(TOKEN_TYPE_CLAIM);
+        return tokenType.equals(type == null ? ACCESS_TOKEN : type);
     }
     
     public boolean validateJwtToken(String authToken) {
+        return validateJwtToken(authToken, null);
+    }
+    
+    public boolean validateJwtToken(String authToken, String clientIp) {
+        // Rejections go to the aggregated security event log, never a synchronous log call per request
         try {
-            Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(authToken);
+            parser.parseSignedClaims(authToken);
+            validTokens.increment();
             return true;
         } catch (SignatureException e) {
-            logger.error("Invalid JWT signature: {}", e.getMessage());
+            badSignatureTokens.increment();
+            securityEventLog.record(SecurityEventLog.Type.BAD_SIGNATURE, clientIp, null);
         } catch (MalformedJwtException e) {
-            logger.error("Invalid JWT token: {}", e.getMessage());
+            malformedTokens.increment();
+            securityEventLog.record(SecurityEventLog.Type.MALFORMED_TOKEN, clientIp, null);
         } catch (ExpiredJwtException e) {
-            logger.error("JWT token is expired: {}", e.getMessage());
+            expiredTokens.increment();
+            securityEventLog.record(SecurityEventLog.Type.EXPIRED_TOKEN, clientIp, null);
         } catch (UnsupportedJwtException e) {
-            logger.error("JWT token is unsupported: {}", e.getMessage());
+            unsupportedTokens.increment();
+            securityEventLog.record(SecurityEventLog.Type.UNSUPPORTED_TOKEN, clientIp, null);
         } catch (IllegalArgumentException e) {
-            logger.error("JWT claims string is empty: {}", e.getMessage());
+            emptyTokens.increment();
+            securityEventLog.record(SecurityEventLog.Type.EMPTY_TOKEN, clientIp, null);
         }
         
         return false;
     }
 }
-
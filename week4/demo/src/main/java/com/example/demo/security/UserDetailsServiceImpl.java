@@ -1,11 +1,9 @@
 package com.example.demo.security;
 
-import java.util.List;
-import java.util.stream.Collectors;
-
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.security.core.GrantedAuthority;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
@@ -15,32 +13,45 @@ import org.springframework.transaction.annotation.Transactional;
 import com.example.demo.entity.User;
 import com.example.demo.repository.UserRepository;
 
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
 @Service
 public class UserDetailsServiceImpl implements UserDetailsService {
     
     @Autowired
     private UserRepository userRepository;
     
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
+    private Timer foundTimer;
+    
+    private Timer notFoundTimer;
+    
+    @PostConstruct
+    void registerMeters() {
+        foundTimer = lookupTimer("found");
+        notFoundTimer = lookupTimer("not_found");
+    }
+    
     @Override
     @Transactional
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
-        User user = userRepository.findByUsername(username)
-                .orElseThrow(() -> new UsernameNotFoundException("User Not Found with username: " + username));
-        
-        List<GrantedAuthority> authorities = user.getRoles().stream()
-                .map(role -> new SimpleGrantedAuthority("ROLE_" + role))
-                .collect(Collectors.toList());
+        long start = System.nanoTime();
+        Optional<User> user = userRepository.findByUsername(username);
+        Timer timer = user.isPresent() ? foundTimer : notFoundTimer;
+        timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
         
-        return org.springframework.security.core.userdetails.User
-                .builder()
-                .username(user.getUsername())
-                .password(user.getPassword())
-                .authorities(authorities)
-                .accountExpired(false)
-                .accountLocked(!user.isActive())
-                .credentialsExpired(false)
-                .disabled(!user.isActive())
-                .build();
+        return user.map(UserPrincipal::new)
+                .orElseThrow(() -> new UsernameNotFoundException("User Not Found with username: " + username));
+    }
+    
+    private Timer lookupTimer(String result) {
+        return Timer.builder("auth.user.lookup")
+                .description("User lookups by username during authentication")
+                .tag("result", result)
+                .register(meterRegistry);
     }
 }
 
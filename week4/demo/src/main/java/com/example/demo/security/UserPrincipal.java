@@ -0,0 +1,97 @@
+package com.example.demo.security;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
+import org.springframework.security.core.CredentialsContainer;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import com.example.demo.entity.User;
+
+/**
+ * Authenticated user carrying the profile fields the API responds with, so callers that
+ * already hold an Authentication never need to load the user again.
+ */
+public class UserPrincipal implements UserDetails, CredentialsContainer {
+    
+    private final Long id;
+    
+    private final String username;
+    
+    private final String email;
+    
+    private String password;
+    
+    private final Set<String> roles;
+    
+    private final boolean active;
+    
+    private final List<GrantedAuthority> authorities;
+    
+    public UserPrincipal(User user) {
+        this.id = user.getId();
+        this.username = user.getUsername();
+        this.email = user.getEmail();
+        this.password = user.getPassword();
+        this.roles = Set.copyOf(user.getRoles());
+        this.active = user.isActive();
+        this.authorities = roles.stream()
+                .map(role -> (GrantedAuthority) new SimpleGrantedAuthority("ROLE_" + role))
+                .toList();
+    }
+    
+    public Long getId() {
+        return id;
+    }
+    
+    public String getEmail() {
+        return email;
+    }
+    
+    public Set<String> getRoles() {
+        return roles;
+    }
+    
+    @Override
+    public String getUsername() {
+        return username;
+    }
+    
+    @Override
+    public String getPassword() {
+        return password;
+    }
+    
+    @Override
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return authorities;
+    }
+    
+    @Override
+    public boolean isAccountNonExpired() {
+        return true;
+    }
+    
+    @Override
+    public boolean isAccountNonLocked() {
+        return active;
+    }
+    
+    @Override
+    public boolean isCredentialsNonExpired() {
+        return true;
+    }
+    
+    @Override
+    public boolean isEnabled() {
+        return active;
+    }
+    
+    @Override
+    public void eraseCredentials() {
+        password = null;
+    }
+}
@@ -2,19 +2,28 @@ package com.example.demo.service;
 
 import com.example.demo.dto.AuthResponse;
 import com.example.demo.dto.LoginRequest;
+import com.example.demo.dto.RefreshTokenRequest;
 import com.example.demo.dto.RegisterRequest;
 import com.example.demo.entity.User;
+import com.example.demo.exception.TooManyLoginAttemptsException;
 import com.example.demo.repository.UserRepository;
 import com.example.demo.security.JwtUtil;
+import com.example.demo.security.UserPrincipal;
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
+import org.springframework.security.core.AuthenticationException;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
+import java.time.Instant;
+import java.util.Date;
 import java.util.HashSet;
 import java.util.Set;
 
@@ -33,22 +42,120 @@ public class AuthService {
     @Autowired
     private JwtUtil jwtUtil;
     
-    public AuthResponse login(LoginRequest loginRequest) {
-        Authentication authentication = authenticationManager.authenticate(
-                new UsernamePasswordAuthenticationToken(
-                        loginRequest.getUsername(),
-                        loginRequest.getPassword()
-                )
-        );
+    @Autowired
+    private TokenRevocationService tokenRevocationService;
+    
+    @Autowired
+    private LoginAuditService loginAuditService;
+    
+    @Autowired
+    private LoginThrottleService loginThrottleService;
+    
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
+    private Timer loginSuccess;
+    
+    private Timer loginFailure;
+    
+    private Timer loginThrottled;
+    
+    @PostConstruct
+    void registerMeters() {
+        loginSuccess = loginTimer("success");
+        loginFailure = loginTimer("failure");
+        loginThrottled = loginTimer("throttled");
+    }
+    
+    public AuthResponse login(LoginRequest loginRequest, String clientIp) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        try {
+            loginThrottleService.checkAllowed(loginRequest.getUsername(), clientIp);
+        } catch (TooManyLoginAttemptsException e) {
+            sample.stop(loginThrottled);
+            loginAuditService.recordFailure(loginRequest.getUsername(), clientIp, "Throttled");
+            throw e;
+        }
+        
+        Authentication authentication;
+        try {
+            authentication = authenticationManager.authenticate(
+                    new UsernamePasswordAuthenticationToken(
+                            loginRequest.getUsername(),
+                            loginRequest.getPassword()
+                    )
+            );
+        } catch (AuthenticationException e) {
+            sample.stop(loginFailure);
+            loginThrottleService.recordFailure(loginRequest.getUsername(), clientIp);
+            loginAuditService.recordFailure(loginRequest.getUsername(), clientIp, e.getClass().getSimpleName());
+            throw e;
+        }
         
         SecurityContextHolder.getContext().setAuthentication(authentication);
         String jwt = jwtUtil.generateJwtToken(authentication);
         
-        UserDetails userDetails = (UserDetails) authentication.getPrincipal();
-        User user = userRepository.findByUsername(userDetails.getUsername())
+        // The principal was loaded once by UserDetailsServiceImpl during authenticate()
+        UserPrincipal principal = (UserPrincipal) authentication.getPrincipal();
+        String refreshToken = jwtUtil.generateRefreshToken(principal.getUsername());
+        loginAuditService.recordSuccess(principal.getUsername(), clientIp);
+        sample.stop(loginSuccess);
+        
+        return new AuthResponse(jwt, refreshToken, principal.getId(), principal.getUsername(), principal.getEmail(),
+                principal.getRoles());
+    }
+    
+    private Timer loginTimer(String outcome) {
+        return Timer.builder("auth.login")
+                .description("Login attempts by outcome")
+                .tag("outcome", outcome)
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+    }
+    
+    public AuthResponse refresh(RefreshTokenRequest refreshRequest) {
+        Claims claims = parseRefreshToken(refreshRequest.getRefreshToken());
+        
+        // Rotation: every refresh token is single use. Revoking is the atomic claim, so when two
+        // requests race with the same token only the one whose revocation inserted the jti wins.
+        if (!tokenRevocationService.revoke(claims.getId(), expirationOf(claims))) {
+            throw new RuntimeException("Invalid refresh token");
+        }
+        
+        User user = userRepository.findByUsername(claims.getSubject())
+                .filter(User::isActive)
                 .orElseThrow(() -> new RuntimeException("User not found"));
         
-        return new AuthResponse(jwt, user.getId(), user.getUsername(), user.getEmail(), user.getRoles());
+        String jwt = jwtUtil.generateJwtToken(user.getUsername());
+        String refreshToken = jwtUtil.generateRefreshToken(user.getUsername());
+        return new AuthResponse(jwt, refreshToken, user.getId(), user.getUsername(), user.getEmail(), user.getRoles());
+    }
+    
+    public void logout(String accessToken, RefreshTokenRequest refreshRequest) {
+        if (accessToken != null && jwtUtil.validateJwtToken(accessToken)) {
+            Claims claims = jwtUtil.getClaimsFromJwtToken(accessToken);
+            tokenRevocationService.revoke(claims.getId(), expirationOf(claims));
+        }
+        
+        Claims claims = parseRefreshToken(refreshRequest.getRefreshToken());
+        tokenRevocationService.revoke(claims.getId(), expirationOf(claims));
+    }
+    
+    private Claims parseRefreshToken(String refreshToken) {
+        if (!jwtUtil.validateJwtToken(refreshToken)) {
+            throw new RuntimeException("Invalid refresh token");
+        }
+        
+        Claims claims = jwtUtil.getClaimsFromJwtToken(refreshToken);
+        if (!jwtUtil.isTokenType(claims, JwtUtil.REFRESH_TOKEN) || tokenRevocationService.isRevoked(claims.getId())) {
+            throw new RuntimeException("Invalid refresh token");
+        }
+        return claims;
+    }
+    
+    private static Instant expirationOf(Claims claims) {
+        Date expiration = claims.getExpiration();
+        return expiration == null ? null : expiration.toInstant();
     }
     
     public User register(RegisterRequest registerRequest) {
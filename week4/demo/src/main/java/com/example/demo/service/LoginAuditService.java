@@ -0,0 +1,136 @@
+package com.example.demo.service;
+
+import com.example.demo.entity.LoginAuditEvent;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Records login attempts without touching the request thread's latency: events go into a
+ * bounded queue with a non-blocking offer and a single background writer drains them into
+ * JDBC batch inserts. When the queue is full, events are dropped and counted instead of
+ * making logins wait on the database.
+ */
+@Service
+public class LoginAuditService {
+    
+    private static final Logger logger = LoggerFactory.getLogger(LoginAuditService.class);
+    
+    private static final String INSERT_SQL = "INSERT INTO login_audit "
+            + "(username, success, client_ip, failure_reason, occurred_at) VALUES (?, ?, ?, ?, ?)";
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
+    @Value("${audit.login.queue-capacity:10000}")
+    private int queueCapacity;
+    
+    @Value("${audit.login.batch-size:100}")
+    private int batchSize;
+    
+    @Value("${audit.login.flush-interval-ms:1000}")
+    private long flushIntervalMs;
+    
+    private BlockingQueue<LoginAuditEvent> queue;
+    
+    private Thread writer;
+    
+    private volatile boolean running;
+    
+    private final AtomicLong dropped = new AtomicLong();
+    
+    @PostConstruct
+    public void start() {
+        queue = new ArrayBlockingQueue<>(queueCapacity);
+        FunctionCounter.builder("audit.login.dropped", dropped, AtomicLong::get)
+                .description("Login audit events dropped because the queue was full")
+                .register(meterRegistry);
+        running = true;
+        writer = Thread.ofPlatform()
+                .name("login-audit-writer")
+                .daemon(true)
+                .start(this::drainLoop);
+    }
+    
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        writer.join(flushIntervalMs * 2);
+        
+        // Flush whatever is left on the shutdown thread
+        List<LoginAuditEvent> remaining = new ArrayList<>();
+        queue.drainTo(remaining);
+        if (!remaining.isEmpty()) {
+            write(remaining);
+        }
+    }
+    
+    public void recordSuccess(String username, String clientIp) {
+        record(new LoginAuditEvent(null, username, true, clientIp, null, LocalDateTime.now()));
+    }
+    
+    public void recordFailure(String username, String clientIp, String reason) {
+        record(new LoginAuditEvent(null, username, false, clientIp, reason, LocalDateTime.now()));
+    }
+    
+    public long getDroppedCount() {
+        return dropped.get();
+    }
+    
+    private void record(LoginAuditEvent event) {
+        if (!queue.offer(event)) {
+            dropped.incrementAndGet();
+        }
+    }
+    
+    private void drainLoop() {
+        List<LoginAuditEvent> batch = new ArrayList<>(batchSize);
+        while (running) {
+            try {
+                LoginAuditEvent first = queue.poll(flushIntervalMs, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                write(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                logger.warn("Failed to write {} login audit events: {}", batch.size(), e.getMessage());
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+    
+    private void write(List<LoginAuditEvent> events) {
+        jdbcTemplate.batchUpdate(INSERT_SQL, events, events.size(), (ps, event) -> {
+            ps.setString(1, event.getUsername());
+            ps.setBoolean(2, event.isSuccess());
+            ps.setString(3, event.getClientIp());
+            ps.setString(4, event.getFailureReason());
+            ps.setTimestamp(5, Timestamp.valueOf(event.getOccurredAt()));
+        });
+    }
+}
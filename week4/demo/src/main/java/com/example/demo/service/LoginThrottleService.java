@@ -0,0 +1,89 @@
+package com.example.demo.service;
+
+import com.example.demo.exception.TooManyLoginAttemptsException;
+import com.example.demo.security.CountMinSketch;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+
+/**
+ * Brute-force protection for login. Failed attempts are counted per username and per client IP
+ * in fixed-memory count-min sketches over a sliding window. Once a key passes its threshold it
+ * must wait base-delay * 2^(failures - threshold) since its last failure, capped at max-delay.
+ * The check runs before authentication, so throttled attempts never reach BCrypt.
+ */
+@Service
+public class LoginThrottleService {
+    
+    @Value("${login.throttle.username-threshold:5}")
+    private int usernameThreshold;
+    
+    @Value("${login.throttle.ip-threshold:20}")
+    private int ipThreshold;
+    
+    @Value("${login.throttle.base-delay:1s}")
+    private Duration baseDelay;
+    
+    @Value("${login.throttle.max-delay:15m}")
+    private Duration maxDelay;
+    
+    @Value("${login.throttle.window:15m}")
+    private Duration window;
+    
+    @Value("${login.throttle.window-slots:15}")
+    private int windowSlots;
+    
+    @Value("${login.throttle.sketch-depth:4}")
+    private int sketchDepth;
+    
+    @Value("${login.throttle.sketch-width:4096}")
+    private int sketchWidth;
+    
+    private CountMinSketch usernameFailures;
+    
+    private CountMinSketch ipFailures;
+    
+    @PostConstruct
+    public void init() {
+        usernameFailures = new CountMinSketch(sketchDepth, sketchWidth, windowSlots, window.toMillis());
+        ipFailures = new CountMinSketch(sketchDepth, sketchWidth, windowSlots, window.toMillis());
+    }
+    
+    public void checkAllowed(String username, String clientIp) {
+        long now = System.currentTimeMillis();
+        long waitMillis = Math.max(
+                remainingBackoff(usernameFailures, username, usernameThreshold, now),
+                remainingBackoff(ipFailures, clientIp, ipThreshold, now));
+        
+        if (waitMillis > 0) {
+            throw new TooManyLoginAttemptsException(Math.max(1, (waitMillis + 999) / 1000));
+        }
+    }
+    
+    public void recordFailure(String username, String clientIp) {
+        long now = System.currentTimeMillis();
+        if (username != null) {
+            usernameFailures.add(username, now);
+        }
+        if (clientIp != null) {
+            ipFailures.add(clientIp, now);
+        }
+    }
+    
+    private long remainingBackoff(CountMinSketch failures, String key, int threshold, long now) {
+        if (key == null) {
+            return 0;
+        }
+        
+        int count = failures.estimate(key, now);
+        if (count < threshold) {
+            return 0;
+        }
+        
+        int exponent = Math.min(count - threshold, 30);
+        long delay = Math.min(baseDelay.toMillis() << exponent, maxDelay.toMillis());
+        return failures.lastAdded(key) + delay - now;
+    }
+}
@@ -0,0 +1,132 @@
+package com.example.demo.service;
+
+import com.example.demo.repository.RevokedTokenRepository;
+import com.example.demo.security.BloomFilter;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * Revoked token ids (jti) are kept in two places: the revoked_tokens table is the exact set,
+ * and an in-memory Bloom filter sits in front of it. A token that is not in the filter is
+ * definitely not revoked, which is the answer for almost every request, so the database is
+ * only consulted on a filter hit. The filter is rebuilt periodically from unexpired rows,
+ * which also purges expired ones and keeps the false-positive rate from creeping up.
+ */
+@Service
+public class TokenRevocationService {
+    
+    private static final Logger logger = LoggerFactory.getLogger(TokenRevocationService.class);
+    
+    private static final String INSERT_SQL = "INSERT INTO revoked_tokens (jti, expires_at) VALUES (?, ?)";
+    
+    @Autowired
+    private RevokedTokenRepository revokedTokenRepository;
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    @Value("${jwt.revocation.expected-insertions:10000000}")
+    private long expectedInsertions;
+    
+    @Value("${jwt.revocation.false-positive-rate:0.01}")
+    private double falsePositiveRate;
+    
+    private volatile BloomFilter bloomFilter;
+    
+    // Non-null while a rebuild is running, so concurrent revocations land in both filters
+    private volatile BloomFilter rebuilding;
+    
+    private final AtomicLong exactLookups = new AtomicLong();
+    
+    @PostConstruct
+    public void init() {
+        bloomFilter = newFilter();
+    }
+    
+    BloomFilter newFilter() {
+        return new BloomFilter(expectedInsertions, falsePositiveRate);
+    }
+    
+    /**
+     * Adds the token to the revoked set. The INSERT is the check: a second revocation of the same
+     * jti hits the primary key, so concurrent callers cannot both believe they revoked it.
+     *
+     * @return {@code true} if this call revoked the token, {@code false} if it was already revoked
+     *         or cannot be tracked (no jti, already expired)
+     */
+    public boolean revoke(String jti, Instant expiresAt) {
+        if (jti == null || expiresAt == null || !expiresAt.isAfter(Instant.now())) {
+            return false;
+        }
+        
+        try {
+            jdbcTemplate.update(INSERT_SQL, jti, Timestamp.from(expiresAt));
+        } catch (DuplicateKeyException e) {
+            return false;
+        }
+        // Read rebuilding before bloomFilter: a rebuild publishes its filter before clearing
+        // rebuilding, so if rebuilding is already null, bloomFilter is the rebuilt filter. The
+        // other way round, a rebuild whose snapshot missed this row could swap filters between
+        // the two puts and drop the jti until the next rebuild.
+        BloomFilter pending = rebuilding;
+        if (pending != null) {
+            pending.put(jti);
+        }
+        bloomFilter.put(jti);
+        return true;
+    }
+    
+    public boolean isRevoked(String jti) {
+        if (jti == null || !bloomFilter.mightContain(jti)) {
+            return false;
+        }
+        
+        // Possible false positive, confirm against the exact set
+        exactLookups.incrementAndGet();
+        return revokedTokenRepository.existsById(jti);
+    }
+    
+    public long getExactLookups() {
+        return exactLookups.get();
+    }
+    
+    @Scheduled(initialDelay = 0, fixedDelayString = "${jwt.revocation.rebuild-interval:600000}")
+    @Transactional
+    public void rebuild() {
+        Instant now = Instant.now();
+        BloomFilter fresh = newFilter();
+        AtomicLong count = new AtomicLong();
+        // Published before the first read, so any revocation the snapshot misses also puts its
+        // jti into the fresh filter
+        rebuilding = fresh;
+        int purged;
+        try {
+            purged = revokedTokenRepository.deleteExpired(now);
+            try (Stream<String> jtis = revokedTokenRepository.streamActiveJtis(now)) {
+                jtis.forEach(jti -> {
+                    fresh.put(jti);
+                    count.incrementAndGet();
+                });
+            }
+            bloomFilter = fresh;
+        } finally {
+            rebuilding = null;
+        }
+        
+        logger.info("Rebuilt revocation filter: {} active, {} expired purged, {} bytes",
+                count.get(), purged, fresh.sizeInBytes());
+    }
+}
@@ -0,0 +1,258 @@
+package com.example.demo.service;
+
+import com.example.demo.dto.RegisterRequest;
+import com.example.demo.dto.UserIdentity;
+import com.example.demo.dto.UserImportResult;
+import com.example.demo.dto.UserImportResult.Status;
+import com.example.demo.dto.UserImportSummary;
+import com.example.demo.entity.User;
+import com.example.demo.repository.UserRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.hibernate.exception.ConstraintViolationException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/**
+ * Imports users in chunks. Per chunk: one query finds every username or email that is
+ * already taken, BCrypt runs in parallel on a dedicated bounded pool (so request and
+ * common-pool threads are never starved), and the new users and their roles are written
+ * with Hibernate JDBC batching in one transaction. If that transaction hits a unique
+ * constraint, the chunk is retried one row per transaction so only the conflicting rows
+ * fail. Results are handed to the caller as each chunk completes, in request order.
+ */
+@Service
+public class UserImportService {
+    
+    private static final Logger logger = LoggerFactory.getLogger(UserImportService.class);
+    
+    @Autowired
+    private UserRepository userRepository;
+    
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+    
+    @Autowired
+    private Validator validator;
+    
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    
+    @PersistenceContext
+    private EntityManager entityManager;
+    
+    @Value("${user-import.chunk-size:500}")
+    private int chunkSize;
+    
+    @Value("${user-import.hash-parallelism:0}")
+    private int hashParallelism;
+    
+    private ForkJoinPool hashPool;
+    
+    @PostConstruct
+    public void start() {
+        int parallelism = hashParallelism > 0 ? hashParallelism : Runtime.getRuntime().availableProcessors();
+        hashPool = new ForkJoinPool(parallelism);
+    }
+    
+    @PreDestroy
+    public void stop() {
+        hashPool.shutdown();
+    }
+    
+    public UserImportSummary importUsers(List<RegisterRequest> requests, Consumer<UserImportResult> results) {
+        long start = System.nanoTime();
+        long hashingNanos = 0;
+        long persistNanos = 0;
+        int created = 0;
+        
+        // Usernames and emails claimed by earlier rows of this same import
+        Set<String> seenUsernames = new HashSet<>();
+        Set<String> seenEmails = new HashSet<>();
+        
+        for (int from = 0; from < requests.size(); from += chunkSize) {
+            List<RegisterRequest> chunk = requests.subList(from, Math.min(from + chunkSize, requests.size()));
+            UserImportResult[] chunkResults = new UserImportResult[chunk.size()];
+            List<Integer> accepted = checkChunk(chunk, from, chunkResults, seenUsernames, seenEmails);
+            
+            long hashStart = System.nanoTime();
+            List<User> users = hashAll(chunk, accepted);
+            long persistStart = System.nanoTime();
+            hashingNanos += persistStart - hashStart;
+            
+            boolean[] persisted;
+            try {
+                persist(users);
+                persisted = new boolean[users.size()];
+                Arrays.fill(persisted, true);
+            } catch (DataIntegrityViolationException | ConstraintViolationException e) {
+                // A concurrent registration took one of the names after the duplicate check
+                persisted = persistOneByOne(users);
+            }
+            for (int i = 0; i < accepted.size(); i++) {
+                int index = accepted.get(i);
+                User user = users.get(i);
+                if (persisted[i]) {
+                    chunkResults[index] = new UserImportResult(from + index, user.getUsername(), Status.CREATED,
+                            user.getId(), null);
+                    created++;
+                } else {
+                    chunkResults[index] = new UserImportResult(from + index, user.getUsername(), Status.FAILED,
+                            null, "Conflicted with a concurrent registration, retry this row");
+                }
+            }
+            persistNanos += System.nanoTime() - persistStart;
+            
+            for (UserImportResult result : chunkResults) {
+                results.accept(result);
+            }
+        }
+        
+        long elapsedNanos = System.nanoTime() - start;
+        double usersPerSecond = elapsedNanos == 0 ? 0 : created * 1_000_000_000.0 / elapsedNanos;
+        UserImportSummary summary = new UserImportSummary(requests.size(), created, requests.size() - created,
+                elapsedNanos / 1_000_000, hashingNanos / 1_000_000, persistNanos / 1_000_000, usersPerSecond);
+        logger.info("Imported {} of {} users in {} ms ({} users/s, hashing {} ms, persisting {} ms)",
+                summary.created(), summary.rows(), summary.elapsedMs(), Math.round(usersPerSecond),
+                summary.hashingMs(), summary.persistMs());
+        return summary;
+    }
+    
+    /**
+     * Fills in results for invalid and duplicate rows and returns the indexes of the rows to create.
+     */
+    private List<Integer> checkChunk(List<RegisterRequest> chunk, int offset, UserImportResult[] results,
+                                     Set<String> seenUsernames, Set<String> seenEmails) {
+        List<Integer> valid = new ArrayList<>();
+        for (int i = 0; i < chunk.size(); i++) {
+            RegisterRequest request = chunk.get(i);
+            Set<ConstraintViolation<RegisterRequest>> violations = validator.validate(request);
+            if (!violations.isEmpty()) {
+                String message = violations.stream()
+                        .map(ConstraintViolation::getMessage)
+                        .sorted()
+                        .collect(Collectors.joining("; "));
+                results[i] = new UserImportResult(offset + i, request.getUsername(), Status.INVALID, null, message);
+            } else {
+                valid.add(i);
+            }
+        }
+        
+        Set<String> takenUsernames = new HashSet<>();
+        Set<String> takenEmails = new HashSet<>();
+        if (!valid.isEmpty()) {
+            Set<String> usernames = valid.stream().map(i -> chunk.get(i).getUsername()).collect(Collectors.toSet());
+            Set<String> emails = valid.stream().map(i -> chunk.get(i).getEmail()).collect(Collectors.toSet());
+            for (UserIdentity identity : userRepository.findIdentitiesMatching(usernames, emails)) {
+                takenUsernames.add(identity.username());
+                takenEmails.add(identity.email());
+            }
+        }
+        
+        List<Integer> accepted = new ArrayList<>();
+        for (int i : valid) {
+            RegisterRequest request = chunk.get(i);
+            if (takenUsernames.contains(request.getUsername()) || !seenUsernames.add(request.getUsername())) {
+                results[i] = new UserImportResult(offset + i, request.getUsername(), Status.DUPLICATE, null,
+                        "Username is already taken");
+            } else if (takenEmails.contains(request.getEmail()) || !seenEmails.add(request.getEmail())) {
+                seenUsernames.remove(request.getUsername());
+                results[i] = new UserImportResult(offset + i, request.getUsername(), Status.DUPLICATE, null,
+                        "Email is already in use");
+            } else {
+                accepted.add(i);
+            }
+        }
+        return accepted;
+    }
+    
+    private List<User> hashAll(List<RegisterRequest> chunk, List<Integer> accepted) {
+        try {
+            // A parallel stream started from inside the pool runs on the pool's workers only
+            return hashPool.submit(() -> accepted.parallelStream()
+                            .map(i -> toUser(chunk.get(i)))
+                            .toList())
+                    .get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("User import interrupted", e);
+        } catch (ExecutionException e) {
+            throw new RuntimeException("Password hashing failed", e.getCause());
+        }
+    }
+    
+    private User toUser(RegisterRequest request) {
+        User user = new User();
+        user.setUsername(request.getUsername());
+        user.setEmail(request.getEmail());
+        user.setPassword(passwordEncoder.encode(request.getPassword()));
+        
+        Set<String> roles = new HashSet<>();
+        if (request.getRoles() != null && !request.getRoles().isEmpty()) {
+            roles.addAll(request.getRoles());
+        } else {
+            roles.add("USER");
+        }
+        user.setRoles(roles);
+        return user;
+    }
+    
+    private void persist(List<User> users) {
+        if (users.isEmpty()) {
+            return;
+        }
+        
+        transactionTemplate.executeWithoutResult(status -> {
+            // Bulk rows are rarely read right away, keep them out of the second-level cache
+            entityManager.unwrap(Session.class).setCacheMode(CacheMode.IGNORE);
+            for (User user : users) {
+                entityManager.persist(user);
+            }
+            entityManager.flush();
+            entityManager.clear();
+        });
+    }
+    
+    /**
+     * Retries a rolled-back chunk with one transaction per user. The flush goes through the raw
+     * EntityManager, so Hibernate's exception can arrive untranslated.
+     */
+    private boolean[] persistOneByOne(List<User> users) {
+        boolean[] persisted = new boolean[users.size()];
+        for (int i = 0; i < users.size(); i++) {
+            User user = users.get(i);
+            // The rolled-back attempt left a sequence id and a Hibernate-owned role set behind
+            user.setId(null);
+            user.setRoles(new HashSet<>(user.getRoles()));
+            try {
+                persist(List.of(user));
+                persisted[i] = true;
+            } catch (DataIntegrityViolationException | ConstraintViolationException e) {
+                logger.debug("Import of user {} conflicted: {}", user.getUsername(), e.getMessage());
+            }
+        }
+        return persisted;
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.demo.service;
+
+import com.example.demo.dto.UserPageResponse;
+import com.example.demo.dto.UserResponse;
+import com.example.demo.dto.UserRoleRow;
+import com.example.demo.dto.UserSummary;
+import com.example.demo.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+@Service
+public class UserService {
+    
+    public static final int MAX_PAGE_SIZE = 500;
+    
+    @Autowired
+    private UserRepository userRepository;
+    
+    /**
+     * One page of users after {@code afterId}, ordered by id. Always exactly two queries:
+     * the scalar columns of the page, then the roles of every user on it.
+     */
+    @Transactional(readOnly = true)
+    public UserPageResponse findPage(Long afterId, int size) {
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        List<UserSummary> summaries = userRepository.findSummariesAfter(
+                afterId == null ? 0L : afterId, PageRequest.of(0, pageSize));
+        if (summaries.isEmpty()) {
+            return new UserPageResponse(List.of(), null);
+        }
+        
+        List<Long> ids = summaries.stream().map(UserSummary::id).toList();
+        Map<Long, Set<String>> rolesByUser = new HashMap<>();
+        for (UserRoleRow row : userRepository.findRolesByUserIds(ids)) {
+            rolesByUser.computeIfAbsent(row.userId(), id -> new HashSet<>()).add(row.role());
+        }
+        
+        List<UserResponse> users = summaries.stream()
+                .map(user -> new UserResponse(
+                        user.id(),
+                        user.username(),
+                        user.email(),
+                        rolesByUser.getOrDefault(user.id(), Set.of()),
+                        user.createdAt(),
+                        user.active()
+                ))
+                .toList();
+        
+        Long nextCursor = summaries.size() < pageSize ? null : ids.get(ids.size() - 1);
+        return new UserPageResponse(users, nextCursor);
+    }
+}
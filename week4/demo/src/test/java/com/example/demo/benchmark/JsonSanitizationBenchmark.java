@@ -0,0 +1,83 @@
+package com.example.demo.benchmark;
+
+import com.example.demo.config.JacksonConfig;
+import com.example.demo.dto.RegisterRequest;
+import com.example.demo.filter.XSSFilter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.http.HttpServletRequest;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of escaping a register body while Jackson parses it, compared with plain parsing
+ * and with sending the same fields as parameters through the XSSFilter request wrapper.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JsonSanitizationBenchmark {
+    
+    private static final byte[] BODY = ("{\"username\":\"john<script>\",\"email\":\"john@test.com\","
+            + "\"password\":\"p@ss'word/1\",\"roles\":[\"USER\"]}").getBytes(StandardCharsets.UTF_8);
+    
+    private final ObjectMapper plainMapper = new ObjectMapper();
+    
+    private final ObjectMapper sanitizingMapper = new ObjectMapper()
+            .registerModule(new JacksonConfig().xssModule());
+    
+    private final XSSFilter filter = new XSSFilter();
+    
+    private MockHttpServletRequest parameterRequest;
+    
+    private MockHttpServletResponse response;
+    
+    @Setup
+    public void setUp() {
+        parameterRequest = new MockHttpServletRequest("POST", "/api/auth/register");
+        parameterRequest.addParameter("username", "john<script>");
+        parameterRequest.addParameter("email", "john@test.com");
+        parameterRequest.addParameter("password", "p@ss'word/1");
+        parameterRequest.addParameter("roles", "USER");
+        response = new MockHttpServletResponse();
+    }
+    
+    @Benchmark
+    public RegisterRequest plainJson() throws Exception {
+        return plainMapper.readValue(BODY, RegisterRequest.class);
+    }
+    
+    @Benchmark
+    public RegisterRequest sanitizingJson() throws Exception {
+        return sanitizingMapper.readValue(BODY, RegisterRequest.class);
+    }
+    
+    @Benchmark
+    public void wrapperParameters(Blackhole blackhole) throws Exception {
+        FilterChain chain = (req, res) -> {
+            HttpServletRequest wrapped = (HttpServletRequest) req;
+            blackhole.consume(wrapped.getParameter("username"));
+            blackhole.consume(wrapped.getParameter("email"));
+            blackhole.consume(wrapped.getParameter("password"));
+            blackhole.consume(wrapped.getParameterValues("roles"));
+        };
+        filter.doFilter(parameterRequest, response, chain);
+    }
+}
@@ -0,0 +1,88 @@
+package com.example.demo.benchmark;
+
+import com.example.demo.security.JwtKeyRing;
+import com.example.demo.security.JwtSigningKey;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Jwks;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.security.KeyPair;
+import java.util.Base64;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Signing and verification cost per algorithm, going through the same key ring and
+ * kid lookup as JwtUtil. Token size also differs by algorithm (an HS256 MAC is 32 bytes,
+ * ES256 and Ed25519 signatures are 64): with these claims a token is 238 characters for
+ * HS256 and 281 for ES256 and EdDSA.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtSigningBenchmark {
+    
+    @Param({"HS256", "ES256", "EdDSA"})
+    public String algorithm;
+    
+    private JwtKeyRing keyRing;
+    
+    private JwtParser parser;
+    
+    private String token;
+    
+    @Setup
+    public void setUp() {
+        JwtSigningKey key = switch (algorithm) {
+            case "HS256" -> JwtSigningKey.hmac("bench", algorithm, "0123456789abcdef0123456789abcdef", null, null);
+            case "ES256" -> asymmetric(Jwts.SIG.ES256.keyPair().build());
+            default -> asymmetric(Jwks.CRV.Ed25519.keyPair().build());
+        };
+        keyRing = new JwtKeyRing(List.of(key));
+        parser = Jwts.parser().keyLocator(keyRing).build();
+        token = sign();
+    }
+    
+    @Benchmark
+    public String sign() {
+        JwtSigningKey key = keyRing.currentSigningKey();
+        Date now = new Date();
+        return Jwts.builder()
+                .header().keyId(key.kid()).and()
+                .id(UUID.randomUUID().toString())
+                .subject("john")
+                .claim("token_type", "access")
+                .issuedAt(now)
+                .expiration(new Date(now.getTime() + 900_000))
+                .signWith(key.signingKey(), key.algorithm())
+                .compact();
+    }
+    
+    @Benchmark
+    public Object verify() {
+        return parser.parseSignedClaims(token).getPayload();
+    }
+    
+    private JwtSigningKey asymmetric(KeyPair keyPair) {
+        Base64.Encoder encoder = Base64.getEncoder();
+        return JwtSigningKey.asymmetric("bench", algorithm,
+                encoder.encodeToString(keyPair.getPrivate().getEncoded()),
+                encoder.encodeToString(keyPair.getPublic().getEncoded()), null, null);
+    }
+}
@@ -0,0 +1,176 @@
+package com.example.demo.benchmark;
+
+import com.example.demo.DemoApplication;
+import com.example.demo.dto.RegisterRequest;
+import com.example.demo.security.JwtAuthenticationFilter;
+import com.example.demo.security.JwtUtil;
+import com.example.demo.service.AuthService;
+import jakarta.servlet.Filter;
+import jakarta.servlet.FilterChain;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+/**
+ * Per-request cost of the week4 filter chain. The isolated benchmarks run one filter on a
+ * fresh mock request with an empty downstream chain; subtract {@code mockRequestOnly} to get
+ * the filter alone. {@code springSecurityChain} minus {@code jwtAuthenticationFilter} is what
+ * the rest of Spring Security (context handling, headers, URL authorization) adds. The
+ * {@code fullChain*} benchmarks go through MockMvc with the filters in production order
+ * (Spring Security, RateLimitingFilter, XSSFilter) and the controller, compared with
+ * {@code unfilteredPublic}. Run with {@code -prof gc} for allocated bytes per request.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SecurityFilterChainBenchmark {
+    
+    private static final FilterChain NO_OP_CHAIN = (request, response) -> {
+    };
+    
+    private ConfigurableApplicationContext context;
+    
+    private Filter rateLimitingFilter;
+    
+    private Filter xssFilter;
+    
+    private Filter jwtAuthenticationFilter;
+    
+    private Filter springSecurityChain;
+    
+    private MockMvc unfiltered;
+    
+    private MockMvc filtered;
+    
+    private String userToken;
+    
+    private String adminToken;
+    
+    @Setup
+    public void setUp() {
+        // Limits high enough that the benchmark measures bucket bookkeeping, never a 429
+        context = new SpringApplicationBuilder(DemoApplication.class)
+                .properties("server.port=0",
+                        "spring.main.banner-mode=off",
+                        "logging.level.root=WARN",
+                        "rate-limit.policies[0].limit=1000000000",
+                        "rate-limit.policies[1].limit=1000000000",
+                        "rate-limit.policies[2].limit=1000000000",
+                        "rate-limit.policies[3].limit=1000000000")
+                .run();
+        
+        rateLimitingFilter = context.getBean("rateLimitingFilter", FilterRegistrationBean.class).getFilter();
+        xssFilter = context.getBean("xssFilter", FilterRegistrationBean.class).getFilter();
+        jwtAuthenticationFilter = context.getBean(JwtAuthenticationFilter.class);
+        springSecurityChain = context.getBean("springSecurityFilterChain", Filter.class);
+        
+        AuthService authService = context.getBean(AuthService.class);
+        authService.register(new RegisterRequest("benchuser", "benchuser@test.com", "password", Set.of("USER")));
+        authService.register(new RegisterRequest("benchadmin", "benchadmin@test.com", "password", Set.of("ADMIN")));
+        JwtUtil jwtUtil = context.getBean(JwtUtil.class);
+        userToken = "Bearer " + jwtUtil.generateJwtToken("benchuser");
+        adminToken = "Bearer " + jwtUtil.generateJwtToken("benchadmin");
+        
+        WebApplicationContext webContext = (WebApplicationContext) context;
+        unfiltered = MockMvcBuilders.webAppContextSetup(webContext).build();
+        filtered = MockMvcBuilders.webAppContextSetup(webContext)
+                .addFilters(springSecurityChain, rateLimitingFilter, xssFilter)
+                .build();
+    }
+    
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+    
+    @Benchmark
+    public MockHttpServletResponse mockRequestOnly() {
+        request(userToken);
+        return new MockHttpServletResponse();
+    }
+    
+    @Benchmark
+    public MockHttpServletResponse rateLimitingFilter() throws Exception {
+        return runIsolated(rateLimitingFilter, userToken);
+    }
+    
+    @Benchmark
+    public MockHttpServletResponse xssFilter() throws Exception {
+        return runIsolated(xssFilter, userToken);
+    }
+    
+    @Benchmark
+    public MockHttpServletResponse jwtAuthenticationFilter() throws Exception {
+        return runIsolated(jwtAuthenticationFilter, userToken);
+    }
+    
+    @Benchmark
+    public MockHttpServletResponse springSecurityChain() throws Exception {
+        return runIsolated(springSecurityChain, userToken);
+    }
+    
+    @Benchmark
+    public MvcResult unfilteredPublic() throws Exception {
+        return unfiltered.perform(get("/api/users/public")).andReturn();
+    }
+    
+    @Benchmark
+    public MvcResult fullChainPublic() throws Exception {
+        return filtered.perform(get("/api/users/public")).andReturn();
+    }
+    
+    @Benchmark
+    public MvcResult fullChainAuthenticated() throws Exception {
+        return filtered.perform(get("/api/users/hello").header("Authorization", userToken)).andReturn();
+    }
+    
+    @Benchmark
+    public MvcResult fullChainAdmin() throws Exception {
+        return filtered.perform(get("/api/users/admin/hello").header("Authorization", adminToken)).andReturn();
+    }
+    
+    private MockHttpServletResponse runIsolated(Filter filter, String token) throws Exception {
+        // OncePerRequestFilter marks the request, so every invocation needs a fresh one
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        try {
+            filter.doFilter(request(token), response, NO_OP_CHAIN);
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+        return response;
+    }
+    
+    private static MockHttpServletRequest request(String token) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/users/hello");
+        request.setRemoteAddr("10.0.0.1");
+        request.addHeader("Authorization", token);
+        request.addHeader("Accept", "application/json");
+        return request;
+    }
+}
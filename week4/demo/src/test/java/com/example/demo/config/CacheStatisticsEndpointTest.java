@@ -0,0 +1,39 @@
+package com.example.demo.config;
+
+import com.example.demo.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// application.properties turns the query cache on, so the query results region is listed too
+@SpringBootTest
+@AutoConfigureMockMvc
+class CacheStatisticsEndpointTest {
+    
+    @Autowired
+    private MockMvc mockMvc;
+    
+    @Autowired
+    private UserRepository userRepository;
+    
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void cacheStatistics_WithQueryCacheInUse_ShouldReportEveryRegion() throws Exception {
+        // Cacheable query: a miss and a put, then a hit
+        userRepository.existsByUsername("cachestats-probe");
+        userRepository.existsByUsername("cachestats-probe");
+        
+        mockMvc.perform(get("/actuator/cachestats"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.query.hits").value(1))
+                .andExpect(jsonPath("$.regions['default-query-results-region'].puts").value(1))
+                .andExpect(jsonPath("$.regions['com.example.demo.entity.User']").exists());
+    }
+}
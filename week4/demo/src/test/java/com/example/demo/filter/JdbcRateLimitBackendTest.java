@@ -0,0 +1,133 @@
+package com.example.demo.filter;
+
+import com.example.demo.filter.JdbcRateLimitBackend.BucketRow;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class JdbcRateLimitBackendTest {
+    
+    private static final RateLimit LIMIT = new RateLimit(150, 100, Duration.ofMinutes(1));
+    
+    private static final long MINUTE = 60_000;
+    
+    @Test
+    void refill_BeforePeriodEnds_ShouldLeaveRowUnchanged() {
+        BucketRow row = new BucketRow(3, 1_000, 7);
+        
+        assertSame(row, JdbcRateLimitBackend.refill(row, LIMIT, 1_000 + MINUTE - 1));
+    }
+    
+    @Test
+    void refill_AfterOnePeriod_ShouldAddRefillTokens() {
+        BucketRow refilled = JdbcRateLimitBackend.refill(new BucketRow(3, 1_000, 7), LIMIT, 1_000 + MINUTE);
+        
+        assertEquals(new BucketRow(103, 1_000 + MINUTE, 7), refilled);
+    }
+    
+    @Test
+    void refill_AfterManyPeriods_ShouldCapAtCapacityAndKeepPartialPeriod() {
+        BucketRow refilled = JdbcRateLimitBackend.refill(new BucketRow(3, 1_000, 7), LIMIT,
+                1_000 + 5 * MINUTE + 30_000);
+        
+        // 3 + 5 * 100 capped at 150; the half period already elapsed still counts towards the next refill
+        assertEquals(new BucketRow(150, 1_000 + 5 * MINUTE, 7), refilled);
+    }
+    
+    @Test
+    void tryConsume_ShouldRejectOnceCapacityIsSpent() {
+        JdbcTemplate jdbcTemplate = newDatabase();
+        JdbcRateLimitBackend backend = newBackend(jdbcTemplate, 10);
+        RateLimit limit = new RateLimit(25, Duration.ofHours(1));
+        
+        for (int i = 0; i < 25; i++) {
+            assertTrue(backend.tryConsume("ip:10.0.0.1", limit, 1), "request " + i);
+        }
+        assertFalse(backend.tryConsume("ip:10.0.0.1", limit, 1));
+        assertTrue(backend.tryConsume("ip:10.0.0.2", limit, 1));
+    }
+    
+    @Test
+    void refund_ShouldReturnTokensToThisNodesReservation() {
+        JdbcRateLimitBackend backend = newBackend(newDatabase(), 10);
+        RateLimit limit = new RateLimit(5, Duration.ofHours(1));
+        
+        for (int i = 0; i < 5; i++) {
+            assertTrue(backend.tryConsume("ip:10.0.0.1", limit, 1));
+        }
+        assertFalse(backend.tryConsume("ip:10.0.0.1", limit, 1));
+        
+        backend.refund("ip:10.0.0.1", limit, 1);
+        assertTrue(backend.tryConsume("ip:10.0.0.1", limit, 1));
+        assertFalse(backend.tryConsume("ip:10.0.0.1", limit, 1));
+    }
+    
+    @Test
+    void tryConsume_UnderContentionFromSeveralNodes_ShouldNeverExceedLimit() throws Exception {
+        JdbcTemplate jdbcTemplate = newDatabase();
+        // Separate backends share only the table, like instances behind a load balancer
+        List<JdbcRateLimitBackend> nodes = List.of(newBackend(jdbcTemplate, 10), newBackend(jdbcTemplate, 10),
+                newBackend(jdbcTemplate, 10));
+        RateLimit limit = new RateLimit(100, Duration.ofHours(1));
+        int threads = 12;
+        int attemptsPerThread = 50;
+        
+        AtomicInteger allowed = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                JdbcRateLimitBackend node = nodes.get(t % nodes.size());
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < attemptsPerThread; i++) {
+                        if (node.tryConsume("user:alice", limit, 1)) {
+                            allowed.incrementAndGet();
+                        }
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+        
+        assertTrue(allowed.get() <= 100, "allowed " + allowed.get() + " of a limit of 100");
+        // Every token left the shared row; the only ones not spent are those still reserved by a node
+        assertEquals(0L, jdbcTemplate.queryForObject(
+                "SELECT tokens FROM rate_limit_bucket WHERE bucket_key = 'user:alice'", Long.class));
+        assertTrue(allowed.get() >= 100 - nodes.size() * 10, "allowed only " + allowed.get());
+    }
+    
+    private static JdbcTemplate newDatabase() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:ratelimit-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1", "sa", "");
+        return new JdbcTemplate(dataSource);
+    }
+    
+    private static JdbcRateLimitBackend newBackend(JdbcTemplate jdbcTemplate, long prefetch) {
+        return new JdbcRateLimitBackend(jdbcTemplate, prefetch, 1000, Duration.ofMinutes(10),
+                new SimpleMeterRegistry());
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.demo.filter;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class RateLimitingFilterTest {
+    
+    private RateLimitingFilter filter;
+    
+    @BeforeEach
+    void setUp() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        List<RateLimitPolicy> policies = List.of(
+                new RateLimitPolicy("global-ip", "/**", Set.of(), RateLimitPolicy.Scope.IP,
+                        new RateLimit(10, Duration.ofHours(1)), 1),
+                new RateLimitPolicy("login", "/api/auth/login", Set.of("POST"), RateLimitPolicy.Scope.IP,
+                        new RateLimit(2, Duration.ofHours(1)), 1));
+        filter = new RateLimitingFilter(new LocalRateLimitBackend(1000, Duration.ofMinutes(10), meterRegistry),
+                policies, new ClientIpResolver(List.of()), meterRegistry);
+    }
+    
+    @Test
+    void rejectedRequest_ShouldNotDrainEarlierTiers() throws Exception {
+        assertEquals(200, send("POST", "/api/auth/login"));
+        assertEquals(200, send("POST", "/api/auth/login"));
+        for (int i = 0; i < 5; i++) {
+            assertEquals(429, send("POST", "/api/auth/login"));
+        }
+        
+        // Only the two accepted logins were charged to the global tier
+        for (int i = 0; i < 8; i++) {
+            assertEquals(200, send("GET", "/api/users/me"), "request " + i);
+        }
+        assertEquals(429, send("GET", "/api/users/me"));
+    }
+    
+    private int send(String method, String uri) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, uri);
+        request.setRemoteAddr("10.0.0.1");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+        return response.getStatus();
+    }
+}
@@ -0,0 +1,79 @@
+package com.example.demo.filter;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+class XSSFilterTest {
+    
+    private final XSSFilter filter = new XSSFilter();
+    
+    @Test
+    void wrappedRequest_ShouldEscapeHeadersAndParameters() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/users");
+        request.addHeader("X-Note", "<b>hi</b>");
+        request.addParameter("q", "a&b", "<i>");
+        
+        HttpServletRequest wrapped = filter(request);
+        
+        assertEquals("&lt;b&gt;hi&lt;&#x2F;b&gt;", wrapped.getHeader("X-Note"));
+        assertEquals("a&amp;b", wrapped.getParameter("q"));
+        assertArrayEquals(new String[]{"a&amp;b", "&lt;i&gt;"}, wrapped.getParameterValues("q"));
+        assertNull(wrapped.getHeader("X-Missing"));
+        assertNull(wrapped.getParameter("missing"));
+        assertNull(wrapped.getParameterValues("missing"));
+    }
+    
+    @Test
+    void wrappedRequest_ShouldEscapeEachValueOnceAndReturnMemoizedResults() throws Exception {
+        MockHttpServletRequest request = spy(new MockHttpServletRequest("GET", "/api/users"));
+        request.addHeader("X-Note", "<b>");
+        request.addParameter("q", "a=b", "c");
+        
+        HttpServletRequest wrapped = filter(request);
+        
+        String header = wrapped.getHeader("X-Note");
+        assertSame(header, wrapped.getHeader("X-Note"));
+        assertNull(wrapped.getHeader("X-Missing"));
+        assertNull(wrapped.getHeader("X-Missing"));
+        
+        String parameter = wrapped.getParameter("q");
+        assertSame(parameter, wrapped.getParameter("q"));
+        String[] first = wrapped.getParameterValues("q");
+        String[] second = wrapped.getParameterValues("q");
+        assertArrayEquals(first, second);
+        assertSame(parameter, second[0]);
+        // Callers get a copy, so they cannot change the memoized array
+        assertNotSame(first, second);
+        first[0] = "changed";
+        assertEquals("a&#x3D;b", wrapped.getParameter("q"));
+        
+        verify(request, times(1)).getHeader("X-Note");
+        verify(request, times(1)).getHeader("X-Missing");
+        verify(request, times(1)).getParameterValues("q");
+    }
+    
+    private HttpServletRequest filter(HttpServletRequest request) throws Exception {
+        AtomicReference<HttpServletRequest> seen = new AtomicReference<>();
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain() {
+            @Override
+            public void doFilter(jakarta.servlet.ServletRequest request, jakarta.servlet.ServletResponse response) {
+                seen.set((HttpServletRequest) request);
+            }
+        });
+        return seen.get();
+    }
+}
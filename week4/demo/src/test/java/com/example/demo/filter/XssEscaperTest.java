@@ -0,0 +1,48 @@
+package com.example.demo.filter;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class XssEscaperTest {
+    
+    @Test
+    void escape_ShouldReplaceEveryCharacterInTheTable() {
+        assertEquals("&amp;", XssEscaper.escape("&"));
+        assertEquals("&lt;", XssEscaper.escape("<"));
+        assertEquals("&gt;", XssEscaper.escape(">"));
+        assertEquals("&quot;", XssEscaper.escape("\""));
+        assertEquals("&#x27;", XssEscaper.escape("'"));
+        assertEquals("&#x2F;", XssEscaper.escape("/"));
+        assertEquals("&#x60;", XssEscaper.escape("`"));
+        assertEquals("&#x3D;", XssEscaper.escape("="));
+    }
+    
+    @Test
+    void escape_ShouldEscapeMarkupRatherThanStripIt() {
+        assertEquals("&lt;script&gt;alert(1)&lt;&#x2F;script&gt;", XssEscaper.escape("<script>alert(1)</script>"));
+        assertEquals("&lt;img src&#x3D;&quot;x&quot; onerror&#x3D;&#x60;a&#x60;&gt;",
+                XssEscaper.escape("<img src=\"x\" onerror=`a`>"));
+    }
+    
+    @Test
+    void escape_ShouldDropControlCharactersButKeepWhitespace() {
+        assertEquals("ab", XssEscaper.escape("a\u0000b"));
+        assertEquals("ab", XssEscaper.escape("a\u001Bb\u007F"));
+        assertEquals("a\tb\nc\rd", XssEscaper.escape("a\tb\nc\rd"));
+    }
+    
+    @Test
+    void escape_ShouldLeaveOtherCharactersAlone() {
+        String value = "Zoë Ångström 東京 +1 (555) 010-9999 ~!@#$%^*()_-";
+        assertSame(value, XssEscaper.escape(value));
+        assertEquals("東京&amp;大阪", XssEscaper.escape("東京&大阪"));
+    }
+    
+    @Test
+    void escape_ShouldPassNullThrough() {
+        assertNull(XssEscaper.escape(null));
+    }
+}
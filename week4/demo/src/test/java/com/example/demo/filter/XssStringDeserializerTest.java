@@ -0,0 +1,98 @@
+package com.example.demo.filter;
+
+import com.example.demo.config.JacksonConfig;
+import com.example.demo.dto.LoginRequest;
+import com.example.demo.dto.RefreshTokenRequest;
+import com.example.demo.dto.RegisterRequest;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import jakarta.validation.ValidatorFactory;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class XssStringDeserializerTest {
+    
+    private static ValidatorFactory validatorFactory;
+    private static Validator validator;
+    
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JacksonConfig().xssModule());
+    
+    @BeforeAll
+    static void setUpValidator() {
+        validatorFactory = Validation.buildDefaultValidatorFactory();
+        validator = validatorFactory.getValidator();
+    }
+    
+    @AfterAll
+    static void closeValidator() {
+        validatorFactory.close();
+    }
+    
+    @Test
+    void deserialize_ShouldEscapeStringFieldsOfRequestBodies() throws Exception {
+        RegisterRequest register = objectMapper.readValue(
+                "{\"username\":\"<b>bob</b>\",\"email\":\"bob@example.com\",\"password\":\"secret1\",\"roles\":[\"<i>USER\"]}",
+                RegisterRequest.class);
+        LoginRequest login = objectMapper.readValue(
+                "{\"username\":\"a=b\",\"password\":\"secret1\"}", LoginRequest.class);
+        
+        assertEquals("&lt;b&gt;bob&lt;&#x2F;b&gt;", register.getUsername());
+        assertEquals(Set.of("&lt;i&gt;USER"), register.getRoles());
+        assertEquals("a&#x3D;b", login.getUsername());
+    }
+    
+    @Test
+    void deserialize_ShouldReadSkipXssEscapingFieldsVerbatim() throws Exception {
+        RegisterRequest register = objectMapper.readValue(
+                "{\"username\":\"bob\",\"email\":\"o'brien@example.com\",\"password\":\"p<a>ss'=/\"}",
+                RegisterRequest.class);
+        LoginRequest login = objectMapper.readValue(
+                "{\"username\":\"bob\",\"password\":\"p<a>ss'=/\"}", LoginRequest.class);
+        
+        assertEquals("o'brien@example.com", register.getEmail());
+        assertEquals("p<a>ss'=/", register.getPassword());
+        assertEquals("p<a>ss'=/", login.getPassword());
+    }
+    
+    @Test
+    void deserialize_ShouldLeaveOtherTypesAlone() throws Exception {
+        RefreshTokenRequest refresh = objectMapper.readValue(
+                "{\"refreshToken\":\"a/b=c\"}", RefreshTokenRequest.class);
+        
+        assertEquals("a/b=c", refresh.getRefreshToken());
+        assertEquals("<b>", objectMapper.readValue("\"<b>\"", String.class));
+    }
+    
+    @Test
+    void validation_ShouldAcceptValidValuesUnchangedByEscaping() throws Exception {
+        String username = "o.brien_" + "x".repeat(41) + "-";
+        RegisterRequest register = objectMapper.readValue(
+                "{\"username\":\"" + username + "\",\"email\":\"o'brien@example.com\",\"password\":\"secret1\"}",
+                RegisterRequest.class);
+        
+        assertEquals(50, register.getUsername().length());
+        assertEquals(username, register.getUsername());
+        assertTrue(validator.validate(register).isEmpty());
+    }
+    
+    @Test
+    void validation_ShouldRejectUsernamesThatEscapingWouldChange() throws Exception {
+        RegisterRequest register = objectMapper.readValue(
+                "{\"username\":\"<script>\",\"email\":\"bob@example.com\",\"password\":\"secret1\"}",
+                RegisterRequest.class);
+        
+        Set<String> messages = validator.validate(register).stream()
+                .map(ConstraintViolation::getMessage)
+                .collect(Collectors.toSet());
+        assertEquals(Set.of("Username may only contain letters, digits, '.', '_' and '-'"), messages);
+    }
+}
@@ -0,0 +1,77 @@
+package com.example.demo.security;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BloomFilterTest {
+    
+    private static final int INSERTIONS = 100_000;
+    
+    @Test
+    void mightContain_ShouldNeverMissAnInsertedValue() {
+        BloomFilter filter = new BloomFilter(INSERTIONS, 0.01);
+        for (int i = 0; i < INSERTIONS; i++) {
+            filter.put("jti-" + i);
+        }
+        
+        for (int i = 0; i < INSERTIONS; i++) {
+            assertTrue(filter.mightContain("jti-" + i), "false negative for jti-" + i);
+        }
+    }
+    
+    @Test
+    void mightContain_AtExpectedLoad_ShouldStayWithinFalsePositiveRate() {
+        for (double rate : new double[]{0.01, 0.001}) {
+            BloomFilter filter = new BloomFilter(INSERTIONS, rate);
+            for (int i = 0; i < INSERTIONS; i++) {
+                filter.put("jti-" + i);
+            }
+            
+            int probes = 1_000_000;
+            int falsePositives = 0;
+            for (int i = 0; i < probes; i++) {
+                if (filter.mightContain("absent-" + i)) {
+                    falsePositives++;
+                }
+            }
+            
+            // 20% slack over the configured rate for sampling noise
+            double observed = (double) falsePositives / probes;
+            assertTrue(observed <= rate * 1.2, "observed " + observed + " for a configured rate of " + rate);
+        }
+    }
+    
+    @Test
+    void put_FromConcurrentThreads_ShouldLoseNoBits() throws Exception {
+        BloomFilter filter = new BloomFilter(INSERTIONS, 0.01);
+        int threads = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                int offset = t;
+                futures.add(executor.submit(() -> {
+                    for (int i = offset; i < INSERTIONS; i += threads) {
+                        filter.put("jti-" + i);
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+        
+        for (int i = 0; i < INSERTIONS; i++) {
+            assertTrue(filter.mightContain("jti-" + i), "false negative for jti-" + i);
+        }
+    }
+}
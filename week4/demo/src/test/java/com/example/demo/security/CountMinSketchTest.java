@@ -0,0 +1,76 @@
+package com.example.demo.security;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CountMinSketchTest {
+    
+    private static final long WINDOW = 15 * 60_000L;
+    
+    private static final long START = 1_700_000_000_000L;
+    
+    @Test
+    void estimate_ShouldNeverUnderCount() {
+        // Far more keys than cells per row, so every row has collisions
+        CountMinSketch sketch = new CountMinSketch(4, 256, 15, WINDOW);
+        Map<String, Integer> actual = new HashMap<>();
+        Random random = new Random(42);
+        
+        long now = START;
+        for (int i = 0; i < 50_000; i++) {
+            // Skewed traffic: a few hot keys and a long tail
+            String key = "user-" + (int) Math.pow(random.nextInt(2_000), 2) / 1_000;
+            now += random.nextInt(10);
+            sketch.add(key, now);
+            actual.merge(key, 1, Integer::sum);
+        }
+        
+        long end = now;
+        actual.forEach((key, count) -> {
+            int estimate = sketch.estimate(key, end);
+            assertTrue(estimate >= count, key + " estimated " + estimate + " but added " + count);
+        });
+    }
+    
+    @Test
+    void estimate_ShouldBeExactWithoutCollisions() {
+        CountMinSketch sketch = new CountMinSketch(4, 4096, 15, WINDOW);
+        for (int i = 0; i < 7; i++) {
+            sketch.add("alice", START + i * 1000);
+        }
+        
+        assertEquals(7, sketch.estimate("alice", START + 10_000));
+        assertEquals(0, sketch.estimate("bob", START + 10_000));
+    }
+    
+    @Test
+    void estimate_ShouldForgetEventsOutsideTheWindow() {
+        CountMinSketch sketch = new CountMinSketch(4, 4096, 15, WINDOW);
+        sketch.add("alice", START);
+        sketch.add("alice", START + WINDOW / 2);
+        
+        assertEquals(2, sketch.estimate("alice", START + WINDOW / 2));
+        assertEquals(1, sketch.estimate("alice", START + WINDOW + WINDOW / 15));
+        assertEquals(0, sketch.estimate("alice", START + 2 * WINDOW));
+    }
+    
+    @Test
+    void lastAdded_ShouldNeverBeEarlierThanTheKeysLastAdd() {
+        CountMinSketch sketch = new CountMinSketch(2, 16, 15, WINDOW);
+        Map<String, Long> actual = new HashMap<>();
+        for (int i = 0; i < 1_000; i++) {
+            String key = "ip-" + (i % 100);
+            long now = START + i;
+            sketch.add(key, now);
+            actual.put(key, now);
+        }
+        
+        actual.forEach((key, last) -> assertTrue(sketch.lastAdded(key) >= last, key));
+    }
+}
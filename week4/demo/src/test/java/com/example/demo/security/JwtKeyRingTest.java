@@ -0,0 +1,64 @@
+package com.example.demo.security;
+
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.UnsupportedJwtException;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class JwtKeyRingTest {
+    
+    private static final String SECRET = "0123456789abcdef0123456789abcdef0123456789abcdef0123456789abcdef";
+    
+    private final JwtKeyRing keyRing = new JwtKeyRing(List.of(
+            JwtSigningKey.hmac("hs", "HS256", SECRET, null, null),
+            JwtSigningKey.hmac("old", "HS256", SECRET, null, Instant.now().minusSeconds(60))));
+    
+    private final JwtParser parser = Jwts.parser().keyLocator(keyRing).build();
+    
+    @Test
+    void locate_WithConfiguredAlgorithm_ShouldVerify() {
+        String token = Jwts.builder()
+                .header().keyId("hs").and()
+                .subject("john")
+                .expiration(new Date(System.currentTimeMillis() + 60_000))
+                .signWith(Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8)), Jwts.SIG.HS256)
+                .compact();
+        
+        assertEquals("john", parser.parseSignedClaims(token).getPayload().getSubject());
+    }
+    
+    @Test
+    void locate_WithDifferentAlgorithmForTheSameKey_ShouldReject() {
+        // Same secret, so the signature itself is valid; only the alg header differs from the key's
+        String token = Jwts.builder()
+                .header().keyId("hs").and()
+                .subject("john")
+                .expiration(new Date(System.currentTimeMillis() + 60_000))
+                .signWith(Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8)), Jwts.SIG.HS512)
+                .compact();
+        
+        assertThrows(UnsupportedJwtException.class, () -> parser.parseSignedClaims(token));
+    }
+    
+    @Test
+    void locate_WithRetiredOrUnknownKid_ShouldReject() {
+        for (String kid : new String[]{"old", "missing"}) {
+            String token = Jwts.builder()
+                    .header().keyId(kid).and()
+                    .subject("john")
+                    .signWith(Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8)), Jwts.SIG.HS256)
+                    .compact();
+            
+            assertThrows(UnsupportedJwtException.class, () -> parser.parseSignedClaims(token), kid);
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package com.example.demo.service;
+
+import com.example.demo.dto.AuthResponse;
+import com.example.demo.dto.RefreshTokenRequest;
+import com.example.demo.dto.RegisterRequest;
+import com.example.demo.security.JwtUtil;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+class AuthServiceRefreshTest {
+    
+    @Autowired
+    private AuthService authService;
+    
+    @Autowired
+    private TokenRevocationService tokenRevocationService;
+    
+    @Autowired
+    private JwtUtil jwtUtil;
+    
+    @Test
+    void revoke_SameJtiTwice_ShouldOnlySucceedOnce() {
+        String jti = UUID.randomUUID().toString();
+        Instant expiresAt = Instant.now().plusSeconds(600);
+        
+        assertTrue(tokenRevocationService.revoke(jti, expiresAt));
+        assertFalse(tokenRevocationService.revoke(jti, expiresAt));
+        assertTrue(tokenRevocationService.isRevoked(jti));
+    }
+    
+    @Test
+    void refresh_ReusedToken_ShouldBeRejected() {
+        String refreshToken = jwtUtil.generateRefreshToken(registerUser());
+        
+        AuthResponse first = authService.refresh(new RefreshTokenRequest(refreshToken));
+        assertNotNull(first.getRefreshToken());
+        assertThrows(RuntimeException.class, () -> authService.refresh(new RefreshTokenRequest(refreshToken)));
+    }
+    
+    @Test
+    void refresh_ConcurrentRequestsWithSameToken_ShouldRedeemItOnce() throws Exception {
+        String refreshToken = jwtUtil.generateRefreshToken(registerUser());
+        int threads = 8;
+        
+        AtomicInteger redeemed = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    try {
+                        authService.refresh(new RefreshTokenRequest(refreshToken));
+                        redeemed.incrementAndGet();
+                    } catch (RuntimeException e) {
+                        rejected.incrementAndGet();
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+        
+        assertEquals(1, redeemed.get());
+        assertEquals(threads - 1, rejected.get());
+    }
+    
+    private String registerUser() {
+        String username = "refresh-" + UUID.randomUUID().toString().substring(0, 8);
+        authService.register(new RegisterRequest(username, username + "@example.com", "password123", Set.of("USER")));
+        return username;
+    }
+}
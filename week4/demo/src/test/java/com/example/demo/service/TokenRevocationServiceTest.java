@@ -0,0 +1,124 @@
+package com.example.demo.service;
+
+import com.example.demo.repository.RevokedTokenRepository;
+import com.example.demo.security.BloomFilter;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class TokenRevocationServiceTest {
+    
+    private final RevokedTokenRepository repository = mock(RevokedTokenRepository.class);
+    
+    @Test
+    void revoke_ShouldSurviveRebuildThatSwapsFiltersMidRevocation() throws Exception {
+        // Given - a rebuild whose snapshot was taken before the revocation's INSERT, and which
+        // swaps filters while revoke() is putting the jti into the filter it replaces
+        CountDownLatch snapshotTaken = new CountDownLatch(1);
+        CountDownLatch inOldFilter = new CountDownLatch(1);
+        CountDownLatch rebuilt = new CountDownLatch(1);
+        TokenRevocationService service = service(new BloomFilter(1000, 0.01) {
+            @Override
+            public void put(String value) {
+                super.put(value);
+                inOldFilter.countDown();
+                await(rebuilt);
+            }
+        });
+        when(repository.streamActiveJtis(any())).thenAnswer(invocation -> {
+            snapshotTaken.countDown();
+            await(inOldFilter);
+            return Stream.empty();
+        });
+        when(repository.existsById("jti-1")).thenReturn(true);
+        
+        // When
+        CompletableFuture<Void> rebuild = CompletableFuture.runAsync(service::rebuild);
+        await(snapshotTaken);
+        CompletableFuture<Boolean> revoke = CompletableFuture.supplyAsync(
+                () -> service.revoke("jti-1", Instant.now().plus(Duration.ofMinutes(5))));
+        rebuild.get(5, TimeUnit.SECONDS);
+        rebuilt.countDown();
+        
+        // Then
+        assertTrue(revoke.get(5, TimeUnit.SECONDS));
+        assertTrue(service.isRevoked("jti-1"));
+    }
+    
+    @Test
+    void revoke_ShouldBeSeenByConcurrentRebuilds() throws Exception {
+        // Given - each rebuild's snapshot holds the rows inserted before it started streaming
+        Set<String> table = ConcurrentHashMap.newKeySet();
+        TokenRevocationService service = service(null);
+        JdbcTemplate jdbcTemplate = (JdbcTemplate) ReflectionTestUtils.getField(service, "jdbcTemplate");
+        when(jdbcTemplate.update(anyString(), any(Object[].class))).thenAnswer(invocation -> {
+            table.add(invocation.getArgument(1));
+            return 1;
+        });
+        when(repository.streamActiveJtis(any())).thenAnswer(invocation -> List.copyOf(table).stream());
+        when(repository.existsById(any())).thenReturn(true);
+        
+        // When
+        CompletableFuture<Void> rebuilds = CompletableFuture.runAsync(() -> {
+            for (int i = 0; i < 200; i++) {
+                service.rebuild();
+            }
+        });
+        Instant expiresAt = Instant.now().plus(Duration.ofMinutes(5));
+        for (int i = 0; i < 2000; i++) {
+            service.revoke("jti-" + i, expiresAt);
+        }
+        rebuilds.get(30, TimeUnit.SECONDS);
+        
+        // Then
+        for (int i = 0; i < 2000; i++) {
+            assertTrue(service.isRevoked("jti-" + i), "jti-" + i);
+        }
+    }
+    
+    private TokenRevocationService service(BloomFilter initialFilter) {
+        TokenRevocationService service = new TokenRevocationService() {
+            private boolean initialized;
+            
+            @Override
+            BloomFilter newFilter() {
+                if (!initialized && initialFilter != null) {
+                    initialized = true;
+                    return initialFilter;
+                }
+                return super.newFilter();
+            }
+        };
+        ReflectionTestUtils.setField(service, "revokedTokenRepository", repository);
+        ReflectionTestUtils.setField(service, "jdbcTemplate", mock(JdbcTemplate.class));
+        ReflectionTestUtils.setField(service, "expectedInsertions", 10_000L);
+        ReflectionTestUtils.setField(service, "falsePositiveRate", 0.01);
+        service.init();
+        return service;
+    }
+    
+    private static void await(CountDownLatch latch) {
+        try {
+            assertTrue(latch.await(5, TimeUnit.SECONDS), "timed out");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package com.example.demo.service;
+
+import com.example.demo.dto.RegisterRequest;
+import com.example.demo.dto.UserImportResult;
+import com.example.demo.dto.UserImportResult.Status;
+import com.example.demo.dto.UserImportSummary;
+import com.example.demo.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.doReturn;
+
+// Chunks of two rows, so a few rows already span several duplicate checks and transactions
+@SpringBootTest(properties = "user-import.chunk-size=2")
+class UserImportServiceTest {
+    
+    @Autowired
+    private UserImportService userImportService;
+    
+    @MockitoSpyBean
+    private UserRepository userRepository;
+    
+    @Test
+    void importUsers_WithDuplicatesAndInvalidRows_ShouldCreateOnlyValidNewUsers() {
+        String prefix = uniquePrefix();
+        String existing = prefix + "existing";
+        importAll(List.of(request(existing, existing + "@example.com")));
+        
+        List<RegisterRequest> rows = List.of(
+                request(prefix + "alice", prefix + "alice@example.com"),
+                request(existing, prefix + "other@example.com"),            // username taken in the database
+                request(prefix + "bob", existing + "@example.com"),         // email taken in the database
+                request(prefix + "alice", prefix + "alice2@example.com"),   // username repeated in this import
+                request("x", "not-an-email"),                               // invalid
+                request(prefix + "carol", prefix + "carol@example.com"));
+        
+        List<UserImportResult> results = new ArrayList<>();
+        UserImportSummary summary = userImportService.importUsers(rows, results::add);
+        
+        assertEquals(List.of(Status.CREATED, Status.DUPLICATE, Status.DUPLICATE, Status.DUPLICATE, Status.INVALID,
+                Status.CREATED), results.stream().map(UserImportResult::status).toList());
+        assertEquals(List.of(0, 1, 2, 3, 4, 5), results.stream().map(UserImportResult::row).toList());
+        assertEquals("Username is already taken", results.get(1).message());
+        assertEquals("Email is already in use", results.get(2).message());
+        assertNotNull(results.get(0).id());
+        assertEquals(6, summary.rows());
+        assertEquals(2, summary.created());
+        assertEquals(4, summary.skipped());
+        assertTrue(userRepository.existsByUsername(prefix + "carol"));
+        assertFalse(userRepository.existsByUsername(prefix + "bob"));
+    }
+    
+    @Test
+    void importUsers_WhenOneChunkConflictsOnInsert_ShouldFailOnlyTheConflictingRow() {
+        String prefix = uniquePrefix();
+        String existing = prefix + "existing";
+        importAll(List.of(request(existing, existing + "@example.com")));
+        // Simulates a registration that commits between the duplicate check and the insert
+        doReturn(List.of()).when(userRepository).findIdentitiesMatching(anyCollection(), anyCollection());
+        
+        List<RegisterRequest> rows = List.of(
+                request(prefix + "a", prefix + "a@example.com"),
+                request(prefix + "b", prefix + "b@example.com"),
+                request(prefix + "c", prefix + "c@example.com"),
+                request(existing, prefix + "d@example.com"),
+                request(prefix + "e", prefix + "e@example.com"));
+        
+        List<UserImportResult> results = new ArrayList<>();
+        UserImportSummary summary = userImportService.importUsers(rows, results::add);
+        
+        assertEquals(List.of(Status.CREATED, Status.CREATED, Status.CREATED, Status.FAILED, Status.CREATED),
+                results.stream().map(UserImportResult::status).toList());
+        assertEquals(4, summary.created());
+        assertEquals(1, summary.skipped());
+        // The conflicting chunk was retried row by row, so its other row is still created
+        assertTrue(userRepository.existsByUsername(prefix + "c"));
+        assertNotNull(results.get(2).id());
+        assertEquals(results.get(2).id(), userRepository.findByEmail(prefix + "c@example.com").orElseThrow().getId());
+        assertFalse(userRepository.existsByEmail(prefix + "d@example.com"));
+        assertTrue(userRepository.existsByUsername(prefix + "e"));
+    }
+    
+    private void importAll(List<RegisterRequest> rows) {
+        userImportService.importUsers(rows, result -> assertEquals(Status.CREATED, result.status()));
+    }
+    
+    private static RegisterRequest request(String username, String email) {
+        return new RegisterRequest(username, email, "password123", Set.of("USER"));
+    }
+    
+    private static String uniquePrefix() {
+        return "imp" + UUID.randomUUID().toString().substring(0, 8) + "-";
+    }
+}